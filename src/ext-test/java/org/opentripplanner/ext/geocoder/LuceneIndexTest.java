@@ -1,23 +1,35 @@
 package org.opentripplanner.ext.geocoder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.opentripplanner.transit.model._data.TransitModelForTest.id;
 import static org.opentripplanner.transit.model.basic.TransitMode.BUS;
 import static org.opentripplanner.transit.model.basic.TransitMode.FERRY;
 
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Multimap;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import org.apache.lucene.store.AlreadyClosedException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.opentripplanner.datastore.api.DataSource;
+import org.opentripplanner.datastore.api.FileType;
+import org.opentripplanner.datastore.file.FileDataSource;
 import org.opentripplanner.model.FeedInfo;
 import org.opentripplanner.transit.model._data.TransitModelForTest;
 import org.opentripplanner.transit.model.basic.TransitMode;
@@ -30,6 +42,7 @@ import org.opentripplanner.transit.model.site.Station;
 import org.opentripplanner.transit.model.site.StopLocation;
 import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.transit.service.TransitService;
 
 class LuceneIndexTest {
 
@@ -96,6 +109,8 @@ class LuceneIndexTest {
     .withCoordinate(52.52277, 13.41046)
     .build();
 
+  static TransitService transitService;
+
   static LuceneIndex index;
 
   static StopClusterMapper mapper;
@@ -119,7 +134,7 @@ class LuceneIndexTest {
       .forEach(stopModel::withStation);
     var transitModel = new TransitModel(stopModel.build(), new Deduplicator());
     transitModel.index();
-    var transitService = new DefaultTransitService(transitModel) {
+    transitService = new DefaultTransitService(transitModel) {
       private final Multimap<StopLocation, TransitMode> modes = ImmutableMultimap
         .<StopLocation, TransitMode>builder()
         .putAll(WESTHAFEN, FERRY, BUS)
@@ -189,6 +204,53 @@ class LuceneIndexTest {
     assertEquals(List.of(FIVE_POINTS_STATION), result1);
   }
 
+  @Test
+  void indexSavedNextToGraph(@TempDir Path tempDir) throws IOException {
+    var graph = graphDataSource(tempDir);
+
+    LuceneIndex.saveNextToGraph(transitService, graph);
+    var savedIndex = LuceneIndex.loadNextToGraph(transitService, graph);
+
+    assertNotNull(savedIndex);
+    assertEquals(
+      List.of(ALEXANDERPLATZ_STATION),
+      savedIndex.queryStopLocationGroups("alex", true).toList()
+    );
+    assertEquals(
+      List.of(ALEXANDERPLATZ_STATION.getId()),
+      savedIndex.queryStopClusters("alexanderplatz").map(primaryId()).toList()
+    );
+
+    savedIndex.close();
+    assertThrows(
+      AlreadyClosedException.class,
+      () -> savedIndex.queryStopLocationGroups("alex", true).toList()
+    );
+  }
+
+  @Test
+  void indexSavedForAnotherGraphIsNotLoaded(@TempDir Path tempDir) throws IOException {
+    var graph = graphDataSource(tempDir);
+    LuceneIndex.saveNextToGraph(transitService, graph);
+
+    // The graph is saved again, without saving the index
+    var graphFile = tempDir.resolve("graph.obj").toFile();
+    assertTrue(graphFile.setLastModified(graphFile.lastModified() + 60_000));
+
+    assertNull(LuceneIndex.loadNextToGraph(transitService, graph));
+  }
+
+  @Test
+  void noIndexSavedNextToGraph(@TempDir Path tempDir) throws IOException {
+    assertNull(LuceneIndex.loadNextToGraph(transitService, graphDataSource(tempDir)));
+  }
+
+  private static DataSource graphDataSource(Path directory) throws IOException {
+    var graphFile = directory.resolve("graph.obj");
+    Files.writeString(graphFile, "graph");
+    return new FileDataSource(graphFile.toFile(), FileType.GRAPH);
+  }
+
   @Nested
   class StopClusters {
 
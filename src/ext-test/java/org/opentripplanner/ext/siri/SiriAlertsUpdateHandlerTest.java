@@ -79,8 +79,6 @@ public class SiriAlertsUpdateHandlerTest extends GtfsTest {
     if (transitService == null) {
       transitService = new DefaultTransitService(transitModel);
       transitModel.setUpdaterManager(new GraphUpdaterManager(graph, transitModel, List.of()));
-    } else {
-      transitAlertService.getAllAlerts().clear();
     }
     if (alertsUpdateHandler == null) {
       transitAlertService = new TransitAlertServiceImpl(transitModel);
@@ -1,6 +1,7 @@
 package org.opentripplanner.ext.siri;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 import java.util.Set;
@@ -63,6 +64,52 @@ class SiriTimetableSnapshotSourceTest {
     );
   }
 
+  /**
+   * A journey added and updated in the same delivery is applied in the order of the delivery.
+   */
+  @Test
+  void testAddAndUpdateJourneyInSameDelivery() {
+    var env = RealtimeTestEnvironment.siri();
+
+    var updates = new SiriEtBuilder(env.getDateTimeHelper())
+      .withEstimatedVehicleJourneyCode("newJourney")
+      .withIsExtraJourney(true)
+      .withOperatorRef(env.operator1Id.getId())
+      .withLineRef(env.route1Id.getId())
+      .withRecordedCalls(builder -> builder.call(env.stopC1).departAimedActual("00:01", "00:02"))
+      .withEstimatedCalls(builder -> builder.call(env.stopD1).arriveAimedExpected("00:03", "00:04"))
+      .buildEstimatedTimetableDeliveries();
+    var update = new SiriEtBuilder(env.getDateTimeHelper())
+      .withEstimatedVehicleJourneyCode("newJourney")
+      .withIsExtraJourney(true)
+      .withOperatorRef(env.operator1Id.getId())
+      .withLineRef(env.route1Id.getId())
+      .withRecordedCalls(builder -> builder.call(env.stopC1).departAimedActual("00:01", "00:02"))
+      .withEstimatedCalls(builder -> builder.call(env.stopD1).arriveAimedExpected("00:03", "00:05"))
+      .buildEstimatedTimetableDeliveries();
+    updates
+      .get(0)
+      .getEstimatedJourneyVersionFrames()
+      .get(0)
+      .getEstimatedVehicleJourneies()
+      .addAll(
+        update.get(0).getEstimatedJourneyVersionFrames().get(0).getEstimatedVehicleJourneies()
+      );
+
+    var result = env.applyEstimatedTimetable(updates);
+
+    assertEquals(2, result.successful());
+    var realtimeTimetable = env.getRealtimeTimetable("newJourney");
+    assertTrue(
+      realtimeTimetable.endsWith("| C1 [R] 0:02 0:02 | D1 0:05 0:05"),
+      realtimeTimetable
+    );
+    assertEquals(
+      "SCHEDULED | C1 0:01 0:01 | D1 0:03 0:03",
+      env.getScheduledTimetable("newJourney")
+    );
+  }
+
   @Test
   void testAddedJourneyWithInvalidScheduledData() {
     var env = RealtimeTestEnvironment.siri();
@@ -2,8 +2,11 @@ package org.opentripplanner.ext.geocoder;
 
 import static java.util.Map.entry;
 
+import java.io.Closeable;
 import java.io.IOException;
-import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -11,6 +14,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.en.EnglishAnalyzer;
 import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
@@ -23,15 +27,22 @@ import org.apache.lucene.document.Field.Store;
 import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.SegmentInfos;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.suggest.document.Completion99PostingsFormat;
 import org.apache.lucene.search.suggest.document.CompletionAnalyzer;
@@ -40,6 +51,9 @@ import org.apache.lucene.search.suggest.document.ContextSuggestField;
 import org.apache.lucene.search.suggest.document.FuzzyCompletionQuery;
 import org.apache.lucene.search.suggest.document.SuggestIndexSearcher;
 import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.framework.collection.ListUtils;
 import org.opentripplanner.framework.i18n.I18NString;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
@@ -47,8 +61,25 @@ import org.opentripplanner.transit.model.framework.FeedScopedId;
 import org.opentripplanner.transit.model.site.StopLocation;
 import org.opentripplanner.transit.model.site.StopLocationsGroup;
 import org.opentripplanner.transit.service.TransitService;
-
-public class LuceneIndex implements Serializable {
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A Lucene index of the stops, stations and stop clusters, used by the geocoder.
+ * <p>
+ * The index can be saved next to the graph file when the graph is built, and opened again as a
+ * memory mapped directory when the graph is loaded. This avoids building the index during startup
+ * and keeps it off the heap. If no index is saved for the loaded graph, it is built in memory.
+ * <p>
+ * The requests share the searcher through a {@link SearcherManager}, each request acquires it and
+ * releases it when the matching documents are read. The searcher and the directory are open until
+ * the index is closed when the server shuts down. The index is not serialized with the graph.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
+public class LuceneIndex implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LuceneIndex.class);
 
   private static final String TYPE = "type";
   private static final String ID = "id";
@@ -57,105 +88,133 @@ public class LuceneIndex implements Serializable {
   private static final String NAME = "name";
   private static final String NAME_NGRAM = "name_ngram";
   private static final String CODE = "code";
-  private static final String LAT = "latitude";
-  private static final String LON = "longitude";
+
+  /**
+   * The commit user data key for the last modified time of the graph file the index is saved
+   * for. This is used to detect an index left behind by another graph.
+   */
+  private static final String GRAPH_LAST_MODIFIED = "graphLastModified";
 
   private final TransitService transitService;
   private final Analyzer analyzer;
-  private final SuggestIndexSearcher searcher;
+  private final Directory directory;
+  private final SearcherManager searcherManager;
   private final StopClusterMapper stopClusterMapper;
 
+  /**
+   * Build the index in memory.
+   */
   public LuceneIndex(TransitService transitService) {
+    this(transitService, buildInMemory(transitService));
+  }
+
+  private LuceneIndex(TransitService transitService, Directory directory) {
     this.transitService = transitService;
     this.stopClusterMapper = new StopClusterMapper(transitService);
+    this.analyzer = createAnalyzer();
+    this.directory = directory;
+    try {
+      this.searcherManager =
+        new SearcherManager(
+          directory,
+          new SearcherFactory() {
+            @Override
+            public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) {
+              return new SuggestIndexSearcher(reader);
+            }
+          }
+        );
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
 
-    this.analyzer =
-      new PerFieldAnalyzerWrapper(
-        new StandardAnalyzer(),
-        Map.ofEntries(
-          entry(NAME, new EnglishAnalyzer()),
-          entry(NAME_NGRAM, new EnglishNGramAnalyzer()),
-          entry(SUGGEST, new CompletionAnalyzer(new StandardAnalyzer()))
-        )
+  /**
+   * Build the index and save it in a directory next to the given graph file. Call this after the
+   * graph is saved, the index is only loaded together with the graph saved last. Nothing is saved
+   * if the graph is not a local file.
+   */
+  public static void saveNextToGraph(TransitService transitService, DataSource graph) {
+    var indexDirectory = indexDirectory(graph);
+    if (indexDirectory == null) {
+      LOG.info("The graph is not saved to a local file, the geocoder index is not saved.");
+      return;
+    }
+    LOG.info("Saving geocoder lucene index to {}", indexDirectory);
+    try (var directory = new MMapDirectory(indexDirectory)) {
+      writeIndex(
+        transitService,
+        directory,
+        Map.of(GRAPH_LAST_MODIFIED, Long.toString(graph.lastModified()))
       );
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
 
-    var directory = new ByteBuffersDirectory();
-
+  /**
+   * Open the index saved next to the given graph file, if there is one saved for this graph.
+   *
+   * @return {@code null} if no index is saved for the graph.
+   */
+  @Nullable
+  public static LuceneIndex loadNextToGraph(TransitService transitService, DataSource graph) {
+    var indexDirectory = indexDirectory(graph);
+    if (indexDirectory == null || !Files.isDirectory(indexDirectory)) {
+      return null;
+    }
     try {
-      try (
-        var directoryWriter = new IndexWriter(
-          directory,
-          iwcWithSuggestField(analyzer, Set.of(SUGGEST))
-        )
-      ) {
-        transitService
-          .listStopLocations()
-          .forEach(stopLocation ->
-            addToIndex(
-              directoryWriter,
-              StopLocation.class,
-              stopLocation.getId().toString(),
-              List.of(),
-              ListUtils.ofNullable(stopLocation.getName()),
-              ListUtils.ofNullable(stopLocation.getCode()),
-              stopLocation.getCoordinate().latitude(),
-              stopLocation.getCoordinate().longitude()
-            )
-          );
-
-        transitService
-          .listStopLocationGroups()
-          .forEach(stopLocationsGroup ->
-            addToIndex(
-              directoryWriter,
-              StopLocationsGroup.class,
-              stopLocationsGroup.getId().toString(),
-              List.of(),
-              ListUtils.ofNullable(stopLocationsGroup.getName()),
-              List.of(),
-              stopLocationsGroup.getCoordinate().latitude(),
-              stopLocationsGroup.getCoordinate().longitude()
-            )
-          );
-
-        stopClusterMapper
-          .generateStopClusters(
-            transitService.listStopLocations(),
-            transitService.listStopLocationGroups()
-          )
-          .forEach(stopCluster ->
-            addToIndex(
-              directoryWriter,
-              StopCluster.class,
-              stopCluster.primaryId(),
-              stopCluster.secondaryIds(),
-              stopCluster.names(),
-              stopCluster.codes(),
-              stopCluster.coordinate().lat(),
-              stopCluster.coordinate().lon()
-            )
-          );
+      var directory = new MMapDirectory(indexDirectory);
+      if (!isSavedForGraph(directory, graph)) {
+        LOG.warn("The geocoder index in {} is not saved for the loaded graph.", indexDirectory);
+        directory.close();
+        return null;
       }
-
-      DirectoryReader indexReader = DirectoryReader.open(directory);
-      searcher = new SuggestIndexSearcher(indexReader);
+      LOG.info("Opening geocoder lucene index in {}", indexDirectory);
+      return new LuceneIndex(transitService, directory);
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
 
-  public static synchronized LuceneIndex forServer(OtpServerRequestContext serverContext) {
+  /**
+   * Return the index of the graph in the given server context, creating it if it does not exist
+   * yet. The index is normally created during startup, so the lock is only taken if a request
+   * arrives before that is done.
+   */
+  public static LuceneIndex forServer(OtpServerRequestContext serverContext) {
+    var existingIndex = serverContext.graph().getLuceneIndex();
+    if (existingIndex != null) {
+      return existingIndex;
+    }
+    return createForServer(serverContext);
+  }
+
+  private static synchronized LuceneIndex createForServer(OtpServerRequestContext serverContext) {
     var graph = serverContext.graph();
     var existingIndex = graph.getLuceneIndex();
     if (existingIndex != null) {
       return existingIndex;
     }
 
+    LOG.info("Creating geocoder lucene index in memory");
     var newIndex = new LuceneIndex(serverContext.transitService());
     graph.setLuceneIndex(newIndex);
     return newIndex;
   }
 
+  /**
+   * Close the searcher and the directory of the index. The index can not be queried after this.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      searcherManager.close();
+    } finally {
+      directory.close();
+    }
+  }
+
   public Stream<StopLocation> queryStopLocations(String query, boolean autocomplete) {
     return matchingDocuments(StopLocation.class, query, autocomplete)
       .map(document -> transitService.getStopLocation(FeedScopedId.parse(document.get(ID))));
@@ -192,6 +251,102 @@ public class LuceneIndex implements Serializable {
     return new StopCluster(primary, secondaryIds);
   }
 
+  private static boolean isSavedForGraph(Directory directory, DataSource graph)
+    throws IOException {
+    if (!DirectoryReader.indexExists(directory)) {
+      return false;
+    }
+    var commitData = SegmentInfos.readLatestCommit(directory).getUserData();
+    return Long.toString(graph.lastModified()).equals(commitData.get(GRAPH_LAST_MODIFIED));
+  }
+
+  /**
+   * The index directory of a graph saved to a local file, {@code null} for other data sources.
+   */
+  @Nullable
+  private static Path indexDirectory(DataSource graph) {
+    var uri = graph.uri();
+    if (!"file".equals(uri.getScheme())) {
+      return null;
+    }
+    var graphFile = Path.of(uri);
+    return graphFile.resolveSibling(graphFile.getFileName() + "-geocoder-index");
+  }
+
+  private static Directory buildInMemory(TransitService transitService) {
+    var directory = new ByteBuffersDirectory();
+    writeIndex(transitService, directory, Map.of());
+    return directory;
+  }
+
+  private static void writeIndex(
+    TransitService transitService,
+    Directory directory,
+    Map<String, String> commitData
+  ) {
+    var config = iwcWithSuggestField(createAnalyzer(), Set.of(SUGGEST))
+      .setOpenMode(OpenMode.CREATE);
+    try (var directoryWriter = new IndexWriter(directory, config)) {
+      transitService
+        .listStopLocations()
+        .forEach(stopLocation ->
+          addToIndex(
+            directoryWriter,
+            StopLocation.class,
+            stopLocation.getId().toString(),
+            List.of(),
+            ListUtils.ofNullable(stopLocation.getName()),
+            ListUtils.ofNullable(stopLocation.getCode())
+          )
+        );
+
+      transitService
+        .listStopLocationGroups()
+        .forEach(stopLocationsGroup ->
+          addToIndex(
+            directoryWriter,
+            StopLocationsGroup.class,
+            stopLocationsGroup.getId().toString(),
+            List.of(),
+            ListUtils.ofNullable(stopLocationsGroup.getName()),
+            List.of()
+          )
+        );
+
+      new StopClusterMapper(transitService)
+        .generateStopClusters(
+          transitService.listStopLocations(),
+          transitService.listStopLocationGroups()
+        )
+        .forEach(stopCluster ->
+          addToIndex(
+            directoryWriter,
+            StopCluster.class,
+            stopCluster.primaryId(),
+            stopCluster.secondaryIds(),
+            stopCluster.names(),
+            stopCluster.codes()
+          )
+        );
+
+      directoryWriter.setLiveCommitData(commitData.entrySet());
+      directoryWriter.commit();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static Analyzer createAnalyzer() {
+    return new PerFieldAnalyzerWrapper(
+      new StandardAnalyzer(),
+      Map.ofEntries(
+        entry(NAME, new EnglishAnalyzer()),
+        entry(NAME_NGRAM, new EnglishNGramAnalyzer()),
+        entry(SUGGEST, new CompletionAnalyzer(new StandardAnalyzer()))
+      )
+    );
+  }
+
   static IndexWriterConfig iwcWithSuggestField(Analyzer analyzer, final Set<String> suggestFields) {
     IndexWriterConfig iwc = new IndexWriterConfig(analyzer);
     Codec filterCodec = new Lucene99Codec() {
@@ -215,28 +370,26 @@ public class LuceneIndex implements Serializable {
     String id,
     Collection<String> secondaryIds,
     Collection<I18NString> names,
-    Collection<String> codes,
-    double latitude,
-    double longitude
+    Collection<String> codes
   ) {
     String typeName = type.getSimpleName();
 
+    // Only the ids are read back from the matching documents, the rest is looked up in the
+    // transit model. Storing the other fields would keep a second copy of them in the index.
     Document document = new Document();
     document.add(new StoredField(ID, id));
     for (var secondaryId : secondaryIds) {
       document.add(new StoredField(SECONDARY_IDS, secondaryId));
     }
-    document.add(new TextField(TYPE, typeName, Store.YES));
+    document.add(new TextField(TYPE, typeName, Store.NO));
     for (var name : names) {
-      document.add(new TextField(NAME, Objects.toString(name), Store.YES));
-      document.add(new TextField(NAME_NGRAM, Objects.toString(name), Store.YES));
+      document.add(new TextField(NAME, Objects.toString(name), Store.NO));
+      document.add(new TextField(NAME_NGRAM, Objects.toString(name), Store.NO));
       document.add(new ContextSuggestField(SUGGEST, Objects.toString(name), 1, typeName));
     }
-    document.add(new StoredField(LAT, latitude));
-    document.add(new StoredField(LON, longitude));
 
     for (var code : codes) {
-      document.add(new TextField(CODE, code, Store.YES));
+      document.add(new TextField(CODE, code, Store.NO));
       document.add(new ContextSuggestField(SUGGEST, code, 1, typeName));
     }
 
@@ -253,81 +406,69 @@ public class LuceneIndex implements Serializable {
     boolean autocomplete
   ) {
     try {
-      if (autocomplete) {
-        var completionQuery = new FuzzyCompletionQuery(
-          analyzer,
-          new Term(SUGGEST, analyzer.normalize(SUGGEST, searchTerms)),
-          null,
-          2,
-          true,
-          4,
-          3,
-          true,
-          3
-        );
-        var query = new ContextQuery(completionQuery);
+      var searcher = (SuggestIndexSearcher) searcherManager.acquire();
+      try {
+        var topDocs = autocomplete
+          ? searcher.suggest(completionQuery(type, searchTerms), 25, true)
+          : searcher.search(query(type, searchTerms), 25);
+        // The documents are read before the searcher is released
+        var documents = new ArrayList<Document>();
+        for (var scoreDoc : topDocs.scoreDocs) {
+          documents.add(searcher.doc(scoreDoc.doc));
+        }
+        return documents.stream();
+      } finally {
+        searcherManager.release(searcher);
+      }
+    } catch (IOException | ParseException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
 
-        query.addContext(type.getSimpleName());
+  private ContextQuery completionQuery(Class<?> type, String searchTerms) {
+    var completionQuery = new FuzzyCompletionQuery(
+      analyzer,
+      new Term(SUGGEST, analyzer.normalize(SUGGEST, searchTerms)),
+      null,
+      2,
+      true,
+      4,
+      3,
+      true,
+      3
+    );
+    var query = new ContextQuery(completionQuery);
+
+    query.addContext(type.getSimpleName());
+    return query;
+  }
 
-        var topDocs = searcher.suggest(query, 25, true);
+  private Query query(Class<?> type, String searchTerms) throws ParseException {
+    var nameParser = new QueryParser(NAME, analyzer);
+    var nameQuery = nameParser.parse(searchTerms);
 
-        return Arrays
-          .stream(topDocs.scoreDocs)
-          .map(scoreDoc -> {
-            try {
-              return searcher.doc(scoreDoc.doc);
-            } catch (IOException e) {
-              throw new RuntimeException(e);
-            }
-          });
-      } else {
-        var nameParser = new QueryParser(NAME, analyzer);
-        var nameQuery = nameParser.parse(searchTerms);
+    var ngramNameQuery = new TermQuery(
+      new Term(NAME_NGRAM, analyzer.normalize(NAME_NGRAM, searchTerms))
+    );
 
-        var ngramNameQuery = new TermQuery(
-          new Term(NAME_NGRAM, analyzer.normalize(NAME_NGRAM, searchTerms))
-        );
+    var fuzzyNameQuery = new FuzzyQuery(new Term(NAME, analyzer.normalize(NAME, searchTerms)));
+    var prefixNameQuery = new PrefixQuery(new Term(NAME, analyzer.normalize(NAME, searchTerms)));
+    var codeQuery = new TermQuery(new Term(CODE, analyzer.normalize(CODE, searchTerms)));
 
-        var fuzzyNameQuery = new FuzzyQuery(new Term(NAME, analyzer.normalize(NAME, searchTerms)));
-        var prefixNameQuery = new PrefixQuery(
-          new Term(NAME, analyzer.normalize(NAME, searchTerms))
-        );
-        var codeQuery = new TermQuery(new Term(CODE, analyzer.normalize(CODE, searchTerms)));
+    var prefixCodeQuery = new PrefixQuery(new Term(CODE, analyzer.normalize(CODE, searchTerms)));
 
-        var prefixCodeQuery = new PrefixQuery(
-          new Term(CODE, analyzer.normalize(CODE, searchTerms))
-        );
+    var typeQuery = new TermQuery(new Term(TYPE, analyzer.normalize(TYPE, type.getSimpleName())));
 
-        var typeQuery = new TermQuery(
-          new Term(TYPE, analyzer.normalize(TYPE, type.getSimpleName()))
-        );
+    var builder = new BooleanQuery.Builder()
+      .setMinimumNumberShouldMatch(1)
+      .add(typeQuery, Occur.MUST)
+      .add(codeQuery, Occur.SHOULD)
+      .add(prefixCodeQuery, Occur.SHOULD)
+      .add(nameQuery, Occur.SHOULD)
+      .add(fuzzyNameQuery, Occur.SHOULD)
+      .add(prefixNameQuery, Occur.SHOULD)
+      .add(ngramNameQuery, Occur.SHOULD);
 
-        var builder = new BooleanQuery.Builder()
-          .setMinimumNumberShouldMatch(1)
-          .add(typeQuery, Occur.MUST)
-          .add(codeQuery, Occur.SHOULD)
-          .add(prefixCodeQuery, Occur.SHOULD)
-          .add(nameQuery, Occur.SHOULD)
-          .add(fuzzyNameQuery, Occur.SHOULD)
-          .add(prefixNameQuery, Occur.SHOULD)
-          .add(ngramNameQuery, Occur.SHOULD);
-
-        var query = builder.build();
-
-        var topDocs = searcher.search(query, 25);
-
-        return Arrays
-          .stream(topDocs.scoreDocs)
-          .map(scoreDoc -> {
-            try {
-              return searcher.doc(scoreDoc.doc);
-            } catch (IOException e) {
-              throw new RuntimeException(e);
-            }
-          });
-      }
-    } catch (IOException | ParseException ex) {
-      throw new RuntimeException(ex);
-    }
+    return builder.build();
   }
 }
@@ -67,7 +67,7 @@ public class ModifiedTripBuilder {
   }
 
   /**
-   * Constructor for tests
+   * Constructor for calls which are already parsed from the journey, also used in tests
    */
   public ModifiedTripBuilder(
     TripTimes existingTripTimes,
@@ -40,6 +40,8 @@ import uk.org.siri.siri20.VehicleModesEnumeration;
  * <p>
  * The same instance of this SiriFuzzyTripMatcher may appear in different SIRI updaters. Be sure
  * to fetch the instance at during the setup of the updaters, the initialization is not thread-safe.
+ * The trip indexes are built in the constructor and are immutable, so matching is thread-safe and
+ * lock-free.
  */
 public class SiriFuzzyTripMatcher {
 
@@ -47,10 +49,9 @@ public class SiriFuzzyTripMatcher {
 
   private static SiriFuzzyTripMatcher instance;
 
-  private final Map<String, Set<Trip>> internalPlanningCodeCache = new HashMap<>();
-  private final Map<String, Set<Trip>> startStopTripCache = new HashMap<>();
+  private final Map<String, Set<Trip>> internalPlanningCodeCache;
+  private final Map<StopAndTime, Set<Trip>> startStopTripCache;
   private final TransitService transitService;
-  private boolean initialized = false;
 
   /**
    * Factory method used to create only one instance.
@@ -70,7 +71,12 @@ public class SiriFuzzyTripMatcher {
    */
   public SiriFuzzyTripMatcher(TransitService transitService) {
     this.transitService = transitService;
-    initCache(this.transitService);
+
+    var internalPlanningCodes = new HashMap<String, Set<Trip>>();
+    var startStops = new HashMap<StopAndTime, Set<Trip>>();
+    initCache(transitService, internalPlanningCodes, startStops);
+    this.internalPlanningCodeCache = immutableCopy(internalPlanningCodes);
+    this.startStopTripCache = immutableCopy(startStops);
   }
 
   /**
@@ -180,43 +186,46 @@ public class SiriFuzzyTripMatcher {
     return matches;
   }
 
-  private void initCache(TransitService index) {
-    if (!initialized) {
-      for (Trip trip : index.getAllTrips()) {
-        TripPattern tripPattern = index.getPatternForTrip(trip);
+  private static void initCache(
+    TransitService index,
+    Map<String, Set<Trip>> internalPlanningCodeCache,
+    Map<StopAndTime, Set<Trip>> startStopTripCache
+  ) {
+    for (Trip trip : index.getAllTrips()) {
+      TripPattern tripPattern = index.getPatternForTrip(trip);
 
-        if (tripPattern == null) {
-          continue;
-        }
+      if (tripPattern == null) {
+        continue;
+      }
 
-        if (tripPattern.getRoute().getMode().equals(TransitMode.RAIL)) {
-          String internalPlanningCode = trip.getNetexInternalPlanningCode();
-          if (internalPlanningCode != null) {
-            internalPlanningCodeCache
-              .computeIfAbsent(internalPlanningCode, key -> new HashSet<>())
-              .add(trip);
-          }
+      if (tripPattern.getRoute().getMode().equals(TransitMode.RAIL)) {
+        String internalPlanningCode = trip.getNetexInternalPlanningCode();
+        if (internalPlanningCode != null) {
+          internalPlanningCodeCache
+            .computeIfAbsent(internalPlanningCode, key -> new HashSet<>())
+            .add(trip);
         }
-        String lastStopId = tripPattern.lastStop().getId().getId();
+      }
+      String lastStopId = tripPattern.lastStop().getId().getId();
 
-        TripTimes tripTimes = tripPattern.getScheduledTimetable().getTripTimes(trip);
-        if (tripTimes != null) {
-          int arrivalTime = tripTimes.getArrivalTime(tripTimes.getNumStops() - 1);
+      TripTimes tripTimes = tripPattern.getScheduledTimetable().getTripTimes(trip);
+      if (tripTimes != null) {
+        int arrivalTime = tripTimes.getArrivalTime(tripTimes.getNumStops() - 1);
 
-          String key = createStartStopKey(lastStopId, arrivalTime);
-          startStopTripCache.computeIfAbsent(key, k -> new HashSet<>()).add(trip);
-        }
+        var key = new StopAndTime(lastStopId, arrivalTime);
+        startStopTripCache.computeIfAbsent(key, k -> new HashSet<>()).add(trip);
       }
-
-      LOG.info("Built internalPlanningCode-cache [{}].", internalPlanningCodeCache.size());
-      LOG.info("Built start-stop-cache [{}].", startStopTripCache.size());
     }
 
-    initialized = true;
+    LOG.info("Built internalPlanningCode-cache [{}].", internalPlanningCodeCache.size());
+    LOG.info("Built start-stop-cache [{}].", startStopTripCache.size());
   }
 
-  private static String createStartStopKey(String lastStopId, int lastStopArrivalTime) {
-    return lastStopId + ":" + lastStopArrivalTime;
+  private static <K> Map<K, Set<Trip>> immutableCopy(Map<K, Set<Trip>> cache) {
+    return cache
+      .entrySet()
+      .stream()
+      .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> Set.copyOf(e.getValue())));
   }
 
   @Nonnull
@@ -236,13 +245,11 @@ public class SiriFuzzyTripMatcher {
       transitService.getTimeZone()
     );
 
-    Set<Trip> trips = startStopTripCache.get(
-      createStartStopKey(lastStopPoint, secondsSinceMidnight)
-    );
+    Set<Trip> trips = startStopTripCache.get(new StopAndTime(lastStopPoint, secondsSinceMidnight));
     if (trips == null) {
       //Attempt to fetch trips that started yesterday - i.e. add 24 hours to arrival-time
       trips =
-        startStopTripCache.get(createStartStopKey(lastStopPoint, secondsSinceMidnightYesterday));
+        startStopTripCache.get(new StopAndTime(lastStopPoint, secondsSinceMidnightYesterday));
     }
 
     if (trips != null) {
@@ -259,7 +266,7 @@ public class SiriFuzzyTripMatcher {
     var allQuays = stop.getParentStation().getChildStops();
     for (var quay : allQuays) {
       Set<Trip> tripSet = startStopTripCache.get(
-        createStartStopKey(quay.getId().getId(), secondsSinceMidnight)
+        new StopAndTime(quay.getId().getId(), secondsSinceMidnight)
       );
       if (tripSet != null) {
         trips.addAll(tripSet);
@@ -272,7 +279,7 @@ public class SiriFuzzyTripMatcher {
     if (internalPlanningCode == null) {
       return null;
     }
-    return internalPlanningCodeCache.getOrDefault(internalPlanningCode, new HashSet<>());
+    return internalPlanningCodeCache.getOrDefault(internalPlanningCode, Set.of());
   }
 
   /**
@@ -391,4 +398,10 @@ public class SiriFuzzyTripMatcher {
 
     return null;
   }
+
+  /**
+   * Key of the start-stop-cache: the id of the last stop of the trip and the scheduled arrival
+   * time there.
+   */
+  private record StopAndTime(String stopId, int arrivalTime) {}
 }
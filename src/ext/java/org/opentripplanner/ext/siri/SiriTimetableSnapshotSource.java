@@ -9,6 +9,7 @@ import static org.opentripplanner.updater.spi.UpdateError.UpdateErrorType.TRIP_N
 import static org.opentripplanner.updater.spi.UpdateError.UpdateErrorType.UNKNOWN;
 import static org.opentripplanner.updater.trip.UpdateIncrementality.FULL_DATASET;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -103,29 +104,42 @@ public class SiriTimetableSnapshotSource implements TimetableSnapshotProvider {
     }
 
     List<Result<UpdateSuccess, UpdateError>> results = new ArrayList<>();
+    List<EstimatedVehicleJourney> journeys = new ArrayList<>();
+    for (var etDelivery : updates) {
+      for (var estimatedJourneyVersion : etDelivery.getEstimatedJourneyVersionFrames()) {
+        journeys.addAll(estimatedJourneyVersion.getEstimatedVehicleJourneies());
+      }
+    }
+    LOG.debug("Handling {} EstimatedVehicleJourneys.", journeys.size());
+
+    // Phase one: parse the calls of the journeys in parallel. This only reads the message, so it
+    // is done before the buffer is locked.
+    long prepareStart = System.nanoTime();
+    List<ParsedJourney> parsedJourneys = journeys.parallelStream().map(ParsedJourney::of).toList();
+    var prepareDuration = Duration.ofNanos(System.nanoTime() - prepareStart);
+
+    var applyDuration = new Duration[] { Duration.ZERO };
 
     snapshotManager.withLock(() -> {
+      long applyStart = System.nanoTime();
       if (incrementality == FULL_DATASET) {
         // Remove all updates from the buffer
         snapshotManager.clearBuffer(feedId);
       }
 
-      for (var etDelivery : updates) {
-        for (var estimatedJourneyVersion : etDelivery.getEstimatedJourneyVersionFrames()) {
-          var journeys = estimatedJourneyVersion.getEstimatedVehicleJourneies();
-          LOG.debug("Handling {} EstimatedVehicleJourneys.", journeys.size());
-          for (EstimatedVehicleJourney journey : journeys) {
-            results.add(apply(journey, transitModel, fuzzyTripMatcher, entityResolver));
-          }
-        }
+      // Phase two: resolve, match and apply the journeys in the order of the message. A journey
+      // may update or repeat a trip added by an earlier journey of the same message.
+      for (ParsedJourney parsedJourney : parsedJourneys) {
+        results.add(apply(parsedJourney, fuzzyTripMatcher, entityResolver));
       }
 
       LOG.debug("message contains {} trip updates", updates.size());
 
       snapshotManager.purgeAndCommit();
+      applyDuration[0] = Duration.ofNanos(System.nanoTime() - applyStart);
     });
 
-    return UpdateResult.ofResults(results);
+    return UpdateResult.ofResults(results).withDurations(prepareDuration, applyDuration[0]);
   }
 
   @Override
@@ -134,11 +148,11 @@ public class SiriTimetableSnapshotSource implements TimetableSnapshotProvider {
   }
 
   private Result<UpdateSuccess, UpdateError> apply(
-    EstimatedVehicleJourney journey,
-    TransitModel transitModel,
+    ParsedJourney parsedJourney,
     @Nullable SiriFuzzyTripMatcher fuzzyTripMatcher,
     EntityResolver entityResolver
   ) {
+    var journey = parsedJourney.journey();
     boolean shouldAddNewTrip = false;
     try {
       shouldAddNewTrip = shouldAddNewTrip(journey, entityResolver);
@@ -153,7 +167,7 @@ public class SiriTimetableSnapshotSource implements TimetableSnapshotProvider {
           )
             .build();
       } else {
-        result = handleModifiedTrip(fuzzyTripMatcher, entityResolver, journey);
+        result = handleModifiedTrip(fuzzyTripMatcher, entityResolver, parsedJourney);
       }
 
       if (result.isFailure()) {
@@ -207,8 +221,9 @@ public class SiriTimetableSnapshotSource implements TimetableSnapshotProvider {
   private Result<TripUpdate, UpdateError> handleModifiedTrip(
     @Nullable SiriFuzzyTripMatcher fuzzyTripMatcher,
     EntityResolver entityResolver,
-    EstimatedVehicleJourney estimatedVehicleJourney
+    ParsedJourney parsedJourney
   ) {
+    var estimatedVehicleJourney = parsedJourney.journey();
     Trip trip = entityResolver.resolveTrip(estimatedVehicleJourney);
 
     // Check if EstimatedVehicleJourney is reported as NOT monitored, ignore the notMonitored-flag
@@ -263,10 +278,13 @@ public class SiriTimetableSnapshotSource implements TimetableSnapshotProvider {
     var updateResult = new ModifiedTripBuilder(
       existingTripTimes,
       pattern,
-      estimatedVehicleJourney,
       serviceDate,
       transitModel.getTimeZone(),
-      entityResolver
+      entityResolver,
+      parsedJourney.calls(),
+      TRUE.equals(estimatedVehicleJourney.isCancellation()),
+      estimatedVehicleJourney.getOccupancy(),
+      TRUE.equals(estimatedVehicleJourney.isPredictionInaccurate())
     )
       .build();
     if (updateResult.isFailure()) {
@@ -331,4 +349,15 @@ public class SiriTimetableSnapshotSource implements TimetableSnapshotProvider {
 
     return success;
   }
+
+  /**
+   * The calls of an estimated vehicle journey, parsed in the first, parallel phase of applying a
+   * message. Everything which depends on the timetable snapshot, the buffer or the trips added by
+   * earlier journeys is done in the second, sequential phase.
+   */
+  private record ParsedJourney(EstimatedVehicleJourney journey, List<CallWrapper> calls) {
+    static ParsedJourney of(EstimatedVehicleJourney journey) {
+      return new ParsedJourney(journey, CallWrapper.of(journey));
+    }
+  }
 }
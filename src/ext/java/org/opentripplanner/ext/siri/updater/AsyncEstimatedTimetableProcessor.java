@@ -2,6 +2,8 @@ package org.opentripplanner.ext.siri.updater;
 
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
+import org.opentripplanner.updater.GraphWriterPartition;
+import org.opentripplanner.updater.GraphWriterRunnable;
 import org.opentripplanner.updater.spi.UpdateResult;
 import org.opentripplanner.updater.spi.WriteToGraphCallback;
 import org.opentripplanner.updater.trip.UpdateIncrementality;
@@ -33,12 +35,16 @@ public class AsyncEstimatedTimetableProcessor {
    * @return a future indicating when the changes are applied.
    */
   public Future<?> processSiriData(ServiceDelivery serviceDelivery) {
-    return saveResultOnGraph.execute((graph, transitModel) ->
-      updateResultConsumer.accept(
-        estimatedTimetableHandler.applyUpdate(
-          serviceDelivery.getEstimatedTimetableDeliveries(),
-          UpdateIncrementality.DIFFERENTIAL
-        )
+    return saveResultOnGraph.execute(
+      GraphWriterRunnable.of(
+        GraphWriterPartition.TIMETABLE_SNAPSHOT,
+        (graph, transitModel) ->
+          updateResultConsumer.accept(
+            estimatedTimetableHandler.applyUpdate(
+              serviceDelivery.getEstimatedTimetableDeliveries(),
+              UpdateIncrementality.DIFFERENTIAL
+            )
+          )
       )
     );
   }
@@ -5,6 +5,8 @@ import java.util.function.Consumer;
 import org.opentripplanner.ext.siri.SiriTimetableSnapshotSource;
 import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.updater.GraphWriterPartition;
+import org.opentripplanner.updater.GraphWriterRunnable;
 import org.opentripplanner.updater.spi.PollingGraphUpdater;
 import org.opentripplanner.updater.spi.ResultLogger;
 import org.opentripplanner.updater.spi.UpdateResult;
@@ -92,14 +94,19 @@ public class SiriETUpdater extends PollingGraphUpdater {
         final boolean markPrimed = !moreData;
         List<EstimatedTimetableDeliveryStructure> etds = serviceDelivery.getEstimatedTimetableDeliveries();
         if (etds != null) {
-          saveResultOnGraph.execute((graph, transitModel) -> {
-            var result = estimatedTimetableHandler.applyUpdate(etds, incrementality);
-            ResultLogger.logUpdateResult(feedId, "siri-et", result);
-            recordMetrics.accept(result);
-            if (markPrimed) {
-              primed = true;
-            }
-          });
+          saveResultOnGraph.execute(
+            GraphWriterRunnable.of(
+              GraphWriterPartition.TIMETABLE_SNAPSHOT,
+              (graph, transitModel) -> {
+                var result = estimatedTimetableHandler.applyUpdate(etds, incrementality);
+                ResultLogger.logUpdateResult(feedId, "siri-et", result);
+                recordMetrics.accept(result);
+                if (markPrimed) {
+                  primed = true;
+                }
+              }
+            )
+          );
         }
       }
     } while (moreData);
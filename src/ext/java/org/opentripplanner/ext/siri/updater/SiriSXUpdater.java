@@ -13,6 +13,8 @@ import org.opentripplanner.routing.impl.TransitAlertServiceImpl;
 import org.opentripplanner.routing.services.TransitAlertService;
 import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.updater.GraphWriterPartition;
+import org.opentripplanner.updater.GraphWriterRunnable;
 import org.opentripplanner.updater.alert.TransitAlertProvider;
 import org.opentripplanner.updater.spi.PollingGraphUpdater;
 import org.opentripplanner.updater.spi.WriteToGraphCallback;
@@ -149,12 +151,17 @@ public class SiriSXUpdater extends PollingGraphUpdater implements TransitAlertPr
           // All that said, out of all the update types, Alerts (and SIRI SX) are probably the ones
           // that would be most tolerant of non-versioned application-wide storage since they don't
           // participate in routing and are tacked on to already-completed routing responses.
-          writeToGraphCallback.execute((graph, transitModel) -> {
-            updateHandler.update(serviceDelivery);
-            if (markPrimed) {
-              primed = true;
-            }
-          });
+          writeToGraphCallback.execute(
+            GraphWriterRunnable.of(
+              GraphWriterPartition.TRANSIT_ALERTS,
+              (graph, transitModel) -> {
+                updateHandler.update(serviceDelivery);
+                if (markPrimed) {
+                  primed = true;
+                }
+              }
+            )
+          );
         }
       }
     } while (moreData);
@@ -17,6 +17,8 @@ import javax.xml.stream.XMLStreamException;
 import org.apache.hc.core5.net.URIBuilder;
 import org.opentripplanner.ext.siri.SiriTimetableSnapshotSource;
 import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.updater.GraphWriterPartition;
+import org.opentripplanner.updater.GraphWriterRunnable;
 import org.opentripplanner.updater.spi.ResultLogger;
 import org.opentripplanner.updater.spi.UpdateResult;
 import org.opentripplanner.updater.trip.UpdateIncrementality;
@@ -98,17 +100,22 @@ public class SiriAzureETUpdater extends AbstractAzureSiriUpdater {
   }
 
   private Future<?> processMessage(List<EstimatedTimetableDeliveryStructure> updates) {
-    return super.saveResultOnGraph.execute((graph, transitModel) -> {
-      var result = snapshotSource.applyEstimatedTimetable(
-        fuzzyTripMatcher(),
-        entityResolver(),
-        feedId,
-        UpdateIncrementality.DIFFERENTIAL,
-        updates
-      );
-      ResultLogger.logUpdateResultErrors(feedId, "siri-et", result);
-      recordMetrics.accept(result);
-    });
+    return super.saveResultOnGraph.execute(
+      GraphWriterRunnable.of(
+        GraphWriterPartition.TIMETABLE_SNAPSHOT,
+        (graph, transitModel) -> {
+          var result = snapshotSource.applyEstimatedTimetable(
+            fuzzyTripMatcher(),
+            entityResolver(),
+            feedId,
+            UpdateIncrementality.DIFFERENTIAL,
+            updates
+          );
+          ResultLogger.logUpdateResultErrors(feedId, "siri-et", result);
+          recordMetrics.accept(result);
+        }
+      )
+    );
   }
 
   private void processHistory(ServiceDelivery siri) {
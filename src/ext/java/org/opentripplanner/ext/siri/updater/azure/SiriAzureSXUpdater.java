@@ -19,6 +19,8 @@ import org.opentripplanner.ext.siri.SiriAlertsUpdateHandler;
 import org.opentripplanner.routing.impl.TransitAlertServiceImpl;
 import org.opentripplanner.routing.services.TransitAlertService;
 import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.updater.GraphWriterPartition;
+import org.opentripplanner.updater.GraphWriterRunnable;
 import org.opentripplanner.updater.alert.TransitAlertProvider;
 import org.rutebanken.siri20.util.SiriXml;
 import org.slf4j.Logger;
@@ -123,7 +125,12 @@ public class SiriAzureSXUpdater extends AbstractAzureSiriUpdater implements Tran
   }
 
   private Future<?> processMessage(ServiceDelivery siriSx) {
-    return super.saveResultOnGraph.execute((graph, transitModel) -> updateHandler.update(siriSx));
+    return super.saveResultOnGraph.execute(
+      GraphWriterRunnable.of(
+        GraphWriterPartition.TRANSIT_ALERTS,
+        (graph, transitModel) -> updateHandler.update(siriSx)
+      )
+    );
   }
 
   private void processHistory(ServiceDelivery siri) {
@@ -16,12 +16,13 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import org.opentripplanner.framework.graphql.GraphQLResponseSerializer;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Path("/gtfs/v1/")
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({ MediaType.APPLICATION_JSON, GraphQLResponseSerializer.APPLICATION_CBOR })
 public class GtfsGraphQLAPI {
 
   private static final Logger LOG = LoggerFactory.getLogger(GtfsGraphQLAPI.class);
@@ -95,7 +96,8 @@ public class GtfsGraphQLAPI {
       maxResolves,
       timeout,
       locale,
-      GraphQLRequestContext.ofServerContext(serverContext)
+      GraphQLRequestContext.ofServerContext(serverContext),
+      GraphQLResponseSerializer.responseMediaType(headers)
     );
   }
 
@@ -117,7 +119,8 @@ public class GtfsGraphQLAPI {
       maxResolves,
       timeout,
       locale,
-      GraphQLRequestContext.ofServerContext(serverContext)
+      GraphQLRequestContext.ofServerContext(serverContext),
+      GraphQLResponseSerializer.responseMediaType(headers)
     );
   }
 }
@@ -14,6 +14,7 @@ import graphql.schema.idl.SchemaGenerator;
 import graphql.schema.idl.SchemaParser;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import io.micrometer.core.instrument.Metrics;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.net.URL;
 import java.util.HashMap;
@@ -243,7 +244,8 @@ class GtfsGraphQLIndex {
     int maxResolves,
     int timeoutMs,
     Locale locale,
-    GraphQLRequestContext requestContext
+    GraphQLRequestContext requestContext,
+    MediaType mediaType
   ) {
     ExecutionResult executionResult = getGraphQLExecutionResult(
       query,
@@ -257,7 +259,8 @@ class GtfsGraphQLIndex {
 
     return Response
       .status(Response.Status.OK)
-      .entity(GraphQLResponseSerializer.serialize(executionResult))
+      .type(mediaType)
+      .entity(GraphQLResponseSerializer.streamingOutput(executionResult, mediaType))
       .build();
   }
 }
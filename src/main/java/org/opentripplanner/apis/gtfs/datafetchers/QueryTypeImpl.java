@@ -36,6 +36,7 @@ import org.opentripplanner.ext.fares.impl.DefaultFareService;
 import org.opentripplanner.ext.fares.impl.GtfsFaresService;
 import org.opentripplanner.ext.fares.model.FareRuleSet;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
 import org.opentripplanner.framework.time.ServiceDateUtils;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.gtfs.mapping.DirectionMapper;
@@ -54,6 +55,7 @@ import org.opentripplanner.routing.graphfinder.PlaceAtDistance;
 import org.opentripplanner.routing.graphfinder.PlaceType;
 import org.opentripplanner.routing.vehicle_parking.VehicleParking;
 import org.opentripplanner.routing.vehicle_parking.VehicleParkingService;
+import org.opentripplanner.service.realtimevehicles.model.RealtimeVehicle;
 import org.opentripplanner.service.vehiclerental.VehicleRentalService;
 import org.opentripplanner.service.vehiclerental.model.VehicleRentalPlace;
 import org.opentripplanner.service.vehiclerental.model.VehicleRentalStation;
@@ -839,6 +841,42 @@ public class QueryTypeImpl implements GraphQLDataFetchers.GraphQLQueryType {
     };
   }
 
+  @Override
+  public DataFetcher<Iterable<RealtimeVehicle>> vehiclePositionsByBbox() {
+    return environment -> {
+      var args = new GraphQLTypes.GraphQLQueryTypeVehiclePositionsByBboxArgs(
+        environment.getArguments()
+      );
+
+      Envelope envelope = new Envelope(
+        new Coordinate(args.getGraphQLMinLon(), args.getGraphQLMinLat()),
+        new Coordinate(args.getGraphQLMaxLon(), args.getGraphQLMaxLat())
+      );
+
+      return environment
+        .<GraphQLRequestContext>getContext()
+        .realTimeVehicleService()
+        .getRealtimeVehicles(envelope);
+    };
+  }
+
+  @Override
+  public DataFetcher<Iterable<RealtimeVehicle>> vehiclePositionsByRadius() {
+    return environment -> {
+      var args = new GraphQLTypes.GraphQLQueryTypeVehiclePositionsByRadiusArgs(
+        environment.getArguments()
+      );
+
+      return environment
+        .<GraphQLRequestContext>getContext()
+        .realTimeVehicleService()
+        .findClosestRealtimeVehicles(
+          new WgsCoordinate(args.getGraphQLLat(), args.getGraphQLLon()),
+          args.getGraphQLRadius()
+        );
+    };
+  }
+
   @Override
   public DataFetcher<VehicleRentalStation> vehicleRentalStation() {
     return environment -> {
@@ -17,6 +17,7 @@ import org.opentripplanner.apis.gtfs.mapping.BikesAllowedMapper;
 import org.opentripplanner.routing.alertpatch.EntitySelector;
 import org.opentripplanner.routing.alertpatch.TransitAlert;
 import org.opentripplanner.routing.services.TransitAlertService;
+import org.opentripplanner.service.realtimevehicles.model.RealtimeVehicle;
 import org.opentripplanner.transit.model.network.Route;
 import org.opentripplanner.transit.model.network.TripPattern;
 import org.opentripplanner.transit.model.organization.Agency;
@@ -213,6 +214,15 @@ public class RouteImpl implements GraphQLDataFetchers.GraphQLRoute {
     return environment -> getSource(environment).getUrl();
   }
 
+  @Override
+  public DataFetcher<Iterable<RealtimeVehicle>> vehiclePositions() {
+    return environment ->
+      environment
+        .<GraphQLRequestContext>getContext()
+        .realTimeVehicleService()
+        .getRealtimeVehicles(getSource(environment));
+  }
+
   private Iterable<Object> getStops(DataFetchingEnvironment environment) {
     return getTransitService(environment)
       .getPatternsForRoute(getSource(environment))
@@ -822,6 +822,10 @@ public class GraphQLDataFetchers {
 
     public DataFetcher<Iterable<VehicleParking>> vehicleParkings();
 
+    public DataFetcher<Iterable<RealtimeVehicle>> vehiclePositionsByBbox();
+
+    public DataFetcher<Iterable<RealtimeVehicle>> vehiclePositionsByRadius();
+
     public DataFetcher<VehicleRentalStation> vehicleRentalStation();
 
     public DataFetcher<Iterable<VehicleRentalStation>> vehicleRentalStations();
@@ -942,6 +946,8 @@ public class GraphQLDataFetchers {
     public DataFetcher<Integer> type();
 
     public DataFetcher<String> url();
+
+    public DataFetcher<Iterable<RealtimeVehicle>> vehiclePositions();
   }
 
   /**
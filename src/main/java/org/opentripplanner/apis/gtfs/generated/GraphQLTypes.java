@@ -3819,6 +3819,94 @@ public class GraphQLTypes {
     }
   }
 
+  public static class GraphQLQueryTypeVehiclePositionsByBboxArgs {
+
+    private Double maxLat;
+    private Double maxLon;
+    private Double minLat;
+    private Double minLon;
+
+    public GraphQLQueryTypeVehiclePositionsByBboxArgs(Map<String, Object> args) {
+      if (args != null) {
+        this.maxLat = (Double) args.get("maxLat");
+        this.maxLon = (Double) args.get("maxLon");
+        this.minLat = (Double) args.get("minLat");
+        this.minLon = (Double) args.get("minLon");
+      }
+    }
+
+    public Double getGraphQLMaxLat() {
+      return this.maxLat;
+    }
+
+    public Double getGraphQLMaxLon() {
+      return this.maxLon;
+    }
+
+    public Double getGraphQLMinLat() {
+      return this.minLat;
+    }
+
+    public Double getGraphQLMinLon() {
+      return this.minLon;
+    }
+
+    public void setGraphQLMaxLat(Double maxLat) {
+      this.maxLat = maxLat;
+    }
+
+    public void setGraphQLMaxLon(Double maxLon) {
+      this.maxLon = maxLon;
+    }
+
+    public void setGraphQLMinLat(Double minLat) {
+      this.minLat = minLat;
+    }
+
+    public void setGraphQLMinLon(Double minLon) {
+      this.minLon = minLon;
+    }
+  }
+
+  public static class GraphQLQueryTypeVehiclePositionsByRadiusArgs {
+
+    private Double lat;
+    private Double lon;
+    private Integer radius;
+
+    public GraphQLQueryTypeVehiclePositionsByRadiusArgs(Map<String, Object> args) {
+      if (args != null) {
+        this.lat = (Double) args.get("lat");
+        this.lon = (Double) args.get("lon");
+        this.radius = (Integer) args.get("radius");
+      }
+    }
+
+    public Double getGraphQLLat() {
+      return this.lat;
+    }
+
+    public Double getGraphQLLon() {
+      return this.lon;
+    }
+
+    public Integer getGraphQLRadius() {
+      return this.radius;
+    }
+
+    public void setGraphQLLat(Double lat) {
+      this.lat = lat;
+    }
+
+    public void setGraphQLLon(Double lon) {
+      this.lon = lon;
+    }
+
+    public void setGraphQLRadius(Integer radius) {
+      this.radius = radius;
+    }
+  }
+
   public static class GraphQLQueryTypeVehicleRentalStationArgs {
 
     private String id;
@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import org.opentripplanner.apis.transmodel.mapping.TransitIdMapper;
 import org.opentripplanner.apis.transmodel.support.GqlUtil;
+import org.opentripplanner.framework.graphql.GraphQLResponseSerializer;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.opentripplanner.transit.service.TransitModel;
@@ -28,7 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Path("/transmodel/v3")
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({ MediaType.APPLICATION_JSON, GraphQLResponseSerializer.APPLICATION_CBOR })
 public class TransmodelAPI {
 
   private static final Logger LOG = LoggerFactory.getLogger(TransmodelAPI.class);
@@ -116,7 +117,8 @@ public class TransmodelAPI {
       variables,
       operationName,
       maxNumberOfResultFields,
-      getTagsFromHeaders(headers)
+      getTagsFromHeaders(headers),
+      GraphQLResponseSerializer.responseMediaType(headers)
     );
   }
 
@@ -129,7 +131,8 @@ public class TransmodelAPI {
       null,
       null,
       maxNumberOfResultFields,
-      getTagsFromHeaders(headers)
+      getTagsFromHeaders(headers),
+      GraphQLResponseSerializer.responseMediaType(headers)
     );
   }
 
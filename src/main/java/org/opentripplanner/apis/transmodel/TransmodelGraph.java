@@ -11,6 +11,7 @@ import graphql.schema.CoercingParseValueException;
 import graphql.schema.GraphQLSchema;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tag;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.util.HashMap;
 import java.util.Map;
@@ -49,7 +50,8 @@ class TransmodelGraph {
     Map<String, Object> variables,
     String operationName,
     int maxNumberOfResultFields,
-    Iterable<Tag> tracingTags
+    Iterable<Tag> tracingTags,
+    MediaType mediaType
   ) {
     try (var executionStrategy = new AbortOnUnprocessableRequestExecutionStrategy()) {
       variables = ObjectUtils.ifNotNull(variables, new HashMap<>());
@@ -67,7 +69,7 @@ class TransmodelGraph {
       var result = graphQL.execute(executionInput);
       result = limitMaxNumberOfErrors(result);
 
-      return ExecutionResultMapper.okResponse(result);
+      return ExecutionResultMapper.okResponse(result, mediaType);
     } catch (OTPRequestTimeoutException te) {
       return ExecutionResultMapper.timeoutResponse();
     } catch (ResponseTooLargeException rtle) {
@@ -3,6 +3,7 @@ package org.opentripplanner.apis.transmodel.support;
 import graphql.ErrorClassification;
 import graphql.ExecutionResult;
 import graphql.GraphQLError;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.opentripplanner.framework.application.OTPRequestTimeoutException;
 import org.opentripplanner.framework.graphql.GraphQLResponseSerializer;
@@ -29,8 +30,11 @@ public class ExecutionResultMapper {
     "InternalServerError"
   );
 
-  public static Response okResponse(ExecutionResult result) {
-    return Response.ok(GraphQLResponseSerializer.serialize(result)).build();
+  public static Response okResponse(ExecutionResult result, MediaType mediaType) {
+    return Response
+      .ok(GraphQLResponseSerializer.streamingOutput(result, mediaType))
+      .type(mediaType)
+      .build();
   }
 
   public static Response timeoutResponse() {
@@ -53,9 +57,14 @@ public class ExecutionResultMapper {
     return response(result, Response.Status.INTERNAL_SERVER_ERROR);
   }
 
+  /**
+   * Error responses are always serialized as JSON. The media type is set explicitly, since the API
+   * produces both JSON and CBOR.
+   */
   public static Response response(ExecutionResult result, Response.StatusType status) {
     return Response
       .status(status.getStatusCode())
+      .type(MediaType.APPLICATION_JSON_TYPE)
       .entity(GraphQLResponseSerializer.serialize(result))
       .build();
   }
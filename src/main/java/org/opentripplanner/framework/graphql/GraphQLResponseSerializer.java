@@ -1,30 +1,49 @@
 package org.opentripplanner.framework.graphql;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import graphql.ExecutionResult;
-import graphql.execution.AbortExecutionException;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.opentripplanner.ext.restapi.serialization.JSONObjectMapperProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This class is responsible for serializing a GraphQL {@link ExecutionResult} into a String, which
- * can be returned as the body of the HTTP response. This differs from the mapper provided by {@link
+ * This class is responsible for serializing a GraphQL {@link ExecutionResult} as the body of the
+ * HTTP response. Successful results are written directly to the response output stream, and small
+ * error results are serialized into a String. This differs from the mapper provided by {@link
  * JSONObjectMapperProvider}, by serializing all fields in the objects, including null fields.
+ * <p>
+ * Clients may opt in to receive the result encoded as CBOR (RFC 8949) by sending
+ * {@code Accept: application/cbor}. CBOR has the same data model as JSON, but is more compact and
+ * cheaper to encode.
  */
 public class GraphQLResponseSerializer {
 
+  public static final String APPLICATION_CBOR = "application/cbor";
+  public static final MediaType APPLICATION_CBOR_TYPE = MediaType.valueOf(APPLICATION_CBOR);
+
   static final Logger LOG = LoggerFactory.getLogger(GraphQLResponseSerializer.class);
 
   private static final ObjectMapper objectMapper = new ObjectMapper();
 
+  /**
+   * The output stream belongs to the HTTP container, so the writers do not close it. They flush
+   * the stream after writing the result, and Jersey closes it when the response is complete.
+   */
+  private static final ObjectWriter streamWriter = objectMapper
+    .writer()
+    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+  private static final ObjectWriter cborStreamWriter = new CBORMapper()
+    .writer()
+    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
   public static String serialize(ExecutionResult executionResult) {
     try {
       return objectMapper.writeValueAsString(executionResult.toSpecification());
@@ -33,4 +52,46 @@ public class GraphQLResponseSerializer {
       throw new RuntimeException(e);
     }
   }
+
+  /**
+   * Serialize the result directly to the HTTP response output stream. Use this for large
+   * responses, like trip plans with many itineraries, to avoid holding the complete response
+   * in memory as a String and then again as an encoded byte array. The result is encoded as CBOR
+   * if the given media type is {@link #APPLICATION_CBOR_TYPE}, and as JSON otherwise.
+   * <p>
+   * The output stream is not closed, see {@link #streamWriter}.
+   */
+  public static StreamingOutput streamingOutput(
+    ExecutionResult executionResult,
+    MediaType mediaType
+  ) {
+    var specification = executionResult.toSpecification();
+    var writer = isCbor(mediaType) ? cborStreamWriter : streamWriter;
+    return output -> writer.writeValue(output, specification);
+  }
+
+  /**
+   * Return the media type to use for the response, based on the {@code Accept} header. CBOR is
+   * only used if the client lists it explicitly, and prefers it over JSON. Wildcards resolve to
+   * JSON.
+   */
+  public static MediaType responseMediaType(HttpHeaders headers) {
+    for (MediaType type : headers.getAcceptableMediaTypes()) {
+      if (isCbor(type)) {
+        return APPLICATION_CBOR_TYPE;
+      }
+      if (type.isCompatible(MediaType.APPLICATION_JSON_TYPE)) {
+        return MediaType.APPLICATION_JSON_TYPE;
+      }
+    }
+    return MediaType.APPLICATION_JSON_TYPE;
+  }
+
+  private static boolean isCbor(MediaType type) {
+    return (
+      !type.isWildcardType() &&
+      !type.isWildcardSubtype() &&
+      APPLICATION_CBOR_TYPE.isCompatible(type)
+    );
+  }
 }
@@ -0,0 +1,101 @@
+package org.opentripplanner.framework.io;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.apache.hc.core5.http.HttpHeaders;
+
+/**
+ * Keeps track of the version of a polled resource, so that it is only parsed when it has changed
+ * since the previous request. The {@code ETag} and {@code Last-Modified} response headers are sent
+ * back to the server in the {@code If-None-Match} and {@code If-Modified-Since} request headers.
+ * For servers that do not support conditional requests, the content hash of the response is
+ * compared with the previous one.
+ * <p>
+ * The number of skipped polls is counted, both in this instance and in the
+ * {@code updater_skipped_polls} micrometer counter tagged with the url.
+ * <p>
+ * THIS CLASS IS NOT THREAD-SAFE. Use one instance for each polled resource.
+ *
+ * @see OtpHttpClient#getAndMapIfChanged(URI, Map, HttpResourceVersion, OtpHttpClient.ResponseMapper)
+ */
+public class HttpResourceVersion {
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final Counter skippedPollsCounter;
+
+  private String etag;
+  private String lastModified;
+  private HashCode contentHash;
+  private long skippedPolls = 0;
+
+  public HttpResourceVersion(URI uri) {
+    this.skippedPollsCounter =
+      Metrics.counter("updater_skipped_polls", "url", OtpHttpClient.sanitizeUri(uri));
+  }
+
+  /**
+   * The number of times the resource has been found unchanged.
+   */
+  public long skippedPolls() {
+    return skippedPolls;
+  }
+
+  Map<String, String> conditionalRequestHeaders() {
+    var headers = new HashMap<String, String>();
+    if (etag != null) {
+      headers.put(HttpHeaders.IF_NONE_MATCH, etag);
+    }
+    if (lastModified != null) {
+      headers.put(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+    }
+    return headers;
+  }
+
+  void setValidators(@Nullable String etag, @Nullable String lastModified) {
+    this.etag = etag;
+    this.lastModified = lastModified;
+  }
+
+  /**
+   * Called when the server responds with 304 Not Modified.
+   */
+  void notModified() {
+    skip();
+  }
+
+  /**
+   * Return true if the content differs from the content of the previous request.
+   */
+  boolean contentChanged(byte[] content) {
+    var hash = HASH_FUNCTION.hashBytes(content);
+    if (hash.equals(contentHash)) {
+      skip();
+      return false;
+    }
+    contentHash = hash;
+    return true;
+  }
+
+  /**
+   * Forget the previous version, so that the next response is processed even if it is unchanged.
+   * This is used when processing the response fails.
+   */
+  void reset() {
+    etag = null;
+    lastModified = null;
+    contentHash = null;
+  }
+
+  private void skip() {
+    skippedPolls++;
+    skippedPollsCounter.increment();
+  }
+}
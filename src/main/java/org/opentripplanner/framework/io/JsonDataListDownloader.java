@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 import javax.annotation.Nonnull;
 import org.slf4j.Logger;
@@ -23,6 +24,7 @@ public class JsonDataListDownloader<T> {
   private final Function<JsonNode, T> elementParser;
   private final String url;
   private final OtpHttpClient otpHttpClient;
+  private final HttpResourceVersion version;
 
   public JsonDataListDownloader(
     @Nonnull String url,
@@ -45,6 +47,7 @@ public class JsonDataListDownloader<T> {
     this.headers = Objects.requireNonNull(headers);
     this.elementParser = Objects.requireNonNull(elementParser);
     this.otpHttpClient = Objects.requireNonNull(OtpHttpClient);
+    this.version = new HttpResourceVersion(URI.create(url));
   }
 
   public List<T> download() {
@@ -75,6 +78,20 @@ public class JsonDataListDownloader<T> {
     }
   }
 
+  /**
+   * Same as {@link #download()}, but the list is only parsed if the content has changed since the
+   * previous call to this method. Returns an empty result if the content is unchanged or if the
+   * download failed.
+   */
+  public Optional<List<T>> downloadIfChanged() {
+    try {
+      return otpHttpClient.getAndMapIfChanged(URI.create(url), headers, version, this::parseJSON);
+    } catch (OtpHttpClientException e) {
+      LOG.warn("Failed to get data from url {}. Details: {}", url, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
   private static String convertStreamToString(java.io.InputStream is) {
     try (java.util.Scanner scanner = new java.util.Scanner(is).useDelimiter("\\A")) {
       return scanner.hasNext() ? scanner.next() : "";
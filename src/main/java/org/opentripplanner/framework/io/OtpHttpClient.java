@@ -3,6 +3,7 @@ package org.opentripplanner.framework.io;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -29,6 +30,7 @@ import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.http.io.HttpClientResponseHandler;
 import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.apache.hc.core5.util.Timeout;
@@ -191,6 +193,67 @@ public class OtpHttpClient {
     return sendAndMap(new HttpGet(uri), uri, timeout, headers, contentMapper);
   }
 
+  /**
+   * Executes an HTTP GET request and returns the body mapped according to the provided content
+   * mapper, unless the resource is unchanged since the previous request made with the same
+   * {@code version}. The default timeout is applied.
+   */
+  public <T> Optional<T> getAndMapIfChanged(
+    URI uri,
+    Map<String, String> headers,
+    HttpResourceVersion version,
+    ResponseMapper<T> contentMapper
+  ) {
+    return getAndMapIfChanged(uri, null, headers, version, contentMapper);
+  }
+
+  /**
+   * Executes an HTTP GET request and returns the body mapped according to the provided content
+   * mapper, unless the resource is unchanged since the previous request made with the same
+   * {@code version}. The resource is unchanged if the server responds with 304 Not Modified to the
+   * conditional request, or if the body is identical to the previous one. In both cases the body
+   * is not mapped and an empty result is returned. If the protocol is neither HTTP nor HTTPS, the
+   * URI is interpreted as a local file and only the content is compared.
+   */
+  public <T> Optional<T> getAndMapIfChanged(
+    URI uri,
+    Duration timeout,
+    Map<String, String> headers,
+    HttpResourceVersion version,
+    ResponseMapper<T> contentMapper
+  ) {
+    if (!isHttp(uri)) {
+      // Local file probably, try standard java
+      byte[] content;
+      try (InputStream is = uri.toURL().openStream()) {
+        content = is.readAllBytes();
+      } catch (Exception e) {
+        throw new OtpHttpClientException(e);
+      }
+      return mapIfChanged(content, version, contentMapper);
+    }
+
+    var request = new HttpGet(uri);
+    version.conditionalRequestHeaders().forEach(request::addHeader);
+    return executeAndMapWithResponseHandler(
+      request,
+      timeout,
+      headers,
+      response -> {
+        if (response.getCode() == HttpStatus.SC_NOT_MODIFIED) {
+          version.notModified();
+          return Optional.empty();
+        }
+        byte[] content = mapResponse(response, InputStream::readAllBytes);
+        version.setValidators(
+          headerValue(response, HttpHeaders.ETAG),
+          headerValue(response, HttpHeaders.LAST_MODIFIED)
+        );
+        return mapIfChanged(content, version, contentMapper);
+      }
+    );
+  }
+
   /**
    * Send an HTTP POST request with Content-Type: application/json. The body of the request
    * is defined by {@code jsonBody}.
@@ -371,6 +434,32 @@ public class OtpHttpClient {
     }
   }
 
+  private static <T> Optional<T> mapIfChanged(
+    byte[] content,
+    HttpResourceVersion version,
+    ResponseMapper<T> contentMapper
+  ) {
+    if (!version.contentChanged(content)) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.ofNullable(contentMapper.apply(new ByteArrayInputStream(content)));
+    } catch (Exception e) {
+      // make sure the content is processed again on the next request
+      version.reset();
+      throw new OtpHttpClientException(e);
+    }
+  }
+
+  private static String headerValue(HttpResponse response, String name) {
+    Header header = response.getFirstHeader(name);
+    return header == null ? null : header.getValue();
+  }
+
+  private static boolean isHttp(URI uri) {
+    return "http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme());
+  }
+
   /**
    * Configures the request with a custom timeout.
    */
@@ -393,7 +482,7 @@ public class OtpHttpClient {
   /**
    * Removes the query part from the URI.
    */
-  private static String sanitizeUri(URI uri) {
+  static String sanitizeUri(URI uri) {
     return uri.toString().replace('?' + uri.getQuery(), "");
   }
 
@@ -30,7 +30,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This makes a Graph out of various inputs like GTFS and OSM. It is modular: GraphBuilderModules
- * are placed in a list and run in sequence.
+ * are placed in a list and run in sequence. The time and memory used by each module is logged when
+ * the build is complete.
  */
 public class GraphBuilder implements Runnable {
 
@@ -190,11 +191,13 @@ public class GraphBuilder implements Runnable {
       builder.checkInputs();
     }
 
+    var moduleReport = new GraphBuilderModuleReport();
     for (GraphBuilderModule load : graphBuilderModules) {
-      load.buildGraph();
+      moduleReport.run(load);
     }
 
     new DataImportIssueSummary(issueStore.listIssues()).logSummary();
+    moduleReport.logSummary();
 
     // Log before we validate, this way we have more information if the validation fails
     logGraphBuilderCompleteStatus(startTime, graph, transitModel);
@@ -0,0 +1,131 @@
+package org.opentripplanner.graph_builder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.opentripplanner.framework.text.FileSizeToTextConverter;
+import org.opentripplanner.framework.text.Table;
+import org.opentripplanner.framework.time.DurationUtils;
+import org.opentripplanner.graph_builder.model.GraphBuilderModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Run the graph builder modules and measure the wall time, CPU time and peak heap usage of each
+ * of them. The result is logged as a table at the end of the build, to make it easy to see which
+ * modules dominate the build time.
+ * <p>
+ * The CPU time is the CPU time of the whole process while the module runs, so work done by other
+ * threads started by the module, and by the garbage collector, is included. The peak heap usage
+ * is the sum of the peak usage of each heap memory pool, this is an upper bound of the actual peak.
+ * <p>
+ * THIS CLASS IS NOT THREAD-SAFE.
+ */
+class GraphBuilderModuleReport {
+
+  private static final Logger LOG = LoggerFactory.getLogger(GraphBuilderModuleReport.class);
+  private static final String NOT_AVAILABLE = "-";
+
+  private final List<ModuleRun> runs = new ArrayList<>();
+
+  /**
+   * Run the {@link GraphBuilderModule#buildGraph()} of the given module and record its resource
+   * usage.
+   */
+  void run(GraphBuilderModule module) {
+    resetPeakHeapUsage();
+    long startCpuTime = processCpuTime();
+    long startTime = System.nanoTime();
+
+    module.buildGraph();
+
+    long wallTime = System.nanoTime() - startTime;
+    long endCpuTime = processCpuTime();
+    long cpuTime = startCpuTime < 0 || endCpuTime < 0 ? -1 : endCpuTime - startCpuTime;
+    runs.add(new ModuleRun(moduleName(module), wallTime, cpuTime, peakHeapUsage()));
+  }
+
+  void logSummary() {
+    if (runs.isEmpty()) {
+      return;
+    }
+    LOG.info("Graph builder modules:\n{}", toTable());
+  }
+
+  Table toTable() {
+    var table = Table
+      .of()
+      .withHeaders("Module", "Wall time", "CPU time", "Peak heap")
+      .withAlights(Table.Align.Left, Table.Align.Right, Table.Align.Right, Table.Align.Right);
+
+    for (ModuleRun run : runs) {
+      table.addRow(
+        run.name(),
+        durationToStr(run.wallTimeNanos()),
+        durationToStr(run.cpuTimeNanos()),
+        sizeToStr(run.peakHeapBytes())
+      );
+    }
+    return table.build();
+  }
+
+  List<ModuleRun> runs() {
+    return List.copyOf(runs);
+  }
+
+  private static String moduleName(GraphBuilderModule module) {
+    var name = module.getClass().getSimpleName();
+    // Lambdas and anonymous classes do not have a useful simple name
+    return name.isEmpty() || name.contains("$") ? module.getClass().getName() : name;
+  }
+
+  private static String durationToStr(long nanos) {
+    return nanos < 0 ? NOT_AVAILABLE : DurationUtils.durationToStr(Duration.ofNanos(nanos));
+  }
+
+  private static String sizeToStr(long bytes) {
+    return bytes < 0 ? NOT_AVAILABLE : FileSizeToTextConverter.fileSizeToString(bytes);
+  }
+
+  /**
+   * Return the CPU time used by the process in nanoseconds, or -1 if not supported by the JVM.
+   */
+  private static long processCpuTime() {
+    var os = ManagementFactory.getOperatingSystemMXBean();
+    if (os instanceof com.sun.management.OperatingSystemMXBean sunOs) {
+      return sunOs.getProcessCpuTime();
+    }
+    return -1;
+  }
+
+  private static void resetPeakHeapUsage() {
+    for (MemoryPoolMXBean pool : heapPools()) {
+      pool.resetPeakUsage();
+    }
+  }
+
+  private static long peakHeapUsage() {
+    long sum = 0;
+    for (MemoryPoolMXBean pool : heapPools()) {
+      var usage = pool.getPeakUsage();
+      if (usage == null) {
+        return -1;
+      }
+      sum += usage.getUsed();
+    }
+    return sum;
+  }
+
+  private static List<MemoryPoolMXBean> heapPools() {
+    return ManagementFactory
+      .getMemoryPoolMXBeans()
+      .stream()
+      .filter(it -> it.getType() == MemoryType.HEAP && it.isValid())
+      .toList();
+  }
+
+  record ModuleRun(String name, long wallTimeNanos, long cpuTimeNanos, long peakHeapBytes) {}
+}
@@ -1,12 +1,14 @@
 package org.opentripplanner.graph_builder.module;
 
 import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimaps;
+import com.google.common.collect.Multimap;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Objects;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.framework.logging.ProgressTracker;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
@@ -16,14 +18,18 @@ import org.opentripplanner.graph_builder.module.nearbystops.NearbyStopFinder;
 import org.opentripplanner.graph_builder.module.nearbystops.PatternConsideringNearbyStopFinder;
 import org.opentripplanner.graph_builder.module.nearbystops.StraightLineNearbyStopFinder;
 import org.opentripplanner.graph_builder.module.nearbystops.StreetNearbyStopFinder;
+import org.opentripplanner.model.GenericLocation;
 import org.opentripplanner.model.PathTransfer;
 import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
 import org.opentripplanner.routing.api.request.request.StreetRequest;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.routing.graphfinder.NearbyStop;
 import org.opentripplanner.street.model.edge.Edge;
 import org.opentripplanner.street.model.vertex.TransitStopVertex;
 import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.request.StreetSearchRequestMapper;
 import org.opentripplanner.transit.model.site.RegularStop;
 import org.opentripplanner.transit.model.site.StopLocation;
 import org.opentripplanner.transit.service.DefaultTransitService;
@@ -82,93 +88,35 @@ public class DirectTransferGenerator implements GraphBuilderModule {
       stops.size()
     );
 
-    AtomicInteger nTransfersTotal = new AtomicInteger();
-    AtomicInteger nLinkedStops = new AtomicInteger();
+    List<RouteRequest> transferProfiles = distinctTransferProfiles(transferRequests);
 
-    // This is a synchronizedMultimap so that a parallel stream may be used to insert elements.
-    var transfersByStop = Multimaps.<StopLocation, PathTransfer>synchronizedMultimap(
-      HashMultimap.create()
-    );
-
-    stops
+    // Each thread collects the transfers in its own buffer, the buffers are merged by the stream.
+    List<StopTransfers> transfersForStops = stops
       .stream()
       .parallel()
-      .forEach(ts0 -> {
-        /* Make transfers to each nearby stop that has lowest weight on some trip pattern.
-         * Use map based on the list of edges, so that only distinct transfers are stored. */
-        Map<TransferKey, PathTransfer> distinctTransfers = new HashMap<>();
-        RegularStop stop = ts0.getStop();
-
-        if (stop.transfersNotAllowed()) {
-          return;
-        }
-
-        LOG.debug("Linking stop '{}' {}", stop, ts0);
-
-        for (RouteRequest transferProfile : transferRequests) {
-          for (NearbyStop sd : findNearbyStops(
-            nearbyStopFinder,
-            ts0,
-            transferProfile,
-            transferProfile.journey().transfer(),
-            false
-          )) {
-            // Skip the origin stop, loop transfers are not needed.
-            if (sd.stop == stop) {
-              continue;
-            }
-            if (sd.stop.transfersNotAllowed()) {
-              continue;
-            }
-            distinctTransfers.put(
-              new TransferKey(stop, sd.stop, sd.edges),
-              new PathTransfer(stop, sd.stop, sd.distance, sd.edges)
-            );
-          }
-          if (OTPFeature.FlexRouting.isOn()) {
-            // This code is for finding transfers from AreaStops to Stops, transfers
-            // from Stops to AreaStops and between Stops are already covered above.
-            for (NearbyStop sd : findNearbyStops(
-              nearbyStopFinder,
-              ts0,
-              transferProfile,
-              transferProfile.journey().transfer(),
-              true
-            )) {
-              // Skip the origin stop, loop transfers are not needed.
-              if (sd.stop == stop) {
-                continue;
-              }
-              if (sd.stop instanceof RegularStop) {
-                continue;
-              }
-              distinctTransfers.put(
-                new TransferKey(sd.stop, stop, sd.edges),
-                new PathTransfer(sd.stop, stop, sd.distance, sd.edges)
-              );
-            }
-          }
-        }
-
-        LOG.debug(
-          "Linked stop {} with {} transfers to stops with different patterns.",
-          stop,
-          distinctTransfers.size()
-        );
-        if (distinctTransfers.isEmpty()) {
-          issueStore.add(new StopNotLinkedForTransfers(ts0));
-        } else {
-          distinctTransfers
-            .values()
-            .forEach(transfer -> transfersByStop.put(transfer.from, transfer));
-          nLinkedStops.incrementAndGet();
-          nTransfersTotal.addAndGet(distinctTransfers.size());
-        }
-
+      .map(ts0 -> {
+        var result = findTransfers(nearbyStopFinder, ts0, transferProfiles);
         //Keep lambda! A method-ref would causes incorrect class and line number to be logged
         //noinspection Convert2MethodRef
         progress.step(m -> LOG.info(m));
-      });
+        return result;
+      })
+      .filter(Objects::nonNull)
+      .toList();
+
+    int nTransfersTotal = 0;
+    int nLinkedStops = 0;
+    Multimap<StopLocation, PathTransfer> transfersByStop = HashMultimap.create();
+
+    for (StopTransfers it : transfersForStops) {
+      if (it.transfers().isEmpty()) {
+        issueStore.add(new StopNotLinkedForTransfers(it.vertex()));
+      } else {
+        it.transfers().forEach(transfer -> transfersByStop.put(transfer.from, transfer));
+        nLinkedStops++;
+        nTransfersTotal += it.transfers().size();
+      }
+    }
 
     transitModel.addAllTransfersByStops(transfersByStop);
 
@@ -180,6 +128,107 @@ public class DirectTransferGenerator implements GraphBuilderModule {
     );
   }
 
+  /**
+   * Find the transfers from the given stop, and from area stops to it when flex routing is on.
+   * Return {@code null} if transfers are not allowed from the stop.
+   */
+  private StopTransfers findTransfers(
+    NearbyStopFinder nearbyStopFinder,
+    TransitStopVertex ts0,
+    List<RouteRequest> transferProfiles
+  ) {
+    /* Make transfers to each nearby stop that has lowest weight on some trip pattern.
+     * Use map based on the list of edges, so that only distinct transfers are stored. */
+    Map<TransferKey, PathTransfer> distinctTransfers = new HashMap<>();
+    RegularStop stop = ts0.getStop();
+
+    if (stop.transfersNotAllowed()) {
+      return null;
+    }
+
+    LOG.debug("Linking stop '{}' {}", stop, ts0);
+
+    for (RouteRequest transferProfile : transferProfiles) {
+      for (NearbyStop sd : findNearbyStops(
+        nearbyStopFinder,
+        ts0,
+        transferProfile,
+        transferProfile.journey().transfer(),
+        false
+      )) {
+        // Skip the origin stop, loop transfers are not needed.
+        if (sd.stop == stop) {
+          continue;
+        }
+        if (sd.stop.transfersNotAllowed()) {
+          continue;
+        }
+        distinctTransfers.put(
+          new TransferKey(stop, sd.stop, sd.edges),
+          new PathTransfer(stop, sd.stop, sd.distance, sd.edges)
+        );
+      }
+      if (OTPFeature.FlexRouting.isOn()) {
+        // This code is for finding transfers from AreaStops to Stops, transfers
+        // from Stops to AreaStops and between Stops are already covered above.
+        for (NearbyStop sd : findNearbyStops(
+          nearbyStopFinder,
+          ts0,
+          transferProfile,
+          transferProfile.journey().transfer(),
+          true
+        )) {
+          // Skip the origin stop, loop transfers are not needed.
+          if (sd.stop == stop) {
+            continue;
+          }
+          if (sd.stop instanceof RegularStop) {
+            continue;
+          }
+          distinctTransfers.put(
+            new TransferKey(sd.stop, stop, sd.edges),
+            new PathTransfer(sd.stop, stop, sd.distance, sd.edges)
+          );
+        }
+      }
+    }
+
+    LOG.debug(
+      "Linked stop {} with {} transfers to stops with different patterns.",
+      stop,
+      distinctTransfers.size()
+    );
+    return new StopTransfers(ts0, distinctTransfers.values());
+  }
+
+  /**
+   * Remove transfer profiles which result in the same street search as a previous profile.
+   * Searching with a duplicate profile finds the same transfers again.
+   * <p>
+   * The street search reads the preferences, the wheelchair flag, the date-time and the places of
+   * the request, see {@link StreetSearchRequestMapper#map(RouteRequest)}, and the transfer mode.
+   * The arrive-by flag is set by the {@link NearbyStopFinder} for each direction. The places are
+   * not set in transfer requests, and are compared by reference.
+   * <p>
+   * The date-time is not compared. Each transfer request gets the time the config was read, so
+   * comparing it would never find a duplicate. Each remaining profile is searched with its own
+   * date-time, so this does not change the transfers found for it.
+   */
+  static List<RouteRequest> distinctTransferProfiles(List<RouteRequest> transferRequests) {
+    Map<TransferSearchKey, RouteRequest> profiles = new LinkedHashMap<>();
+    for (RouteRequest request : transferRequests) {
+      profiles.putIfAbsent(TransferSearchKey.of(request), request);
+    }
+    if (profiles.size() < transferRequests.size()) {
+      LOG.info(
+        "{} of {} transfer profiles are duplicates, and are not searched.",
+        transferRequests.size() - profiles.size(),
+        transferRequests.size()
+      );
+    }
+    return List.copyOf(profiles.values());
+  }
+
   /**
    * Factory method for creating a NearbyStopFinder. Will create different finders depending on
    * whether the graph has a street network and if ConsiderPatternsForDirectTransfers feature is
@@ -216,4 +265,24 @@ public class DirectTransferGenerator implements GraphBuilderModule {
   }
 
   private record TransferKey(StopLocation source, StopLocation target, List<Edge> edges) {}
+
+  private record TransferSearchKey(
+    RoutingPreferences preferences,
+    boolean wheelchair,
+    GenericLocation from,
+    GenericLocation to,
+    StreetMode mode
+  ) {
+    static TransferSearchKey of(RouteRequest request) {
+      return new TransferSearchKey(
+        request.preferences(),
+        request.wheelchair(),
+        request.from(),
+        request.to(),
+        request.journey().transfer().mode()
+      );
+    }
+  }
+
+  private record StopTransfers(TransitStopVertex vertex, Collection<PathTransfer> transfers) {}
 }
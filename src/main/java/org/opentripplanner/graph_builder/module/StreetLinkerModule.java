@@ -1,5 +1,6 @@
 package org.opentripplanner.graph_builder.module;
 
+import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -44,6 +45,7 @@ public class StreetLinkerModule implements GraphBuilderModule {
   private static final Logger LOG = LoggerFactory.getLogger(StreetLinkerModule.class);
   private static final TraverseModeSet CAR_ONLY = new TraverseModeSet(TraverseMode.CAR);
   private static final TraverseModeSet WALK_ONLY = new TraverseModeSet(TraverseMode.WALK);
+  private static final int LINKING_BATCH_SIZE = 5000;
   private final Graph graph;
   private final TransitModel transitModel;
   private final DataImportIssueStore issueStore;
@@ -78,8 +80,19 @@ public class StreetLinkerModule implements GraphBuilderModule {
   }
 
   public void linkTransitStops(Graph graph, TransitModel transitModel) {
-    List<TransitStopVertex> vertices = graph.getVerticesOfType(TransitStopVertex.class);
-    var progress = ProgressTracker.track("Linking transit stops to graph", 5000, vertices.size());
+    List<TransitStopVertex> vertices = graph
+      .getVerticesOfType(TransitStopVertex.class)
+      .stream()
+      // Stops with pathways do not need to be linked, since there are explicit entrances for that
+      .filter(tStop -> !tStop.hasPathways())
+      // check if stop is already linked, to allow multiple idempotent linking cycles
+      .filter(tStop -> !tStop.isConnectedToGraph())
+      .toList();
+    var progress = ProgressTracker.track(
+      "Linking transit stops to graph",
+      LINKING_BATCH_SIZE,
+      vertices.size()
+    );
     LOG.info(progress.startMessage());
 
     Set<StopLocation> stopLocationsUsedForFlexTrips = Set.of();
@@ -102,49 +115,37 @@ public class StreetLinkerModule implements GraphBuilderModule {
       );
     }
 
-    for (TransitStopVertex tStop : vertices) {
-      // Stops with pathways do not need to be connected to the street network, since there are explicit entrances defined for that
-      if (tStop.hasPathways()) {
-        continue;
-      }
-      // check if stop is already linked, to allow multiple idempotent linking cycles
-      if (tStop.isConnectedToGraph()) {
-        continue;
-      }
-
-      // ordinarily stops only need to be accessible by foot
-      StopLinkType linkType = StopLinkType.WALK_ONLY;
-
-      if (
-        OTPFeature.FlexRouting.isOn() && stopLocationsUsedForFlexTrips.contains(tStop.getStop())
-      ) {
-        linkType = StopLinkType.WALK_AND_CAR;
-      }
-
-      linkStopToStreetNetwork(tStop, linkType);
+    // The closest edges of the stops in a batch are found in parallel, see VertexLinker
+    for (List<TransitStopVertex> batch : Lists.partition(vertices, LINKING_BATCH_SIZE)) {
+      linkStopsToStreetNetwork(batch, stopLocationsUsedForFlexTrips);
 
       //noinspection Convert2MethodRef
-      progress.step(m -> LOG.info(m));
+      progress.steps(batch.size(), m -> LOG.info(m));
     }
     LOG.info(progress.completeMessage());
   }
 
   /**
-   * Link a stop to the nearest "relevant" edges.
+   * Link the stops to the nearest "relevant" edges.
    * <p>
    * These are mostly walk edges but if a stop is used by a flex pattern it also needs to be
    * car-accessible. Therefore, flex stops are ensured to be connected to the car-accessible
    * edge. This may lead to several links being created.
    */
-  private void linkStopToStreetNetwork(TransitStopVertex tStop, StopLinkType linkType) {
+  private void linkStopsToStreetNetwork(
+    List<TransitStopVertex> stops,
+    Set<StopLocation> stopLocationsUsedForFlexTrips
+  ) {
     graph
       .getLinker()
-      .linkVertexPermanently(
-        tStop,
+      .linkVerticesPermanently(
+        stops,
         WALK_ONLY,
         LinkingDirection.BOTH_WAYS,
         (transitVertex, streetVertex) -> {
-          var linkEdges = createStopLinkEdges((TransitStopVertex) transitVertex, streetVertex);
+          var tStop = (TransitStopVertex) transitVertex;
+          var linkEdges = createStopLinkEdges(tStop, streetVertex);
+          var linkType = linkType(tStop, stopLocationsUsedForFlexTrips);
 
           if (linkType == StopLinkType.WALK_AND_CAR && !streetVertex.isConnectedToDriveableEdge()) {
             linkToDriveableEdge(tStop);
@@ -155,6 +156,19 @@ public class StreetLinkerModule implements GraphBuilderModule {
       );
   }
 
+  private static StopLinkType linkType(
+    TransitStopVertex tStop,
+    Set<StopLocation> stopLocationsUsedForFlexTrips
+  ) {
+    // ordinarily stops only need to be accessible by foot
+    if (
+      OTPFeature.FlexRouting.isOn() && stopLocationsUsedForFlexTrips.contains(tStop.getStop())
+    ) {
+      return StopLinkType.WALK_AND_CAR;
+    }
+    return StopLinkType.WALK_ONLY;
+  }
+
   /**
    * If regular stops or group stops are used for flex trips, they also need to be connected to car
    * routable street edges.
@@ -235,26 +249,24 @@ public class StreetLinkerModule implements GraphBuilderModule {
 
   private void linkTransitEntrances(Graph graph) {
     LOG.info("Linking transit entrances to graph...");
-    for (TransitEntranceVertex tEntrance : graph.getVerticesOfType(TransitEntranceVertex.class)) {
-      graph
-        .getLinker()
-        .linkVertexPermanently(
-          tEntrance,
-          new TraverseModeSet(TraverseMode.WALK),
-          LinkingDirection.BOTH_WAYS,
-          (vertex, streetVertex) ->
-            List.of(
-              StreetTransitEntranceLink.createStreetTransitEntranceLink(
-                (TransitEntranceVertex) vertex,
-                streetVertex
-              ),
-              StreetTransitEntranceLink.createStreetTransitEntranceLink(
-                streetVertex,
-                (TransitEntranceVertex) vertex
-              )
+    graph
+      .getLinker()
+      .linkVerticesPermanently(
+        graph.getVerticesOfType(TransitEntranceVertex.class),
+        new TraverseModeSet(TraverseMode.WALK),
+        LinkingDirection.BOTH_WAYS,
+        (vertex, streetVertex) ->
+          List.of(
+            StreetTransitEntranceLink.createStreetTransitEntranceLink(
+              (TransitEntranceVertex) vertex,
+              streetVertex
+            ),
+            StreetTransitEntranceLink.createStreetTransitEntranceLink(
+              streetVertex,
+              (TransitEntranceVertex) vertex
             )
-        );
-    }
+          )
+      );
   }
 
   private void linkVehicleParks(Graph graph, DataImportIssueStore issueStore) {
@@ -338,7 +338,7 @@ public class GraphBuilderModules {
     OsmModule osmModule,
     File cacheDirectory
   ) {
-    var cachedElevationsFile = new File(cacheDirectory, "cached_elevations.obj");
+    var cachedElevationsFile = new File(cacheDirectory, "cached_elevations.bin");
 
     return new ElevationModule(
       it,
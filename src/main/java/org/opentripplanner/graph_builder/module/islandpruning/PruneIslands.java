@@ -1,7 +1,7 @@
 package org.opentripplanner.graph_builder.module.islandpruning;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -318,35 +318,63 @@ public class PruneIslands implements GraphBuilderModule {
 
     StreetSearchRequest request = StreetSearchRequest.of().withMode(streetMode).build();
 
-    for (Vertex gv : graph.getVertices()) {
-      if (!(gv instanceof StreetVertex)) {
+    List<Vertex> streetVertices = graph
+      .getVertices()
+      .stream()
+      .filter(StreetVertex.class::isInstance)
+      .toList();
+
+    // Traversing the edges does not modify the graph, so it is done in parallel. The neighbours
+    // are added in the order of the vertices, so the neighbour lists, and the islands found from
+    // them, are the same as if the vertices were traversed one by one.
+    List<List<Vertex>> reachedForVertex = streetVertices
+      .parallelStream()
+      .map(gv -> traverseOutgoingEdges(gv, request, traverseMode, shouldMatchNoThruType))
+      .toList();
+
+    for (int i = 0; i < streetVertices.size(); i++) {
+      Vertex gv = streetVertices.get(i);
+      for (Vertex out : reachedForVertex.get(i)) {
+        var vertexList = neighborsForVertex.computeIfAbsent(gv, k -> new ArrayList<>());
+        vertexList.add(out);
+
+        // note: this assumes that edges are bi-directional. Maybe explicit state traversal is needed for CAR mode.
+        vertexList = neighborsForVertex.computeIfAbsent(out, k -> new ArrayList<>());
+        vertexList.add(gv);
+      }
+    }
+  }
+
+  /**
+   * Return the vertices reached by traversing the outgoing edges of the given vertex.
+   */
+  private static List<Vertex> traverseOutgoingEdges(
+    Vertex gv,
+    StreetSearchRequest request,
+    TraverseMode traverseMode,
+    boolean shouldMatchNoThruType
+  ) {
+    List<Vertex> reached = null;
+    State s0 = new State(gv, request);
+    for (Edge e : gv.getOutgoing()) {
+      if (
+        e instanceof StreetEdge &&
+        shouldMatchNoThruType != ((StreetEdge) e).isNoThruTraffic(traverseMode)
+      ) {
         continue;
       }
-      State s0 = new State(gv, request);
-      for (Edge e : gv.getOutgoing()) {
-        if (
-          e instanceof StreetEdge &&
-          shouldMatchNoThruType != ((StreetEdge) e).isNoThruTraffic(traverseMode)
-        ) {
-          continue;
-        }
-        State[] states = e.traverse(s0);
-        if (State.isEmpty(states)) {
-          continue;
-        }
-        Arrays
-          .stream(states)
-          .map(State::getVertex)
-          .forEach(out -> {
-            var vertexList = neighborsForVertex.computeIfAbsent(gv, k -> new ArrayList<>());
-            vertexList.add(out);
-
-            // note: this assumes that edges are bi-directional. Maybe explicit state traversal is needed for CAR mode.
-            vertexList = neighborsForVertex.computeIfAbsent(out, k -> new ArrayList<>());
-            vertexList.add(gv);
-          });
+      State[] states = e.traverse(s0);
+      if (State.isEmpty(states)) {
+        continue;
+      }
+      if (reached == null) {
+        reached = new ArrayList<>(states.length);
+      }
+      for (State state : states) {
+        reached.add(state.getVertex());
       }
     }
+    return reached == null ? List.of() : reached;
   }
 
   private int collectSubGraphs(
@@ -509,7 +537,7 @@ public class PruneIslands implements GraphBuilderModule {
     Map<Vertex, Subgraph> alreadyMapped
   ) {
     Subgraph subgraph = new Subgraph();
-    Queue<Vertex> q = new LinkedList<>();
+    Queue<Vertex> q = new ArrayDeque<>();
     Subgraph anchor = null;
 
     if (anchors != null) {
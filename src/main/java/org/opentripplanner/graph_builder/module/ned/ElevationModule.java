@@ -2,16 +2,14 @@ package org.opentripplanner.graph_builder.module.ned;
 
 import static org.opentripplanner.street.model.elevation.ElevationUtils.computeEllipsoidToGeoidDifference;
 
-import java.io.BufferedOutputStream;
+import com.google.common.collect.Lists;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.nio.file.Files;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -27,7 +25,6 @@ import org.geotools.referencing.CRS;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
-import org.opentripplanner.framework.geometry.EncodedPolyline;
 import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
 import org.opentripplanner.framework.lang.IntUtils;
 import org.opentripplanner.framework.logging.ProgressTracker;
@@ -62,6 +59,16 @@ import org.slf4j.LoggerFactory;
 public class ElevationModule implements GraphBuilderModule {
 
   private static final Logger LOG = LoggerFactory.getLogger(ElevationModule.class);
+
+  /** The size of the tiles the edges are grouped in when elevation is calculated in parallel. */
+  private static final double TILE_SIZE_DEGREES = 0.05;
+  /**
+   * The maximum number of edges processed by one parallel task. Large tiles in dense cities are
+   * split into several tasks, so a few large tiles do not limit the parallelism.
+   */
+  private static final int MAX_EDGES_PER_TASK = 2_000;
+  /** The name of the elevation cache file written by earlier versions, it is no longer read. */
+  private static final String OLD_CACHED_ELEVATIONS_FILE_NAME = "cached_elevations.obj";
   /**
    * The WGS84 CRS with longitude-first axis order. The first time a CRS lookup is
    * performed is surprisingly expensive (around 500ms), apparently due to  initializing
@@ -91,6 +98,11 @@ public class ElevationModule implements GraphBuilderModule {
   private final Graph graph;
   /* The file of cached elevations */
   private final File cachedElevationsFile;
+  /*
+   * True if the graph is a street graph loaded from file which already has elevation data. Only edges added
+   * after the street graph was built need to be sampled, so the elevation cache is neither read nor written.
+   */
+  private final boolean streetGraphHasElevation;
   private final double maxElevationPropagationMeters;
   /* Whether or not to include geoid difference values in individual elevation calculations */
   private final boolean includeEllipsoidToGeoidDifference;
@@ -110,12 +122,12 @@ public class ElevationModule implements GraphBuilderModule {
   private final ThreadLocal<Coverage> coverageInterpolatorThreadLocal = new ThreadLocal<>();
   private final DataImportIssueStore issueStore;
   /**
-   * A map of PackedCoordinateSequence values identified by Strings of encoded polylines.
+   * Elevation profiles from a previous build identified by the encoded polylines of the edges.
    * <p>
-   * Note: Since this map has a key of only the encoded polylines, it is assumed that all other
+   * Note: Since the cache is keyed by the encoded polylines only, it is assumed that all other
    * inputs are the same as those that occurred in the graph build that produced this data.
    */
-  private HashMap<String, PackedCoordinateSequence> cachedElevations;
+  private ElevationProfileCache cachedElevations;
   // the first coordinate in the first StreetWithElevationEdge which is used for initializing coverage instances
   private Coordinate examplarCoordinate;
   /** Used only when the ElevationModule is requested to be ran with a single thread */
@@ -159,6 +171,7 @@ public class ElevationModule implements GraphBuilderModule {
     this.graph = graph;
     this.issueStore = issueStore;
     this.cachedElevationsFile = cachedElevationsFile;
+    this.streetGraphHasElevation = graph.hasElevation;
     this.elevationData = elevationData;
     this.readCachedElevations = readCachedElevations;
     this.writeCachedElevations = writeCachedElevations;
@@ -175,14 +188,23 @@ public class ElevationModule implements GraphBuilderModule {
 
     graph.setDistanceBetweenElevationSamples(this.distanceBetweenSamplesM);
 
+    if (streetGraphHasElevation) {
+      LOG.info(
+        "The street graph already has elevation data, only edges without elevation are " +
+        "processed and the cached elevations are not used."
+      );
+    }
+
     // try to load in the cached elevation data
-    if (readCachedElevations) {
+    if (readCachedElevations && !streetGraphHasElevation) {
       // try to load in the cached elevation data
       try {
-        ObjectInputStream in = new ObjectInputStream(new FileInputStream(cachedElevationsFile));
-        cachedElevations = (HashMap<String, PackedCoordinateSequence>) in.readObject();
-        LOG.info("Cached elevation data loaded into memory!");
-      } catch (IOException | ClassNotFoundException e) {
+        cachedElevations = ElevationProfileCache.read(cachedElevationsFile);
+        LOG.info(
+          "Cached elevation data loaded into memory! {} elevation profiles.",
+          cachedElevations.size()
+        );
+      } catch (IOException e) {
         issueStore.add(
           new Graphwide(
             String.format(
@@ -195,7 +217,7 @@ public class ElevationModule implements GraphBuilderModule {
     }
     LOG.info("Setting street elevation profiles from digital elevation model...");
 
-    List<StreetEdge> streetsWithElevationEdges = new LinkedList<>();
+    List<StreetEdge> streetsWithElevationEdges = new ArrayList<>();
 
     for (Vertex gv : graph.getVertices()) {
       for (Edge ee : gv.getOutgoing()) {
@@ -220,10 +242,11 @@ public class ElevationModule implements GraphBuilderModule {
     var progress = ProgressTracker.track("Set elevation", 25_000, totalElevationEdges);
 
     if (multiThreadElevationCalculations) {
-      // Multi-threaded execution
-      streetsWithElevationEdges
+      // Multi-threaded execution. Each task processes the edges of a part of a tile, so each
+      // coverage instance reads from a small part of the elevation model at a time.
+      splitIntoTasks(streetsWithElevationEdges)
         .parallelStream()
-        .forEach(ee -> processEdgeWithProgress(ee, progress));
+        .forEach(task -> task.forEach(ee -> processEdgeWithProgress(ee, progress)));
     } else {
       // If using just a single thread, process each edge inline
       for (StreetEdge ee : streetsWithElevationEdges) {
@@ -255,29 +278,18 @@ public class ElevationModule implements GraphBuilderModule {
     LOG.info(progress.completeMessage());
 
     // Iterate again to find edges that had elevation calculated.
-    LinkedList<StreetEdge> edgesWithCalculatedElevations = new LinkedList<>();
+    List<StreetEdge> edgesWithCalculatedElevations = new ArrayList<>();
     for (StreetEdge edgeWithElevation : streetsWithElevationEdges) {
       if (edgeWithElevation.hasElevationExtension() && !edgeWithElevation.isElevationFlattened()) {
         edgesWithCalculatedElevations.add(edgeWithElevation);
       }
     }
 
-    if (writeCachedElevations) {
+    if (writeCachedElevations && !streetGraphHasElevation) {
       // write information from edgesWithElevation to a new cache file for subsequent graph builds
       LOG.info("Writing elevation cache");
-      HashMap<String, PackedCoordinateSequence> newCachedElevations = new HashMap<>();
-      for (StreetEdge streetEdge : edgesWithCalculatedElevations) {
-        newCachedElevations.put(
-          EncodedPolyline.encode(streetEdge.getGeometry()).points(),
-          streetEdge.getElevationProfile()
-        );
-      }
       try {
-        ObjectOutputStream out = new ObjectOutputStream(
-          new BufferedOutputStream(new FileOutputStream(cachedElevationsFile))
-        );
-        out.writeObject(newCachedElevations);
-        out.close();
+        ElevationProfileCache.write(cachedElevationsFile, edgesWithCalculatedElevations);
       } catch (IOException e) {
         issueStore.add(new Graphwide("Failed to write cached elevation file: " + e.getMessage()));
       }
@@ -306,6 +318,18 @@ public class ElevationModule implements GraphBuilderModule {
 
     // check for the existence of cached elevation data.
     if (readCachedElevations) {
+      var oldCachedElevationsFile = new File(
+        cachedElevationsFile.getParentFile(),
+        OLD_CACHED_ELEVATIONS_FILE_NAME
+      );
+      if (oldCachedElevationsFile.exists()) {
+        LOG.warn(
+          "The cached elevations file {} has an old format and is not read. The elevations are " +
+          "calculated again, and are cached in {} if writeCachedElevations is enabled.",
+          oldCachedElevationsFile.toPath().toAbsolutePath(),
+          cachedElevationsFile.toPath().toAbsolutePath()
+        );
+      }
       if (Files.exists(cachedElevationsFile.toPath())) {
         LOG.info("Cached elevations file found!");
       } else {
@@ -403,9 +427,7 @@ public class ElevationModule implements GraphBuilderModule {
     // first try to find a cached value if possible
     Geometry edgeGeometry = ee.getGeometry();
     if (cachedElevations != null) {
-      PackedCoordinateSequence coordinateSequence = cachedElevations.get(
-        EncodedPolyline.encode(edgeGeometry).points()
-      );
+      PackedCoordinateSequence coordinateSequence = cachedElevations.get(edgeGeometry);
       if (coordinateSequence != null) {
         // found a cached value! Set the elevation profile with the pre-calculated data.
         setEdgeElevationProfile(ee, coordinateSequence);
@@ -482,6 +504,34 @@ public class ElevationModule implements GraphBuilderModule {
     }
   }
 
+  /**
+   * Split the edges into tasks for parallel processing. The edges are grouped by tile, and the
+   * tiles with more than {@link #MAX_EDGES_PER_TASK} edges are split into several tasks.
+   */
+  private static List<List<StreetEdge>> splitIntoTasks(List<StreetEdge> edges) {
+    List<List<StreetEdge>> tasks = new ArrayList<>();
+    for (List<StreetEdge> tile : groupByTile(edges)) {
+      tasks.addAll(Lists.partition(tile, MAX_EDGES_PER_TASK));
+    }
+    return tasks;
+  }
+
+  /**
+   * Group the edges by the tile of the elevation model containing their first coordinate, tiles
+   * are {@link #TILE_SIZE_DEGREES} wide and high.
+   */
+  private static Collection<List<StreetEdge>> groupByTile(List<StreetEdge> edges) {
+    Map<Long, List<StreetEdge>> tiles = new HashMap<>();
+    for (StreetEdge edge : edges) {
+      Coordinate c = edge.getFromVertex().getCoordinate();
+      long tileX = (long) Math.floor(c.x / TILE_SIZE_DEGREES);
+      long tileY = (long) Math.floor(c.y / TILE_SIZE_DEGREES);
+      long tileKey = (tileX << 32) | (tileY & 0xffffffffL);
+      tiles.computeIfAbsent(tileKey, k -> new ArrayList<>()).add(edge);
+    }
+    return tiles.values();
+  }
+
   /**
    * Gets a coverage interpolator instance specific to the current thread. If using multiple
    * threads, get the coverage interpolator instance associated with the ElevationWorkerThread.
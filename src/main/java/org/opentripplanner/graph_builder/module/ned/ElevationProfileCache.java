@@ -0,0 +1,156 @@
+package org.opentripplanner.graph_builder.module.ned;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.opentripplanner.framework.geometry.EncodedPolyline;
+import org.opentripplanner.street.model.edge.StreetEdge;
+
+/**
+ * A cache of the elevation profiles of street edges, used to avoid sampling the elevation model
+ * again in later graph builds. The profiles are keyed by a 64-bit hash of the encoded polyline of
+ * the edge geometry.
+ * <p>
+ * The cache is stored in a compact binary file: a header, the sorted keys, the number of points in
+ * each profile and the (distance, elevation) pairs of all profiles. In memory the cache is kept in
+ * three primitive arrays in the same layout, which is a fraction of the size of a map of strings to
+ * coordinate sequences.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE. The cache is immutable.
+ */
+class ElevationProfileCache {
+
+  /** "OTPE" in ASCII */
+  private static final int MAGIC = 0x4f545045;
+  private static final int VERSION = 1;
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  /** The sorted, distinct keys of the profiles */
+  private final long[] keys;
+
+  /** The profile of key i is the points from {@code offsets[i]} until {@code offsets[i+1]} */
+  private final int[] offsets;
+
+  /** The distance and elevation of each point, {@code [x0, y0, x1, y1, ...]} */
+  private final double[] points;
+
+  private ElevationProfileCache(long[] keys, int[] offsets, double[] points) {
+    this.keys = keys;
+    this.offsets = offsets;
+    this.points = points;
+  }
+
+  static ElevationProfileCache read(File file) throws IOException {
+    try (
+      var in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))
+    ) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not an elevation cache file: " + file);
+      }
+      int version = in.readInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported elevation cache version: " + version);
+      }
+      int size = in.readInt();
+      long[] keys = new long[size];
+      for (int i = 0; i < size; i++) {
+        keys[i] = in.readLong();
+      }
+      int[] offsets = new int[size + 1];
+      for (int i = 0; i < size; i++) {
+        offsets[i + 1] = offsets[i] + in.readInt();
+      }
+      double[] points = new double[2 * offsets[size]];
+      for (int i = 0; i < points.length; i++) {
+        points[i] = in.readDouble();
+      }
+      return new ElevationProfileCache(keys, offsets, points);
+    }
+  }
+
+  /**
+   * Write the elevation profiles of the given edges to the file. Edges without an elevation
+   * profile are skipped. If more than one edge has the same geometry, the first profile is kept.
+   */
+  static void write(File file, Collection<StreetEdge> edges) throws IOException {
+    List<Entry> entries = edges
+      .stream()
+      .filter(StreetEdge::hasElevationExtension)
+      .map(it -> new Entry(key(it.getGeometry()), it.getElevationProfile()))
+      .sorted(Comparator.comparingLong(Entry::key))
+      .toList();
+
+    long[] keys = new long[entries.size()];
+    PackedCoordinateSequence[] profiles = new PackedCoordinateSequence[entries.size()];
+    int size = 0;
+    for (Entry entry : entries) {
+      if (size == 0 || keys[size - 1] != entry.key()) {
+        keys[size] = entry.key();
+        profiles[size] = entry.profile();
+        size++;
+      }
+    }
+
+    try (
+      var out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))
+    ) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(size);
+      for (int i = 0; i < size; i++) {
+        out.writeLong(keys[i]);
+      }
+      for (int i = 0; i < size; i++) {
+        out.writeInt(profiles[i].size());
+      }
+      for (int i = 0; i < size; i++) {
+        var profile = profiles[i];
+        for (int j = 0; j < profile.size(); j++) {
+          out.writeDouble(profile.getX(j));
+          out.writeDouble(profile.getY(j));
+        }
+      }
+    }
+  }
+
+  /**
+   * Return the cached elevation profile of an edge with the given geometry, or {@code null} if
+   * not in the cache.
+   */
+  PackedCoordinateSequence get(Geometry geometry) {
+    int index = Arrays.binarySearch(keys, key(geometry));
+    if (index < 0) {
+      return null;
+    }
+    return new PackedCoordinateSequence.Double(
+      Arrays.copyOfRange(points, 2 * offsets[index], 2 * offsets[index + 1]),
+      2,
+      0
+    );
+  }
+
+  int size() {
+    return keys.length;
+  }
+
+  private static long key(Geometry geometry) {
+    String polyline = EncodedPolyline.encode(geometry).points();
+    return HASH_FUNCTION.hashString(polyline, StandardCharsets.UTF_8).asLong();
+  }
+
+  private record Entry(long key, PackedCoordinateSequence profile) {}
+}
@@ -26,6 +26,7 @@ import org.onebusaway.gtfs.model.ServiceCalendarDate;
 import org.onebusaway.gtfs.model.ShapePoint;
 import org.onebusaway.gtfs.model.Stop;
 import org.onebusaway.gtfs.model.StopArea;
+import org.onebusaway.gtfs.model.StopTime;
 import org.onebusaway.gtfs.model.Trip;
 import org.onebusaway.gtfs.serialization.GtfsReader;
 import org.onebusaway.gtfs.services.GenericMutableDao;
@@ -140,6 +141,7 @@ public class GtfsModule implements GraphBuilderModule {
           gtfsBundle.stationTransferPreference()
         );
         mapper.mapStopTripAndRouteDataIntoBuilder();
+        releaseMappedStopTimesAndShapePoints(gtfsDao);
 
         OtpTransitServiceBuilder builder = mapper.getBuilder();
         var fareRulesService = mapper.getFareRulesService();
@@ -400,6 +402,18 @@ public class GtfsModule implements GraphBuilderModule {
     return store.dao;
   }
 
+  /**
+   * Stop times and shape points are by far the largest entity types in a feed, and they are not
+   * used after they are mapped into the OTP model. Remove them from the DAO, so the GTFS and the
+   * OTP copies of them are not kept in memory at the same time while the rest of the feed is
+   * processed.
+   */
+  private static void releaseMappedStopTimesAndShapePoints(GtfsMutableRelationalDao gtfsDao) {
+    gtfsDao.clearAllEntitiesForType(StopTime.class);
+    gtfsDao.clearAllEntitiesForType(ShapePoint.class);
+    gtfsDao.clearAllCaches();
+  }
+
   /**
    * Since GTFS Fares V2 is a very new, constantly evolving standard there might be a lot of errors
    * in the data. We only want to try to parse them when the feature flag is explicitly enabled as
@@ -1,23 +1,18 @@
 package org.opentripplanner.gtfs.mapping;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 import org.opentripplanner.framework.collection.MapUtils;
 import org.opentripplanner.model.ShapePoint;
 
 /** Responsible for mapping GTFS ShapePoint into the OTP model. */
 class ShapePointMapper {
 
-  private final Map<org.onebusaway.gtfs.model.ShapePoint, ShapePoint> mappedShapePoints = new HashMap<>();
-
+  /**
+   * Map all shape points in a feed. Each shape point is mapped once, so the result is not cached.
+   * The cache would keep every GTFS shape point in memory for as long as the mapper is in use.
+   */
   Collection<ShapePoint> map(Collection<org.onebusaway.gtfs.model.ShapePoint> allShapePoints) {
-    return MapUtils.mapToList(allShapePoints, this::map);
-  }
-
-  /** Map from GTFS to OTP model, {@code null} safe. */
-  ShapePoint map(org.onebusaway.gtfs.model.ShapePoint orginal) {
-    return orginal == null ? null : mappedShapePoints.computeIfAbsent(orginal, this::doMap);
+    return MapUtils.mapToList(allShapePoints, this::doMap);
   }
 
   private ShapePoint doMap(org.onebusaway.gtfs.model.ShapePoint rhs) {
@@ -1,8 +1,6 @@
 package org.opentripplanner.gtfs.mapping;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import org.onebusaway.gtfs.model.Location;
 import org.onebusaway.gtfs.model.LocationGroup;
@@ -27,8 +25,6 @@ class StopTimeMapper {
   private final TripMapper tripMapper;
   private final BookingRuleMapper bookingRuleMapper;
 
-  private final Map<org.onebusaway.gtfs.model.StopTime, StopTime> mappedStopTimes = new HashMap<>();
-
   private final TranslationHelper translationHelper;
 
   StopTimeMapper(
@@ -49,13 +45,12 @@ class StopTimeMapper {
     this.translationHelper = translationHelper;
   }
 
+  /**
+   * Map all stop times in a feed. Each stop time is mapped once, so the result is not cached. The
+   * cache would keep every GTFS stop time in memory for as long as the mapper is in use.
+   */
   Collection<StopTime> map(Collection<org.onebusaway.gtfs.model.StopTime> times) {
-    return MapUtils.mapToList(times, this::map);
-  }
-
-  /** Map from GTFS to OTP model, {@code null} safe. */
-  StopTime map(org.onebusaway.gtfs.model.StopTime orginal) {
-    return orginal == null ? null : mappedStopTimes.computeIfAbsent(orginal, this::doMap);
+    return MapUtils.mapToList(times, this::doMap);
   }
 
   private StopTime doMap(org.onebusaway.gtfs.model.StopTime rhs) {
@@ -214,6 +214,31 @@ public class Itinerary implements ItinerarySortKey {
     return systemNotices.stream().map(SystemNotice::tag).anyMatch(tag::equals);
   }
 
+  /**
+   * Create a copy of this itinerary, the properties of the copy can be changed without changing
+   * this itinerary. The legs and the fares are shared, they are not changed after the itinerary
+   * filter chain is done.
+   */
+  public Itinerary copy() {
+    var copy = new Itinerary(legs);
+    copy.elevationLost = elevationLost;
+    copy.elevationGained = elevationGained;
+    copy.generalizedCost = generalizedCost;
+    copy.generalizedCost2 = generalizedCost2;
+    copy.accessPenalty = accessPenalty;
+    copy.egressPenalty = egressPenalty;
+    copy.waitTimeOptimizedCost = waitTimeOptimizedCost;
+    copy.transferPriorityCost = transferPriorityCost;
+    copy.tooSloped = tooSloped;
+    copy.maxSlope = maxSlope;
+    copy.arrivedAtDestinationWithRentedVehicle = arrivedAtDestinationWithRentedVehicle;
+    copy.accessibilityScore = accessibilityScore;
+    copy.emissionsPerPerson = emissionsPerPerson;
+    copy.systemNotices.addAll(systemNotices);
+    copy.fare = fare;
+    return copy;
+  }
+
   public Itinerary withTimeShiftToStartAt(ZonedDateTime afterTime) {
     Duration duration = Duration.between(firstLeg().getStartTime(), afterTime);
     List<Leg> timeShiftedLegs = getLegs()
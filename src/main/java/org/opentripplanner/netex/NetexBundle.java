@@ -3,6 +3,7 @@ package org.opentripplanner.netex;
 import jakarta.xml.bind.JAXBException;
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import org.opentripplanner.datastore.api.CompositeDataSource;
@@ -13,7 +14,7 @@ import org.opentripplanner.netex.config.NetexFeedParameters;
 import org.opentripplanner.netex.index.NetexEntityIndex;
 import org.opentripplanner.netex.loader.GroupEntries;
 import org.opentripplanner.netex.loader.NetexDataSourceHierarchy;
-import org.opentripplanner.netex.loader.NetexXmlParser;
+import org.opentripplanner.netex.loader.ParallelNetexXmlParser;
 import org.opentripplanner.netex.loader.parser.NetexDocumentParser;
 import org.opentripplanner.netex.mapping.NetexMapper;
 import org.opentripplanner.netex.validation.Validator;
@@ -30,12 +31,22 @@ import org.slf4j.LoggerFactory;
  * keeping an index of entities to enable linking. The convention is documented here {@link
  * NetexFeedParameters#sharedFilePattern()} and here {@link NetexDataSourceHierarchy}.
  * <p>
+ * The XML files are parsed in parallel, ahead of the thread populating the index and mapping the
+ * entities, see {@link ParallelNetexXmlParser}. The index is populated and mapped in the same order
+ * as the files are listed in the hierarchy.
+ * <p>
  * This class is also responsible for logging progress and exception handling.
  */
 public class NetexBundle implements Closeable {
 
   private static final Logger LOG = LoggerFactory.getLogger(NetexBundle.class);
 
+  /**
+   * The maximum number of XML files parsed ahead of the file being mapped. This bounds the memory
+   * used by parsed documents waiting to be mapped, see {@link ParallelNetexXmlParser}.
+   */
+  private static final int MAX_FILES_PARSED_AHEAD = 4;
+
   private final CompositeDataSource source;
 
   private final NetexDataSourceHierarchy hierarchy;
@@ -52,7 +63,7 @@ public class NetexBundle implements Closeable {
   private DataImportIssueStore issueStore;
   /** maps the NeTEx XML document to OTP transit model. */
   private NetexMapper mapper;
-  private NetexXmlParser xmlParser;
+  private ParallelNetexXmlParser xmlParser;
 
   public NetexBundle(
     String feedId,
@@ -83,8 +94,7 @@ public class NetexBundle implements Closeable {
 
     this.issueStore = issueStore;
 
-    // init parser and mapper
-    xmlParser = new NetexXmlParser();
+    // init mapper, the parser is created when the data is loaded
     mapper =
       new NetexMapper(
         transitBuilder,
@@ -117,6 +127,34 @@ public class NetexBundle implements Closeable {
 
   /** Load all files entries in the bundle */
   private void loadFileEntries() {
+    try (
+      var parser = new ParallelNetexXmlParser(
+        entriesInLoadOrder(),
+        Math.min(Runtime.getRuntime().availableProcessors(), MAX_FILES_PARSED_AHEAD),
+        MAX_FILES_PARSED_AHEAD
+      )
+    ) {
+      this.xmlParser = parser;
+      loadFileEntriesInOrder();
+    } finally {
+      this.xmlParser = null;
+    }
+  }
+
+  /**
+   * List all entries in the order they are loaded by {@link #loadFileEntriesInOrder()}.
+   */
+  private List<DataSource> entriesInLoadOrder() {
+    var entries = new ArrayList<DataSource>();
+    hierarchy.sharedEntries().forEach(entries::add);
+    for (GroupEntries group : hierarchy.groups()) {
+      entries.addAll(group.sharedEntries());
+      entries.addAll(group.independentEntries());
+    }
+    return entries;
+  }
+
+  private void loadFileEntriesInOrder() {
     // Load global shared files
     loadFilesThenMapToOtpTransitModel("shared file", hierarchy.sharedEntries());
 
@@ -178,7 +216,7 @@ public class NetexBundle implements Closeable {
     try {
       LOG.info("reading entity {}: {}", fileDescription, entry.name());
       issueStore.startProcessingSource(entry.name());
-      PublicationDeliveryStructure doc = xmlParser.parseXmlDoc(entry.asInputStream());
+      PublicationDeliveryStructure doc = xmlParser.parseXmlDoc(entry);
       NetexDocumentParser.parseAndPopulateIndex(index, doc, ignoreFareFrame);
     } catch (JAXBException e) {
       throw new RuntimeException(e.getMessage(), e);
@@ -7,9 +7,17 @@ import jakarta.xml.bind.Unmarshaller;
 import java.io.InputStream;
 import org.rutebanken.netex.model.PublicationDeliveryStructure;
 
-/** Simple wrapper to perform typesafe xml parsing and simple error handling. */
+/**
+ * Simple wrapper to perform typesafe xml parsing and simple error handling.
+ * <p>
+ * THIS CLASS IS NOT THREAD-SAFE. The JAXB context is shared, but each instance has its own
+ * unmarshaller.
+ */
 public class NetexXmlParser {
 
+  /** Creating the context is expensive, it is thread-safe and shared by all parsers. */
+  private static final JAXBContext CONTEXT = createContext();
+
   /** used to parse the XML. */
   private final Unmarshaller unmarshaller;
 
@@ -32,11 +40,18 @@ public class NetexXmlParser {
   /** factory method for unmarshaller */
   private static Unmarshaller createUnmarshaller() {
     try {
-      return JAXBContext.newInstance(PublicationDeliveryStructure.class).createUnmarshaller();
+      return CONTEXT.createUnmarshaller();
     } catch (JAXBException e) {
       // This is a programming error - not expected!
-      // We abort early and also allow for this to happen in the constructor;
-      // Which in other cases would be considered bad practice.
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static JAXBContext createContext() {
+    try {
+      return JAXBContext.newInstance(PublicationDeliveryStructure.class);
+    } catch (JAXBException e) {
+      // This is a programming error - not expected! We abort early, when the class is loaded.
       throw new RuntimeException(e);
     }
   }
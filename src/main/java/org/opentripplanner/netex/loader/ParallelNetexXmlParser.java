@@ -0,0 +1,100 @@
+package org.opentripplanner.netex.loader;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.xml.bind.JAXBException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.opentripplanner.datastore.api.DataSource;
+import org.rutebanken.netex.model.PublicationDeliveryStructure;
+
+/**
+ * Parse NeTEx XML files in parallel, ahead of the thread populating the index and mapping the
+ * entities. The files must be requested in the same order as they are given to the constructor,
+ * so the index is populated in the same order as when the files are parsed one by one.
+ * <p>
+ * The number of files parsed ahead of the file requested is bounded by {@code maxParsedAhead}.
+ * A parsed document is held in memory until it is requested, and it takes several times the size
+ * of its XML file on the heap. So, in addition to the document being mapped, up to
+ * {@code maxParsedAhead} parsed documents are held in memory at once. This also limits how many
+ * files are parsed at the same time, so at most {@code maxParsedAhead + 1} threads are used.
+ * <p>
+ * THIS CLASS IS NOT THREAD-SAFE. Only one thread may request the parsed files.
+ */
+public class ParallelNetexXmlParser implements AutoCloseable {
+
+  private final Iterator<DataSource> entriesToParse;
+  /** The entries parsed ahead, or being parsed, in the order they are requested. */
+  private final Deque<ParsedEntry> parsedEntries = new ArrayDeque<>();
+  private final int maxParsedAhead;
+  private final ExecutorService executor;
+
+  /** The unmarshaller is not thread-safe, so each thread gets its own parser. */
+  private final ThreadLocal<NetexXmlParser> xmlParser = ThreadLocal.withInitial(
+    NetexXmlParser::new
+  );
+
+  /**
+   * @param nThreads       the number of threads parsing files
+   * @param maxParsedAhead the maximum number of files parsed ahead of the file requested
+   */
+  public ParallelNetexXmlParser(List<DataSource> entries, int nThreads, int maxParsedAhead) {
+    if (maxParsedAhead < 1) {
+      throw new IllegalArgumentException("maxParsedAhead must be at least 1: " + maxParsedAhead);
+    }
+    this.entriesToParse = entries.iterator();
+    this.maxParsedAhead = maxParsedAhead;
+    this.executor =
+      Executors.newFixedThreadPool(
+        nThreads,
+        new ThreadFactoryBuilder().setNameFormat("netex-parser-%d").setDaemon(true).build()
+      );
+  }
+
+  /**
+   * Return the parsed document of the given entry, waiting for it to be parsed if necessary.
+   *
+   * @throws IllegalStateException if the entry is not the next entry in order
+   */
+  public PublicationDeliveryStructure parseXmlDoc(DataSource entry) throws JAXBException {
+    // Start parsing the requested entry and up to maxParsedAhead entries after it
+    while (parsedEntries.size() <= maxParsedAhead && entriesToParse.hasNext()) {
+      var next = entriesToParse.next();
+      var document = executor.submit(() -> parse(next));
+      parsedEntries.add(new ParsedEntry(next, document));
+    }
+    var parsed = parsedEntries.poll();
+    if (parsed == null || parsed.entry() != entry) {
+      throw new IllegalStateException("NeTEx file is not parsed in order: " + entry.name());
+    }
+    try {
+      return parsed.document().get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof JAXBException jaxbException) {
+        throw jaxbException;
+      }
+      throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  private PublicationDeliveryStructure parse(DataSource entry) throws Exception {
+    try (var stream = entry.asInputStream()) {
+      return xmlParser.get().parseXmlDoc(stream);
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private record ParsedEntry(DataSource entry, Future<PublicationDeliveryStructure> document) {}
+}
@@ -1,7 +1,28 @@
 package org.opentripplanner.openstreetmap;
 
+import org.openstreetmap.osmosis.osmbinary.Osmformat;
+
 enum OsmParserPhase {
   Relations,
   Ways,
-  Nodes,
+  Nodes;
+
+  /**
+   * Return {@code true} if the block contains any entity read in this phase. Other blocks can be
+   * skipped without building their string table.
+   */
+  boolean hasEntitiesIn(Osmformat.PrimitiveBlock block) {
+    for (Osmformat.PrimitiveGroup group : block.getPrimitivegroupList()) {
+      boolean found =
+        switch (this) {
+          case Relations -> group.getRelationsCount() > 0;
+          case Ways -> group.getWaysCount() > 0;
+          case Nodes -> group.getNodesCount() > 0 || group.hasDense();
+        };
+      if (found) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
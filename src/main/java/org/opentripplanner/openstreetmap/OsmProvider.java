@@ -5,7 +5,6 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.ZoneId;
-import org.openstreetmap.osmosis.osmbinary.file.BlockInputStream;
 import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.datastore.api.FileType;
 import org.opentripplanner.datastore.file.FileDataSource;
@@ -22,7 +21,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Parser for the OpenStreetMap PBF format. Parses files in three passes: First the relations, then
- * the ways, then the nodes are also loaded.
+ * the ways, then the nodes are also loaded. In each pass the blocks of the file are decoded in
+ * parallel, see {@link ParallelPbfReader}.
  */
 public class OsmProvider {
 
@@ -67,16 +67,16 @@ public class OsmProvider {
   }
 
   public void readOSM(OsmDatabase osmdb) {
-    try {
+    try (var reader = new ParallelPbfReader(Runtime.getRuntime().availableProcessors())) {
       OpenStreetMapParser parser = new OpenStreetMapParser(osmdb, this);
 
-      parsePhase(parser, OsmParserPhase.Relations);
+      parsePhase(reader, parser, OsmParserPhase.Relations);
       osmdb.doneFirstPhaseRelations();
 
-      parsePhase(parser, OsmParserPhase.Ways);
+      parsePhase(reader, parser, OsmParserPhase.Ways);
       osmdb.doneSecondPhaseWays();
 
-      parsePhase(parser, OsmParserPhase.Nodes);
+      parsePhase(reader, parser, OsmParserPhase.Nodes);
       osmdb.doneThirdPhaseNodes();
     } catch (Exception ex) {
       throw new IllegalStateException("error loading OSM from path " + source.path(), ex);
@@ -105,21 +105,14 @@ public class OsmProvider {
     return ProgressTracker.track("Parse OSM " + phase, 1000, size, inputStream, m -> LOG.info(m));
   }
 
-  private void parsePhase(OpenStreetMapParser parser, OsmParserPhase phase) throws IOException {
+  private void parsePhase(
+    ParallelPbfReader reader,
+    OpenStreetMapParser parser,
+    OsmParserPhase phase
+  ) throws IOException {
     parser.setPhase(phase);
-    BlockInputStream in = null;
-    try {
-      in = new BlockInputStream(createInputStream(phase), parser);
-      in.process();
-    } finally {
-      // Close
-      try {
-        if (in != null) {
-          in.close();
-        }
-      } catch (Exception e) {
-        LOG.error(e.getMessage(), e);
-      }
+    try (InputStream in = createInputStream(phase)) {
+      reader.read(in, phase, parser);
     }
   }
 
@@ -0,0 +1,173 @@
+package org.opentripplanner.openstreetmap;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.ByteString;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import org.openstreetmap.osmosis.osmbinary.Fileformat;
+import org.openstreetmap.osmosis.osmbinary.Osmformat;
+
+/**
+ * Read the blocks of an OSM PBF file and decode them in parallel. Most of the time spent reading
+ * a PBF file goes to inflating the compressed blocks and parsing the protocol buffer messages.
+ * The decoded blocks are passed on to the parser on the calling thread in file order, so the
+ * parser and the {@link org.opentripplanner.graph_builder.module.osm.OsmDatabase} see the same
+ * sequence of entities as when the file is read on one thread.
+ * <p>
+ * Blocks without any entity of the phase being parsed are dropped on the decoding thread. To
+ * limit the memory used, at most one block per thread is decoded ahead of the parser.
+ * <p>
+ * THIS CLASS IS NOT THREAD-SAFE.
+ */
+class ParallelPbfReader implements AutoCloseable {
+
+  private static final String OSM_HEADER = "OSMHeader";
+  private static final String OSM_DATA = "OSMData";
+
+  /** The limits set by the PBF format specification. */
+  private static final int MAX_BLOB_HEADER_SIZE = 64 * 1024;
+  private static final int MAX_BLOB_SIZE = 32 * 1024 * 1024;
+
+  private final ExecutorService executor;
+  private final int maxDecodedAhead;
+
+  ParallelPbfReader(int nThreads) {
+    this.maxDecodedAhead = nThreads;
+    this.executor =
+      Executors.newFixedThreadPool(
+        nThreads,
+        new ThreadFactoryBuilder().setNameFormat("osm-pbf-decoder-%d").setDaemon(true).build()
+      );
+  }
+
+  /**
+   * Read all blocks of the input stream, and pass the blocks containing entities of the given
+   * phase to the parser.
+   */
+  void read(InputStream input, OsmParserPhase phase, OpenStreetMapParser parser)
+    throws IOException {
+    var in = new DataInputStream(input);
+    Deque<Future<DecodedBlock>> decodedBlocks = new ArrayDeque<>();
+    try {
+      EncodedBlock block;
+      while ((block = readBlock(in)) != null) {
+        if (!block.isKnownType()) {
+          continue;
+        }
+        final EncodedBlock encoded = block;
+        decodedBlocks.add(executor.submit(() -> decode(encoded, phase)));
+        if (decodedBlocks.size() > maxDecodedAhead) {
+          parse(decodedBlocks.poll(), parser);
+        }
+      }
+      while (!decodedBlocks.isEmpty()) {
+        parse(decodedBlocks.poll(), parser);
+      }
+      parser.complete();
+    } finally {
+      decodedBlocks.forEach(it -> it.cancel(true));
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Read the next block, without decoding it. Return {@code null} at the end of the stream.
+   */
+  private static EncodedBlock readBlock(DataInputStream in) throws IOException {
+    int firstByte = in.read();
+    if (firstByte < 0) {
+      return null;
+    }
+    int headerSize = (firstByte << 24) | (in.readUnsignedByte() << 16) | in.readUnsignedShort();
+    if (headerSize < 0 || headerSize > MAX_BLOB_HEADER_SIZE) {
+      throw new IOException("Invalid PBF blob header size: " + headerSize);
+    }
+    var header = Fileformat.BlobHeader.parseFrom(in.readNBytes(headerSize));
+    if (header.getDatasize() < 0 || header.getDatasize() > MAX_BLOB_SIZE) {
+      throw new IOException("Invalid PBF blob size: " + header.getDatasize());
+    }
+    byte[] blob = in.readNBytes(header.getDatasize());
+    if (blob.length != header.getDatasize()) {
+      throw new IOException("Unexpected end of PBF file in block of type " + header.getType());
+    }
+    return new EncodedBlock(header.getType(), blob);
+  }
+
+  private static DecodedBlock decode(EncodedBlock block, OsmParserPhase phase)
+    throws IOException {
+    ByteString data = inflate(Fileformat.Blob.parseFrom(block.blob()));
+    if (OSM_HEADER.equals(block.type())) {
+      return new DecodedBlock(Osmformat.HeaderBlock.parseFrom(data), null);
+    }
+    var primitiveBlock = Osmformat.PrimitiveBlock.parseFrom(data);
+    return phase.hasEntitiesIn(primitiveBlock) ? new DecodedBlock(null, primitiveBlock) : null;
+  }
+
+  private static ByteString inflate(Fileformat.Blob blob) throws IOException {
+    if (blob.hasRaw()) {
+      return blob.getRaw();
+    }
+    if (!blob.hasZlibData()) {
+      throw new IOException("Unsupported PBF blob compression, only zlib is supported");
+    }
+    byte[] data = new byte[blob.getRawSize()];
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(blob.getZlibData().toByteArray());
+      int size = inflater.inflate(data);
+      if (size != data.length || !inflater.finished()) {
+        throw new IOException("Unexpected size of inflated PBF blob: " + size);
+      }
+    } catch (DataFormatException e) {
+      throw new IOException("Unable to inflate PBF blob: " + e.getMessage(), e);
+    } finally {
+      inflater.end();
+    }
+    return ByteString.copyFrom(data);
+  }
+
+  private static void parse(Future<DecodedBlock> future, OpenStreetMapParser parser)
+    throws IOException {
+    DecodedBlock block;
+    try {
+      block = future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException ioException) {
+        throw ioException;
+      }
+      throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+    if (block == null) {
+      return;
+    }
+    if (block.header() != null) {
+      parser.parse(block.header());
+    } else {
+      parser.parse(block.data());
+    }
+  }
+
+  private record EncodedBlock(String type, byte[] blob) {
+    boolean isKnownType() {
+      return OSM_HEADER.equals(type) || OSM_DATA.equals(type);
+    }
+  }
+
+  private record DecodedBlock(Osmformat.HeaderBlock header, Osmformat.PrimitiveBlock data) {}
+}
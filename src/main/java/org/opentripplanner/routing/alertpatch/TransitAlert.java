@@ -47,6 +47,8 @@ public class TransitAlert extends AbstractTransitEntity<TransitAlert, TransitAle
   private final String siriCodespace;
   private final Set<EntitySelector> entities;
   private final List<TimePeriod> timePeriods;
+  private final Instant effectiveStartDate;
+  private final Instant effectiveEndDate;
 
   TransitAlert(TransitAlertBuilder builder) {
     super(builder.getId());
@@ -67,6 +69,9 @@ public class TransitAlert extends AbstractTransitEntity<TransitAlert, TransitAle
     this.siriCodespace = builder.siriCodespace();
     this.entities = Set.copyOf(builder.entities());
     this.timePeriods = List.copyOf(builder.timePeriods());
+    // The effective dates are read for every alert in API responses, so they are computed once
+    this.effectiveStartDate = effectiveStartDate(timePeriods);
+    this.effectiveEndDate = effectiveEndDate(timePeriods);
   }
 
   public static TransitAlertBuilder of(FeedScopedId id) {
@@ -174,13 +179,7 @@ public class TransitAlert extends AbstractTransitEntity<TransitAlert, TransitAle
    */
   @Nullable
   public Instant getEffectiveStartDate() {
-    return timePeriods
-      .stream()
-      .map(timePeriod -> timePeriod.startTime)
-      .min(Comparator.naturalOrder())
-      .filter(startTime -> startTime > 0) //If 0, null should be returned
-      .map(Instant::ofEpochSecond)
-      .orElse(null);
+    return effectiveStartDate;
   }
 
   /**
@@ -191,6 +190,22 @@ public class TransitAlert extends AbstractTransitEntity<TransitAlert, TransitAle
    */
   @Nullable
   public Instant getEffectiveEndDate() {
+    return effectiveEndDate;
+  }
+
+  @Nullable
+  private static Instant effectiveStartDate(List<TimePeriod> timePeriods) {
+    return timePeriods
+      .stream()
+      .map(timePeriod -> timePeriod.startTime)
+      .min(Comparator.naturalOrder())
+      .filter(startTime -> startTime > 0) //If 0, null should be returned
+      .map(Instant::ofEpochSecond)
+      .orElse(null);
+  }
+
+  @Nullable
+  private static Instant effectiveEndDate(List<TimePeriod> timePeriods) {
     return timePeriods
       .stream()
       .map(timePeriod -> timePeriod.endTime)
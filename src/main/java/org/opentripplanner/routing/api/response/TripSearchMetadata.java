@@ -82,6 +82,14 @@ public class TripSearchMetadata {
     );
   }
 
+  /**
+   * Create a copy of the metadata. The fields are public and can be changed, so a response shared
+   * by several requests must not share the metadata.
+   */
+  public TripSearchMetadata copy() {
+    return new TripSearchMetadata(searchWindowUsed, prevDateTime, nextDateTime);
+  }
+
   @Override
   public String toString() {
     return ToStringBuilder
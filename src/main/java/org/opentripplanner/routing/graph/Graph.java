@@ -136,7 +136,7 @@ public class Graph implements Serializable {
    * creating the data overlay context when routing.
    */
   public DataOverlayParameterBindings dataOverlayParameterBindings;
-  private LuceneIndex luceneIndex;
+  private transient volatile LuceneIndex luceneIndex;
 
   @Inject
   public Graph(
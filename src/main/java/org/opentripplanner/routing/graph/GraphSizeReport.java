@@ -0,0 +1,121 @@
+package org.opentripplanner.routing.graph;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.opentripplanner.framework.text.FileSizeToTextConverter;
+import org.opentripplanner.framework.text.Table;
+import org.opentripplanner.framework.text.TableBuilder;
+import org.opentripplanner.transit.model.framework.Deduplicator.DeduplicationStats;
+import org.opentripplanner.transit.model.network.TripPattern;
+import org.opentripplanner.transit.service.TransitModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Summarize what the saved graph is made of: the number of bytes written for each field of the
+ * {@link SerializedGraphObject}, the number of vertices, edges and trip times of each class, and
+ * the effect of the deduplicator. This makes it possible to see which parts of the model dominate
+ * the graph size, and to measure memory optimizations on small test graphs.
+ * <p>
+ * The serialized size is an indication of the heap used by each part of the model, not the
+ * retained size. Objects referenced from more than one field are counted in the first field
+ * written, and the in-memory representation of an object is usually larger than its serialized
+ * form.
+ */
+class GraphSizeReport {
+
+  private static final Logger LOG = LoggerFactory.getLogger(GraphSizeReport.class);
+  private static final Comparator<Map.Entry<String, Long>> BY_SIZE_DESC = Map.Entry
+    .<String, Long>comparingByValue()
+    .reversed()
+    .thenComparing(Map.Entry.comparingByKey());
+
+  private final Map<String, Long> sizeBySection;
+  private final Graph graph;
+  private final TransitModel transitModel;
+
+  GraphSizeReport(Map<String, Long> sizeBySection, Graph graph, TransitModel transitModel) {
+    this.sizeBySection = sizeBySection;
+    this.graph = graph;
+    this.transitModel = transitModel;
+  }
+
+  void logSummary() {
+    LOG.info("Graph size by section:\n{}", sectionTable());
+    LOG.info("Graph entities by class:\n{}", classTable());
+    LOG.info("Graph deduplication:\n{}", deduplicationTable());
+  }
+
+  Table sectionTable() {
+    long total = sizeBySection.values().stream().mapToLong(Long::longValue).sum();
+    var table = Table
+      .of()
+      .withHeaders("Section", "Size", "Share")
+      .withAlights(Table.Align.Left, Table.Align.Right, Table.Align.Right);
+
+    sizeBySection
+      .entrySet()
+      .stream()
+      .sorted(BY_SIZE_DESC)
+      .forEach(it ->
+        table.addRow(
+          it.getKey(),
+          FileSizeToTextConverter.fileSizeToString(it.getValue()),
+          percent(total == 0 ? 0.0 : (double) it.getValue() / total)
+        )
+      );
+    return table.build();
+  }
+
+  Table classTable() {
+    var table = Table
+      .of()
+      .withHeaders("Kind", "Class", "Count")
+      .withAlights(Table.Align.Left, Table.Align.Left, Table.Align.Right);
+
+    addClassCounts(table, "Vertex", graph.getVertices());
+    addClassCounts(table, "Edge", graph.getEdges());
+
+    var patterns = transitModel.getAllTripPatterns();
+    table.addRow("Transit", "TripPattern", patterns.size());
+    table.addRow(
+      "Transit",
+      "TripTimes",
+      patterns.stream().mapToLong(GraphSizeReport::numberOfScheduledTripTimes).sum()
+    );
+    return table.build();
+  }
+
+  Table deduplicationTable() {
+    var table = Table
+      .of()
+      .withHeaders("Type", "Distinct", "Total", "Hit rate")
+      .withAlights(Table.Align.Left, Table.Align.Right, Table.Align.Right, Table.Align.Right);
+
+    for (DeduplicationStats it : graph.deduplicator.stats()) {
+      table.addRow(it.name(), it.distinct(), it.total(), percent(it.hitRate()));
+    }
+    return table.build();
+  }
+
+  private static void addClassCounts(TableBuilder table, String kind, Collection<?> entities) {
+    entities
+      .stream()
+      .collect(Collectors.groupingBy(it -> it.getClass().getSimpleName(), Collectors.counting()))
+      .entrySet()
+      .stream()
+      .sorted(BY_SIZE_DESC)
+      .forEach(it -> table.addRow(kind, it.getKey(), it.getValue()));
+  }
+
+  private static long numberOfScheduledTripTimes(TripPattern pattern) {
+    return pattern.getScheduledTimetable().getTripTimes().size();
+  }
+
+  private static String percent(double share) {
+    return String.format(Locale.ROOT, "%.1f%%", 100.0 * share);
+  }
+}
@@ -26,6 +26,7 @@ import org.opentripplanner.framework.logging.ProgressTracker;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueSummary;
 import org.opentripplanner.model.projectinfo.GraphFileHeader;
 import org.opentripplanner.model.projectinfo.OtpProjectInfo;
+import org.opentripplanner.routing.graph.kryosupport.FieldSizeCountingSerializer;
 import org.opentripplanner.routing.graph.kryosupport.KryoBuilder;
 import org.opentripplanner.service.worldenvelope.WorldEnvelopeRepository;
 import org.opentripplanner.standalone.config.BuildConfig;
@@ -247,11 +248,15 @@ public class SerializedGraphObject implements Serializable {
     LOG.info("Writing graph {}  ...", graphName);
     outputStream = wrapOutputStreamWithProgressTracker(outputStream, size);
     Kryo kryo = KryoBuilder.create();
+    // Count the bytes written for each field, the serialized form is the same
+    var serializer = new FieldSizeCountingSerializer<>(kryo, SerializedGraphObject.class);
+    kryo.addDefaultSerializer(SerializedGraphObject.class, serializer);
     Output output = new Output(outputStream);
     output.write(OtpProjectInfo.projectInfo().graphFileHeaderInfo.header());
     kryo.writeClassAndObject(output, this);
     output.close();
     LOG.info("Graph written: {}", graphName);
+    new GraphSizeReport(serializer.sizeByField(), graph, transitModel).logSummary();
     // Summarize serialized classes and associated serializers to stdout:
     // ((InstanceCountingClassResolver) kryo.getClassResolver()).summarize();
   }
@@ -0,0 +1,42 @@
+package org.opentripplanner.routing.graph.kryosupport;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.FieldSerializer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link FieldSerializer} which counts the number of bytes written for each field of the
+ * object. The serialized form is the same as for the default field serializer.
+ * <p>
+ * Kryo writes an object only once, the first time it is referenced. So, an object which is
+ * referenced from more than one field is counted in the first field written.
+ * <p>
+ * THIS CLASS IS NOT THREAD-SAFE.
+ */
+public class FieldSizeCountingSerializer<T> extends FieldSerializer<T> {
+
+  private final Map<String, Long> sizeByField = new LinkedHashMap<>();
+
+  public FieldSizeCountingSerializer(Kryo kryo, Class<T> type) {
+    super(kryo, type);
+  }
+
+  @Override
+  public void write(Kryo kryo, Output output, T object) {
+    for (CachedField field : getFields()) {
+      long start = output.total();
+      field.write(output, object);
+      sizeByField.merge(field.getName(), output.total() - start, Long::sum);
+    }
+  }
+
+  /**
+   * The number of bytes written for each field, in the order the fields are written.
+   */
+  public Map<String, Long> sizeByField() {
+    return Collections.unmodifiableMap(new LinkedHashMap<>(sizeByField));
+  }
+}
@@ -1,8 +1,10 @@
 package org.opentripplanner.routing.graphfinder;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
 import org.opentripplanner.astar.spi.SkipEdgeStrategy;
 import org.opentripplanner.astar.spi.TraverseVisitor;
@@ -36,6 +38,15 @@ public class PlaceFinderTraverseVisitor implements TraverseVisitor<State, Edge>
   private final Set<FeedScopedId> seenStops = new HashSet<>();
   private final Set<FeedScopedId> seenVehicleRentalPlaces = new HashSet<>();
   private final Set<FeedScopedId> seenParkingLots = new HashSet<>();
+
+  /**
+   * The distances of the {@code maxResults} closest places found so far, the furthest away on
+   * top. This is used to find the distance where the search can be terminated without scanning
+   * all places found on every edge.
+   */
+  private final PriorityQueue<Double> closestDistances = new PriorityQueue<>(
+    Comparator.reverseOrder()
+  );
   private final boolean includeStops;
   private final boolean includePatternAtStops;
   private final boolean includeVehicleRentals;
@@ -123,23 +134,19 @@ public class PlaceFinderTraverseVisitor implements TraverseVisitor<State, Edge>
    * traverse edges ordered by distance.
    */
   public SkipEdgeStrategy<State, Edge> getSkipEdgeStrategy() {
-    return (current, edge) -> {
-      double furthestDistance = radiusMeters;
-
-      if (
-        PlaceFinderTraverseVisitor.this.placesFound.size() >=
-        PlaceFinderTraverseVisitor.this.maxResults
-      ) {
-        furthestDistance = 0;
-        for (PlaceAtDistance pad : PlaceFinderTraverseVisitor.this.placesFound) {
-          if (pad.distance() > furthestDistance) {
-            furthestDistance = pad.distance();
-          }
-        }
-      }
+    return (current, edge) -> current.getWalkDistance() > furthestDistance();
+  }
 
-      return current.getWalkDistance() > furthestDistance;
-    };
+  /**
+   * The distance beyond which no new place can make it into the result. This is the search radius
+   * until {@code maxResults} places are found, then it is the distance to the furthest of the
+   * {@code maxResults} closest places.
+   */
+  double furthestDistance() {
+    if (maxResults <= 0) {
+      return 0;
+    }
+    return closestDistances.size() < maxResults ? radiusMeters : closestDistances.peek();
   }
 
   private static <T> Set<T> toSet(List<T> list) {
@@ -152,19 +159,32 @@ public class PlaceFinderTraverseVisitor implements TraverseVisitor<State, Edge>
   private void handleParking(VehicleParking parking, double distance) {
     if (!seenParkingLots.contains(parking.getId())) {
       if (includeBikeParking && parking.hasBicyclePlaces()) {
-        placesFound.add(new PlaceAtDistance(parking, distance));
+        addPlace(new PlaceAtDistance(parking, distance));
         seenParkingLots.add(parking.getId());
       }
       // make sure that we don't add the same place twice if it has bike and car parking spaces
       if (
         includeCarParking && parking.hasAnyCarPlaces() && !seenParkingLots.contains(parking.getId())
       ) {
-        placesFound.add(new PlaceAtDistance(parking, distance));
+        addPlace(new PlaceAtDistance(parking, distance));
         seenParkingLots.add(parking.getId());
       }
     }
   }
 
+  private void addPlace(PlaceAtDistance place) {
+    placesFound.add(place);
+    if (maxResults <= 0) {
+      return;
+    }
+    if (closestDistances.size() < maxResults) {
+      closestDistances.add(place.distance());
+    } else if (place.distance() < closestDistances.peek()) {
+      closestDistances.poll();
+      closestDistances.add(place.distance());
+    }
+  }
+
   private boolean shouldInclude(List<PlaceType> filterByPlaceTypes, PlaceType type) {
     return filterByPlaceTypes.contains(type);
   }
@@ -221,10 +241,10 @@ public class PlaceFinderTraverseVisitor implements TraverseVisitor<State, Edge>
 
     if (includeStations && stop.getParentStation() != null) {
       seenStops.add(stop.getParentStation().getId());
-      placesFound.add(new PlaceAtDistance(stop.getParentStation(), distance));
+      addPlace(new PlaceAtDistance(stop.getParentStation(), distance));
     } else if (includeStops) {
       seenStops.add(stop.getId());
-      placesFound.add(new PlaceAtDistance(stop, distance));
+      addPlace(new PlaceAtDistance(stop, distance));
     }
   }
 
@@ -245,7 +265,7 @@ public class PlaceFinderTraverseVisitor implements TraverseVisitor<State, Edge>
         if (!seenPatternAtStops.contains(seenKey)) {
           PatternAtStop row = new PatternAtStop(stop, pattern);
           PlaceAtDistance place = new PlaceAtDistance(row, distance);
-          placesFound.add(place);
+          addPlace(place);
           seenPatternAtStops.add(seenKey);
         }
       }
@@ -265,6 +285,6 @@ public class PlaceFinderTraverseVisitor implements TraverseVisitor<State, Edge>
       return;
     }
     seenVehicleRentalPlaces.add(station.getId());
-    placesFound.add(new PlaceAtDistance(station, distance));
+    addPlace(new PlaceAtDistance(station, distance));
   }
 }
@@ -3,15 +3,22 @@ package org.opentripplanner.routing.graphfinder;
 import static java.lang.Integer.min;
 
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
 import org.opentripplanner.astar.spi.SkipEdgeStrategy;
 import org.opentripplanner.astar.spi.TraverseVisitor;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
 import org.opentripplanner.model.GenericLocation;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.StreetMode;
 import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.linking.VertexLinker;
 import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.TransitStopVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.street.search.StreetSearchBuilder;
 import org.opentripplanner.street.search.TemporaryVerticesContainer;
 import org.opentripplanner.street.search.state.State;
@@ -26,6 +33,17 @@ import org.opentripplanner.transit.service.TransitService;
  */
 public class StreetGraphFinder implements GraphFinder {
 
+  /**
+   * Place types which are all found at a {@link TransitStopVertex}. These vertices are static
+   * after the graph is built, so the spatial index of the street graph can be used to find all
+   * candidates before the search starts.
+   */
+  private static final Set<PlaceType> STOP_PLACE_TYPES = Set.of(
+    PlaceType.STOP,
+    PlaceType.STATION,
+    PlaceType.PATTERN_AT_STOP
+  );
+
   private final Graph graph;
 
   public StreetGraphFinder(Graph graph) {
@@ -70,12 +88,67 @@ public class StreetGraphFinder implements GraphFinder {
       radiusMeters
     );
     SkipEdgeStrategy<State, Edge> terminationStrategy = visitor.getSkipEdgeStrategy();
+
+    if (filterByPlaceTypes != null && STOP_PLACE_TYPES.containsAll(filterByPlaceTypes)) {
+      Set<Vertex> candidates = findStopVerticesWithinRadius(lat, lon, radiusMeters);
+      if (candidates != null) {
+        // If there are no stops close enough to be reached within the radius, there is nothing
+        // to find.
+        if (candidates.isEmpty()) {
+          return List.of();
+        }
+        var candidateVisitor = new CandidateTrackingVisitor(visitor, candidates);
+        findClosestUsingStreets(
+          lat,
+          lon,
+          candidateVisitor,
+          (current, edge) ->
+            candidateVisitor.allCandidatesVisited() ||
+            terminationStrategy.shouldSkipEdge(current, edge)
+        );
+        return sortAndLimit(visitor.placesFound, maxResults);
+      }
+    }
     findClosestUsingStreets(lat, lon, visitor, terminationStrategy);
-    List<PlaceAtDistance> results = visitor.placesFound;
+    return sortAndLimit(visitor.placesFound, maxResults);
+  }
+
+  private static List<PlaceAtDistance> sortAndLimit(List<PlaceAtDistance> results, int maxResults) {
     results.sort(Comparator.comparingDouble(PlaceAtDistance::distance));
     return results.subList(0, min(results.size(), maxResults));
   }
 
+  /**
+   * Find all transit stop vertices which may be reached within the given walk distance, using the
+   * spatial index of the street graph. The walk distance is never shorter than the straight-line
+   * distance to the street a stop is linked to, but the stop itself may be up to
+   * {@link VertexLinker#MAX_SEARCH_RADIUS_METERS} away from that street. Returns {@code null} if
+   * the graph is not indexed.
+   */
+  private Set<Vertex> findStopVerticesWithinRadius(double lat, double lon, double radiusMeters) {
+    var streetIndex = graph.getStreetIndex();
+    if (streetIndex == null) {
+      return null;
+    }
+    double maxDistance = radiusMeters + VertexLinker.MAX_SEARCH_RADIUS_METERS;
+    Coordinate origin = new Coordinate(lon, lat);
+    Envelope envelope = new Envelope(origin);
+    envelope.expandBy(
+      SphericalDistanceLibrary.metersToLonDegrees(maxDistance, lat),
+      SphericalDistanceLibrary.metersToDegrees(maxDistance)
+    );
+    Set<Vertex> result = new HashSet<>();
+    for (Vertex v : streetIndex.getVerticesForEnvelope(envelope)) {
+      if (
+        v instanceof TransitStopVertex &&
+        SphericalDistanceLibrary.distance(origin, v.getCoordinate()) <= maxDistance
+      ) {
+        result.add(v);
+      }
+    }
+    return result;
+  }
+
   private void findClosestUsingStreets(
     double lat,
     double lon,
@@ -108,4 +181,43 @@ public class StreetGraphFinder implements GraphFinder {
         .getShortestPathTree();
     }
   }
+
+  /**
+   * Delegates to the given visitor and keeps track of which of the candidate vertices are not
+   * visited yet. When all candidates are visited no more places can be found, and the search can
+   * be terminated.
+   */
+  private static class CandidateTrackingVisitor implements TraverseVisitor<State, Edge> {
+
+    private final TraverseVisitor<State, Edge> delegate;
+    private final Set<Vertex> remainingCandidates;
+
+    private CandidateTrackingVisitor(
+      TraverseVisitor<State, Edge> delegate,
+      Set<Vertex> remainingCandidates
+    ) {
+      this.delegate = delegate;
+      this.remainingCandidates = remainingCandidates;
+    }
+
+    @Override
+    public void visitEdge(Edge edge) {
+      delegate.visitEdge(edge);
+    }
+
+    @Override
+    public void visitVertex(State state) {
+      delegate.visitVertex(state);
+      remainingCandidates.remove(state.getVertex());
+    }
+
+    @Override
+    public void visitEnqueue() {
+      delegate.visitEnqueue();
+    }
+
+    boolean allCandidatesVisited() {
+      return remainingCandidates.isEmpty();
+    }
+  }
 }
@@ -1,10 +1,11 @@
 package org.opentripplanner.routing.impl;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
+import com.google.common.collect.ImmutableSetMultimap;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import org.opentripplanner.routing.alertpatch.EntityKey;
 import org.opentripplanner.routing.alertpatch.EntitySelector;
@@ -29,12 +30,18 @@ import org.opentripplanner.transit.service.TransitModel;
  * When an alert is added with more than one transit entity, e.g. a Stop and a Trip, both conditions
  * must be met for the alert to be displayed. This is the case in both the Norwegian interpretation
  * of SIRI, and the GTFS-RT alerts specification.
+ * <p>
+ * The alerts are indexed in an immutable {@link AlertIndex}, which is replaced as a whole on each
+ * update. All lookups in one method call read from the same index, and the returned collections
+ * are not modified by later updates.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
  */
 public class TransitAlertServiceImpl implements TransitAlertService {
 
   private final TransitModel transitModel;
 
-  private Multimap<EntityKey, TransitAlert> alerts = HashMultimap.create();
+  private volatile AlertIndex index = AlertIndex.of(Set.of());
 
   public TransitAlertServiceImpl(TransitModel transitModel) {
     this.transitModel = transitModel;
@@ -42,33 +49,21 @@ public class TransitAlertServiceImpl implements TransitAlertService {
 
   @Override
   public void setAlerts(Collection<TransitAlert> alerts) {
-    // FIXME RT_AB: this is patched live by updaters while in use (being read) by other threads
-    //   performing trip planning. The single-action assignment helps a bit, but the map can be
-    //   swapped out while the delegating service is in the middle of multiple calls that read from
-    //   it. The consistent approach would be to duplicate the entire service, update it
-    //   copy-on-write, and swap in the entire service after the update.
-    Multimap<EntityKey, TransitAlert> newAlerts = HashMultimap.create();
-    for (TransitAlert alert : alerts) {
-      for (EntitySelector entity : alert.entities()) {
-        newAlerts.put(entity.key(), alert);
-      }
-    }
-    this.alerts = newAlerts;
+    // FIXME RT_AB: the index is swapped out as a whole, but the delegating service may still be in
+    //   the middle of multiple calls that read from it. The consistent approach would be to
+    //   duplicate the entire service, update it copy-on-write, and swap in the entire service
+    //   after the update.
+    this.index = AlertIndex.of(alerts);
   }
 
   @Override
   public Collection<TransitAlert> getAllAlerts() {
-    return new HashSet<>(alerts.values());
+    return index.allAlerts();
   }
 
   @Override
   public TransitAlert getAlertById(FeedScopedId id) {
-    return alerts
-      .values()
-      .stream()
-      .filter(transitAlert -> transitAlert.getId().equals(id))
-      .findAny()
-      .orElse(null);
+    return index.alertsById().get(id);
   }
 
   @Override
@@ -78,7 +73,7 @@ public class TransitAlertServiceImpl implements TransitAlertService {
   ) {
     Set<TransitAlert> result = new HashSet<>();
     EntitySelector.Stop entitySelector = new EntitySelector.Stop(stopId, stopConditions);
-    for (TransitAlert alert : alerts.get(entitySelector.key())) {
+    for (TransitAlert alert : index.alertsByEntity().get(entitySelector.key())) {
       if (alert.entities().stream().anyMatch(selector -> selector.matches(entitySelector))) {
         result.add(alert);
       }
@@ -107,14 +102,14 @@ public class TransitAlertServiceImpl implements TransitAlertService {
 
   @Override
   public Collection<TransitAlert> getRouteAlerts(FeedScopedId route) {
-    return alerts.get(new EntityKey.Route(route));
+    return index.alertsByEntity().get(new EntityKey.Route(route));
   }
 
   @Override
   public Collection<TransitAlert> getTripAlerts(FeedScopedId trip, LocalDate serviceDate) {
     Set<TransitAlert> result = new HashSet<>();
     EntitySelector.Trip entitySelector = new EntitySelector.Trip(trip, serviceDate);
-    for (TransitAlert alert : alerts.get(entitySelector.key())) {
+    for (TransitAlert alert : index.alertsByEntity().get(entitySelector.key())) {
       if (alert.entities().stream().anyMatch(selector -> selector.matches(entitySelector))) {
         result.add(alert);
       }
@@ -124,7 +119,7 @@ public class TransitAlertServiceImpl implements TransitAlertService {
 
   @Override
   public Collection<TransitAlert> getAgencyAlerts(FeedScopedId agency) {
-    return alerts.get(new EntityKey.Agency(agency));
+    return index.alertsByEntity().get(new EntityKey.Agency(agency));
   }
 
   @Override
@@ -139,7 +134,7 @@ public class TransitAlertServiceImpl implements TransitAlertService {
       route,
       stopConditions
     );
-    for (TransitAlert alert : alerts.get(entitySelector.key())) {
+    for (TransitAlert alert : index.alertsByEntity().get(entitySelector.key())) {
       if (alert.entities().stream().anyMatch(selector -> selector.matches(entitySelector))) {
         result.add(alert);
       }
@@ -161,7 +156,7 @@ public class TransitAlertServiceImpl implements TransitAlertService {
       serviceDate,
       stopConditions
     );
-    for (TransitAlert alert : alerts.get(entitySelector.key())) {
+    for (TransitAlert alert : index.alertsByEntity().get(entitySelector.key())) {
       if (alert.entities().stream().anyMatch(selector -> selector.matches(entitySelector))) {
         result.add(alert);
       }
@@ -171,12 +166,12 @@ public class TransitAlertServiceImpl implements TransitAlertService {
 
   @Override
   public Collection<TransitAlert> getRouteTypeAndAgencyAlerts(int routeType, FeedScopedId agency) {
-    return alerts.get(new EntityKey.RouteTypeAndAgency(agency, routeType));
+    return index.alertsByEntity().get(new EntityKey.RouteTypeAndAgency(agency, routeType));
   }
 
   @Override
   public Collection<TransitAlert> getRouteTypeAlerts(int routeType, String feedId) {
-    return alerts.get(new EntityKey.RouteType(feedId, routeType));
+    return index.alertsByEntity().get(new EntityKey.RouteType(feedId, routeType));
   }
 
   @Override
@@ -184,6 +179,33 @@ public class TransitAlertServiceImpl implements TransitAlertService {
     Direction direction,
     FeedScopedId route
   ) {
-    return alerts.get(new EntityKey.DirectionAndRoute(route, direction));
+    return index.alertsByEntity().get(new EntityKey.DirectionAndRoute(route, direction));
+  }
+
+  /**
+   * The alerts indexed by the keys of the entities they apply to, and by id. Alerts without any
+   * entities are not included.
+   */
+  private record AlertIndex(
+    ImmutableSetMultimap<EntityKey, TransitAlert> alertsByEntity,
+    Map<FeedScopedId, TransitAlert> alertsById,
+    Set<TransitAlert> allAlerts
+  ) {
+    static AlertIndex of(Collection<TransitAlert> alerts) {
+      var alertsByEntity = ImmutableSetMultimap.<EntityKey, TransitAlert>builder();
+      for (TransitAlert alert : alerts) {
+        for (EntitySelector entity : alert.entities()) {
+          alertsByEntity.put(entity.key(), alert);
+        }
+      }
+      var index = alertsByEntity.build();
+      var allAlerts = Set.copyOf(index.values());
+
+      var alertsById = new HashMap<FeedScopedId, TransitAlert>();
+      for (TransitAlert alert : allAlerts) {
+        alertsById.putIfAbsent(alert.getId(), alert);
+      }
+      return new AlertIndex(index, Map.copyOf(alertsById), allAlerts);
+    }
   }
 }
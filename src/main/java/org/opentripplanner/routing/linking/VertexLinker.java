@@ -7,6 +7,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
@@ -30,6 +31,7 @@ import org.opentripplanner.street.model.vertex.IntersectionVertex;
 import org.opentripplanner.street.model.vertex.SplitterVertex;
 import org.opentripplanner.street.model.vertex.StreetVertex;
 import org.opentripplanner.street.model.vertex.TemporarySplitterVertex;
+import org.opentripplanner.street.model.vertex.TemporaryVertex;
 import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.street.model.vertex.VertexFactory;
 import org.opentripplanner.street.search.TraverseMode;
@@ -60,7 +62,19 @@ public class VertexLinker {
    */
   private static final double DUPLICATE_WAY_EPSILON_METERS = 0.001;
   private static final int INITIAL_SEARCH_RADIUS_METERS = 100;
-  private static final int MAX_SEARCH_RADIUS_METERS = 1000;
+  /**
+   * The maximum distance between a linked vertex and the street it is linked to. The link edges do
+   * not add to the walk distance, so a vertex can be this much further away from the origin than
+   * the walk distance of a search reaching it.
+   */
+  public static final int MAX_SEARCH_RADIUS_METERS = 1000;
+  /**
+   * The maximum distance between a vertex linked with
+   * {@link #linkVertexToExistingVerticesForRealTime} and the existing street vertex it is linked
+   * to. A vertex further away from the ends of the closest street edge is linked by splitting the
+   * edge instead.
+   */
+  public static final int MAX_SNAP_DISTANCE_METERS = 50;
   // exit a complex area maximally via this many exit points
   private static final int MAX_AREA_LINKS = 300;
   private static final GeometryFactory GEOMETRY_FACTORY = GeometryUtils.getGeometryFactory();
@@ -97,6 +111,48 @@ public class VertexLinker {
     link(vertex, traverseModes, direction, Scope.PERMANENT, edgeFunction);
   }
 
+  /**
+   * Link the vertices permanently in the given order. The result is the same as calling
+   * {@link #linkVertexPermanently} for each of the vertices.
+   * <p>
+   * Finding the closest street edges is the expensive part of linking, so the edges close to each
+   * vertex are found in parallel before any edge is split. The vertices are then linked one at a
+   * time. If an edge close to a vertex has been split while linking an earlier vertex, the closest
+   * edges are searched for again. Splitting an edge further away does not change the result,
+   * because the new edges are not closer to the vertex than the edge they replace.
+   */
+  public void linkVerticesPermanently(
+    List<? extends Vertex> vertices,
+    TraverseModeSet traverseModes,
+    LinkingDirection direction,
+    BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction
+  ) {
+    List<EdgesInRadius> edgesInRadius = vertices
+      .parallelStream()
+      .map(vertex -> findEdgesInRadius(vertex, traverseModes, Scope.PERMANENT))
+      .toList();
+
+    for (int i = 0; i < vertices.size(); i++) {
+      var vertex = vertices.get(i);
+      var edges = edgesInRadius.get(i);
+
+      if (!edges.isUnchanged()) {
+        linkVertexPermanently(vertex, traverseModes, direction, edgeFunction);
+        continue;
+      }
+      var streetVertices = linkToClosestEdges(
+        vertex,
+        edges.closestEdges(),
+        direction,
+        Scope.PERMANENT,
+        null
+      );
+      for (StreetVertex streetVertex : streetVertices) {
+        edgeFunction.apply(vertex, streetVertex);
+      }
+    }
+  }
+
   public DisposableEdgeCollection linkVertexForRealTime(
     Vertex vertex,
     TraverseModeSet traverseModes,
@@ -106,6 +162,58 @@ public class VertexLinker {
     return link(vertex, traverseModes, direction, Scope.REALTIME, edgeFunction);
   }
 
+  /**
+   * Link the vertex to the closest existing street vertices for real-time use, without splitting
+   * any street edges. This is much cheaper than {@link #linkVertexForRealTime}, since no
+   * temporary street edges are created and the edge spatial index is left untouched, but the
+   * vertex is linked to the closest end of the nearest street edge instead of the closest point
+   * on it. Use this for short-lived vertices with an imprecise location, like free-floating
+   * rental vehicles.
+   * <p>
+   * Only permanent street vertices within {@link #MAX_SNAP_DISTANCE_METERS} of the vertex are
+   * used. If an end like that does not exist for one of the closest edges, the vertex is linked
+   * with {@link #linkVertexForRealTime} instead. The {@code edgeFunction} should create edges
+   * which have the walk cost of the distance between the vertex and the street vertex.
+   */
+  public DisposableEdgeCollection linkVertexToExistingVerticesForRealTime(
+    Vertex vertex,
+    TraverseModeSet traverseModes,
+    LinkingDirection direction,
+    BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction
+  ) {
+    var closestEdges = findClosestEdges(
+      vertex,
+      traverseModes,
+      Scope.REALTIME,
+      INITIAL_SEARCH_RADIUS_METERS
+    );
+    if (closestEdges.isEmpty()) {
+      closestEdges =
+        findClosestEdges(vertex, traverseModes, Scope.REALTIME, MAX_SEARCH_RADIUS_METERS);
+    }
+    Set<StreetVertex> streetVertices = new HashSet<>();
+    for (DistanceTo<StreetEdge> closestEdge : closestEdges) {
+      var streetVertex = closestEndpoint(vertex, closestEdge.item);
+      if (streetVertex == null) {
+        return linkVertexForRealTime(vertex, traverseModes, direction, edgeFunction);
+      }
+      streetVertices.add(streetVertex);
+    }
+
+    var tempEdges = new DisposableEdgeCollection(graph, Scope.REALTIME);
+    try {
+      for (StreetVertex streetVertex : streetVertices) {
+        for (Edge edge : edgeFunction.apply(vertex, streetVertex)) {
+          tempEdges.addEdge(edge);
+        }
+      }
+    } catch (Exception e) {
+      tempEdges.disposeEdges();
+      throw e;
+    }
+    return tempEdges;
+  }
+
   public DisposableEdgeCollection linkVertexForRequest(
     Vertex vertex,
     TraverseModeSet traverseModes,
@@ -229,6 +337,64 @@ public class VertexLinker {
     Scope scope,
     int radiusMeters,
     DisposableEdgeCollection tempEdges
+  ) {
+    Set<DistanceTo<StreetEdge>> closestEdges = findClosestEdges(
+      vertex,
+      traverseModes,
+      scope,
+      radiusMeters
+    );
+    return linkToClosestEdges(vertex, closestEdges, direction, scope, tempEdges);
+  }
+
+  private Set<StreetVertex> linkToClosestEdges(
+    Vertex vertex,
+    Set<DistanceTo<StreetEdge>> closestEdges,
+    LinkingDirection direction,
+    Scope scope,
+    DisposableEdgeCollection tempEdges
+  ) {
+    if (closestEdges.isEmpty()) {
+      return Set.of();
+    }
+
+    final double xscale = Math.cos(vertex.getLat() * Math.PI / 180);
+    Set<AreaEdgeList> linkedAreas = new HashSet<>();
+    return closestEdges
+      .stream()
+      .map(ce -> link(vertex, ce.item, xscale, scope, direction, tempEdges, linkedAreas))
+      .filter(v -> v != null)
+      .collect(Collectors.toSet());
+  }
+
+  /**
+   * Find the street edges within the given radius which are closest to the vertex for each of
+   * the given modes.
+   */
+  private Set<DistanceTo<StreetEdge>> findClosestEdges(
+    Vertex vertex,
+    TraverseModeSet traverseModes,
+    Scope scope,
+    int radiusMeters
+  ) {
+    var candidateEdges = findCandidateEdges(vertex, traverseModes, scope, radiusMeters);
+
+    if (candidateEdges.isEmpty()) {
+      return Set.of();
+    }
+
+    return getClosestEdgesPerMode(traverseModes, candidateEdges);
+  }
+
+  /**
+   * Find the street edges within the given radius of the vertex which are traversable by at least
+   * one of the given modes.
+   */
+  private List<DistanceTo<StreetEdge>> findCandidateEdges(
+    Vertex vertex,
+    TraverseModeSet traverseModes,
+    Scope scope,
+    int radiusMeters
   ) {
     final double radiusDeg = SphericalDistanceLibrary.metersToDegrees(radiusMeters);
 
@@ -244,7 +410,7 @@ public class VertexLinker {
     // street edges traversable by at least one of the given modes and are still present in the
     // graph. Calculate a distance to each of those edges, and keep only the ones within the search
     // radius.
-    List<DistanceTo<StreetEdge>> candidateEdges = edgeSpatialIndex
+    return edgeSpatialIndex
       .query(env, scope)
       .filter(StreetEdge.class::isInstance)
       .map(StreetEdge.class::cast)
@@ -252,21 +418,57 @@ public class VertexLinker {
       .map(e -> new DistanceTo<>(e, distance(vertex, e, xscale)))
       .filter(ead -> ead.distanceDegreesLat < radiusDeg)
       .toList();
+  }
 
+  /**
+   * Find the street edges close to the vertex, using the same expanding search radius as
+   * {@link #link}. This does not modify the graph, and may be called from several threads at the
+   * same time, as long as no edges are split.
+   */
+  private EdgesInRadius findEdgesInRadius(
+    Vertex vertex,
+    TraverseModeSet traverseModes,
+    Scope scope
+  ) {
+    var candidateEdges = findCandidateEdges(
+      vertex,
+      traverseModes,
+      scope,
+      INITIAL_SEARCH_RADIUS_METERS
+    );
     if (candidateEdges.isEmpty()) {
-      return Set.of();
+      candidateEdges = findCandidateEdges(vertex, traverseModes, scope, MAX_SEARCH_RADIUS_METERS);
     }
+    var closestEdges = candidateEdges.isEmpty()
+      ? Set.<DistanceTo<StreetEdge>>of()
+      : getClosestEdgesPerMode(traverseModes, candidateEdges);
+    return new EdgesInRadius(candidateEdges, closestEdges);
+  }
 
-    Set<DistanceTo<StreetEdge>> closestEdges = getClosestEdgesPerMode(
-      traverseModes,
-      candidateEdges
-    );
-    Set<AreaEdgeList> linkedAreas = new HashSet<>();
-    return closestEdges
-      .stream()
-      .map(ce -> link(vertex, ce.item, xscale, scope, direction, tempEdges, linkedAreas))
-      .filter(v -> v != null)
-      .collect(Collectors.toSet());
+  /**
+   * Return the end of the edge which is closest to the vertex, ties go to the from vertex. Only
+   * permanent vertices within {@link #MAX_SNAP_DISTANCE_METERS} are returned, since temporary
+   * vertices may be disposed while the link is still in use. Return {@code null} if neither end
+   * can be used.
+   */
+  @Nullable
+  private static StreetVertex closestEndpoint(Vertex vertex, StreetEdge edge) {
+    StreetVertex closest = null;
+    double closestDistance = Double.MAX_VALUE;
+    for (Vertex end : List.of(edge.getFromVertex(), edge.getToVertex())) {
+      if (end instanceof TemporaryVertex || !(end instanceof StreetVertex streetVertex)) {
+        continue;
+      }
+      double distance = SphericalDistanceLibrary.distance(
+        vertex.getCoordinate(),
+        end.getCoordinate()
+      );
+      if (distance < closestDistance) {
+        closest = streetVertex;
+        closestDistance = distance;
+      }
+    }
+    return closestDistance <= MAX_SNAP_DISTANCE_METERS ? closest : null;
   }
 
   /**
@@ -485,6 +687,27 @@ public class VertexLinker {
     return v;
   }
 
+  /**
+   * The street edges within the search radius of a vertex, and the closest of them.
+   */
+  private record EdgesInRadius(
+    List<DistanceTo<StreetEdge>> candidateEdges,
+    Set<DistanceTo<StreetEdge>> closestEdges
+  ) {
+    /**
+     * Return true if none of the edges in the search radius are split or removed from the graph.
+     * An edge which is split is removed from the graph.
+     */
+    boolean isUnchanged() {
+      for (DistanceTo<StreetEdge> it : candidateEdges) {
+        if (!it.item.getToVertex().getIncoming().contains(it.item)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
   private static class DistanceTo<T> {
 
     T item;
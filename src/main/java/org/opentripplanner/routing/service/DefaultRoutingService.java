@@ -39,10 +39,16 @@ public class DefaultRoutingService implements RoutingService {
     LOG.debug("Request: {}", request);
     OTPRequestTimeoutException.checkForTimeout();
     request.validateOriginAndDestination();
-    var worker = new RoutingWorker(serverContext, request, timeZone);
-    var response = worker.route();
-    logResponse(response);
-    return response;
+    var cache = serverContext.routingResponseCache();
+    if (cache == null) {
+      return routeRequest(request);
+    }
+    var transitService = serverContext.transitService();
+    return cache.route(
+      request,
+      transitService::getRealtimeTransitLayer,
+      () -> routeRequest(request)
+    );
   }
 
   @Override
@@ -58,6 +64,13 @@ public class DefaultRoutingService implements RoutingService {
     return viaRoutingWorker.route();
   }
 
+  private RoutingResponse routeRequest(RouteRequest request) {
+    var worker = new RoutingWorker(serverContext, request, timeZone);
+    var response = worker.route();
+    logResponse(response);
+    return response;
+  }
+
   private void logResponse(RoutingResponse response) {
     if (response.getTripPlan().itineraries.isEmpty() && response.getRoutingErrors().isEmpty()) {
       // We should provide an error if there is no results, this is important for the client so
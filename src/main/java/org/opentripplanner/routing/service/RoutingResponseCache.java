@@ -0,0 +1,161 @@
+package org.opentripplanner.routing.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.opentripplanner.framework.tostring.ToStringBuilder;
+import org.opentripplanner.model.plan.Itinerary;
+import org.opentripplanner.model.plan.TripPlan;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.response.RoutingResponse;
+import org.opentripplanner.routing.framework.DebugTimingAggregator;
+
+/**
+ * A short-lived cache of routing responses. It is used to absorb repeated identical requests,
+ * like departure-planner widgets refreshing or clients retrying. Concurrent identical requests
+ * are coalesced: only the first is routed, the others wait for its result.
+ * <p>
+ * Only requests which can be compared safely are cached, see {@link RoutingResponseCacheKey}.
+ * The key includes the transit layer, so a response is never served after a new set of
+ * real-time transit updates is published. When a newer transit layer is seen all entries are
+ * dropped to release the old layer. Vehicle rental and parking updates are not part of the transit
+ * layer, so requests using them are not cached.
+ * <p>
+ * The itineraries and the metadata of a response can be changed by the caller, so the cache keeps
+ * a copy of the routed response and returns a new copy for each cache hit. The request which
+ * routed the response gets the original. A copy gets a new {@link DebugTimingAggregator}, since
+ * the timing of the routing belongs to the request which routed it.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE
+ */
+public class RoutingResponseCache {
+
+  private final Cache<RoutingResponseCacheKey, RoutingResponse> cache;
+  private final AtomicReference<TransitLayer> latestTransitLayer = new AtomicReference<>();
+  private final int maximumSize;
+  private final Duration timeToLive;
+
+  public RoutingResponseCache(int maximumSize, Duration timeToLive) {
+    this.maximumSize = maximumSize;
+    this.timeToLive = timeToLive;
+    this.cache =
+      CacheBuilder
+        .newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(timeToLive)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Return the cached response for the given request, or route it using the given router if the
+   * request is not cached or can not be cached.
+   *
+   * @param currentTransitLayer supplies the currently published real-time transit layer
+   */
+  public RoutingResponse route(
+    RouteRequest request,
+    Supplier<TransitLayer> currentTransitLayer,
+    Supplier<RoutingResponse> router
+  ) {
+    var transitLayer = currentTransitLayer.get();
+    if (transitLayer == null) {
+      return router.get();
+    }
+    var key = RoutingResponseCacheKey.of(request, transitLayer);
+    if (key == null) {
+      return router.get();
+    }
+    updateLatestTransitLayer(transitLayer, currentTransitLayer);
+    // Set if this request routes the response, the cache keeps a copy made before it is returned
+    var routed = new RoutingResponse[1];
+    try {
+      var cached = cache.get(
+        key,
+        () -> {
+          routed[0] = router.get();
+          return copyOf(routed[0]);
+        }
+      );
+      return routed[0] != null ? routed[0] : copyOf(cached);
+    } catch (UncheckedExecutionException | ExecutionError e) {
+      // Rethrow the original exception, the error handling in the APIs depend on the type
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw e;
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private static RoutingResponse copyOf(RoutingResponse response) {
+    var tripPlan = response.getTripPlan();
+    var metadata = response.getMetadata();
+    return new RoutingResponse(
+      tripPlan == null
+        ? null
+        : new TripPlan(
+          tripPlan.from,
+          tripPlan.to,
+          tripPlan.date,
+          tripPlan.itineraries.stream().map(Itinerary::copy).toList()
+        ),
+      response.getPreviousPageCursor(),
+      response.getNextPageCursor(),
+      metadata == null ? null : metadata.copy(),
+      response.getRoutingErrors() == null ? null : List.copyOf(response.getRoutingErrors()),
+      new DebugTimingAggregator()
+    );
+  }
+
+  /**
+   * Drop all entries if the given transit layer is newer than the latest one seen. A request may
+   * hold on to a transit layer which has been replaced while it was processed, so a layer which is
+   * not the current one is older than the latest layer and must not replace it. The
+   * compare-and-set makes sure the latest layer only moves forward when requests race.
+   */
+  private void updateLatestTransitLayer(
+    TransitLayer transitLayer,
+    Supplier<TransitLayer> currentTransitLayer
+  ) {
+    while (true) {
+      var latest = latestTransitLayer.get();
+      if (latest == transitLayer || transitLayer != currentTransitLayer.get()) {
+        return;
+      }
+      if (latestTransitLayer.compareAndSet(latest, transitLayer)) {
+        if (latest != null) {
+          cache.invalidateAll();
+        }
+        return;
+      }
+    }
+  }
+
+  /**
+   * The underlying cache, exposed for metrics.
+   */
+  public Cache<?, ?> getCache() {
+    return cache;
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder
+      .of(RoutingResponseCache.class)
+      .addNum("maximumSize", maximumSize)
+      .addDuration("timeToLive", timeToLive)
+      .toString();
+  }
+}
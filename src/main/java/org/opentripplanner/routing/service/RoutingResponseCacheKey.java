@@ -0,0 +1,136 @@
+package org.opentripplanner.routing.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.model.modes.ExcludeAllTransitFilter;
+import org.opentripplanner.model.plan.paging.cursor.PageCursor;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
+import org.opentripplanner.routing.api.request.RequestModes;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
+import org.opentripplanner.routing.api.request.request.TransitRequest;
+import org.opentripplanner.routing.api.request.request.filter.AllowAllTransitFilter;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+
+/**
+ * A canonical value copy of the parts of a {@link RouteRequest} which affect the routing result,
+ * combined with the transit layer the request is routed on. Two requests with the same key
+ * produce the same response.
+ * <p>
+ * The {@link RouteRequest} is mutable and does not implement equals/hashCode, so the key is
+ * created from the request fields. The key only holds immutable values, like the street modes
+ * instead of the {@link RequestModes} of the request. Requests using features which can not be
+ * compared safely, like transit filters, banned trips, pass-through points or Raptor debugging,
+ * are not cached.
+ * <p>
+ * Requests using vehicle rental or parking are not cached either. The rental and parking
+ * availability is updated independently of the transit layer, so it is not part of the key.
+ * <p>
+ * The transit layer is compared by identity; A new real-time transit layer is created each time
+ * the real-time updates are committed, so entries for older layers are never hit again.
+ */
+record RoutingResponseCacheKey(
+  TransitLayer transitLayer,
+  Location from,
+  Location to,
+  Instant dateTime,
+  boolean arriveBy,
+  boolean timetableView,
+  int numItineraries,
+  @Nullable Duration searchWindow,
+  @Nullable Duration maxSearchWindow,
+  @Nullable PageCursor pageCursor,
+  Locale locale,
+  boolean wheelchair,
+  @Nullable Instant bookingTime,
+  RoutingPreferences preferences,
+  StreetMode accessMode,
+  StreetMode egressMode,
+  StreetMode directMode,
+  StreetMode transferMode,
+  boolean transitEnabled
+) {
+  /**
+   * Create a key for the given request, return {@code null} if the request should not be cached.
+   */
+  @Nullable
+  static RoutingResponseCacheKey of(RouteRequest request, TransitLayer transitLayer) {
+    if (!isCacheable(request)) {
+      return null;
+    }
+    var modes = request.journey().modes();
+    return new RoutingResponseCacheKey(
+      transitLayer,
+      Location.of(request.from()),
+      Location.of(request.to()),
+      request.dateTime(),
+      request.arriveBy(),
+      request.timetableView(),
+      request.numItineraries(),
+      request.searchWindow(),
+      request.maxSearchWindow(),
+      request.pageCursor(),
+      request.locale(),
+      request.wheelchair(),
+      request.bookingTime(),
+      request.preferences(),
+      modes.accessMode,
+      modes.egressMode,
+      modes.directMode,
+      modes.transferMode,
+      request.journey().transit().enabled()
+    );
+  }
+
+  private static boolean isCacheable(RouteRequest request) {
+    if (!request.getPassThroughPoints().isEmpty()) {
+      return false;
+    }
+    if (usesRentalOrParking(request.journey().modes())) {
+      return false;
+    }
+    TransitRequest transit = request.journey().transit();
+    return (
+      transit
+        .filters()
+        .stream()
+        .allMatch(f ->
+          f instanceof AllowAllTransitFilter || f instanceof ExcludeAllTransitFilter
+        ) &&
+      transit.bannedTrips().isEmpty() &&
+      transit.preferredAgencies().isEmpty() &&
+      transit.unpreferredAgencies().isEmpty() &&
+      transit.preferredRoutes().isEmpty() &&
+      transit.unpreferredRoutes().isEmpty() &&
+      transit.priorityGroupsByAgency().isEmpty() &&
+      transit.priorityGroupsGlobal().isEmpty() &&
+      !transit.raptorDebugging().isEnabled()
+    );
+  }
+
+  private static boolean usesRentalOrParking(RequestModes modes) {
+    return Stream
+      .of(modes.accessMode, modes.egressMode, modes.directMode, modes.transferMode)
+      .anyMatch(mode -> mode.includesRenting() || mode.includesParking());
+  }
+
+  /**
+   * A value copy of {@link GenericLocation}, which does not implement equals/hashCode. The label
+   * is included, because it is returned in the response.
+   */
+  record Location(
+    @Nullable String label,
+    @Nullable FeedScopedId stopId,
+    @Nullable Double lat,
+    @Nullable Double lng
+  ) {
+    static Location of(GenericLocation location) {
+      return new Location(location.label, location.stopId, location.lat, location.lng);
+    }
+  }
+}
@@ -2,7 +2,10 @@ package org.opentripplanner.service.realtimevehicles;
 
 import java.util.List;
 import javax.annotation.Nonnull;
+import org.locationtech.jts.geom.Envelope;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
 import org.opentripplanner.service.realtimevehicles.model.RealtimeVehicle;
+import org.opentripplanner.transit.model.network.Route;
 import org.opentripplanner.transit.model.network.TripPattern;
 import org.opentripplanner.transit.model.timetable.OccupancyStatus;
 import org.opentripplanner.transit.model.timetable.Trip;
@@ -14,6 +17,26 @@ public interface RealtimeVehicleService {
    */
   List<RealtimeVehicle> getRealtimeVehicles(@Nonnull TripPattern pattern);
 
+  /**
+   * Get the realtime vehicles on all trip patterns of a route.
+   */
+  List<RealtimeVehicle> getRealtimeVehicles(@Nonnull Route route);
+
+  /**
+   * Get the realtime vehicles with coordinates inside the given envelope, with longitude as x and
+   * latitude as y.
+   */
+  List<RealtimeVehicle> getRealtimeVehicles(@Nonnull Envelope envelope);
+
+  /**
+   * Find the realtime vehicles within the given straight-line distance of a coordinate, sorted by
+   * distance, closest first.
+   */
+  List<RealtimeVehicle> findClosestRealtimeVehicles(
+    @Nonnull WgsCoordinate coordinate,
+    double radiusMeters
+  );
+
   /**
    * Get the latest occupancy status for a certain trip. Service contains all the vehicles that
    * exist in input feeds but doesn't store any historical data.
@@ -5,27 +5,50 @@ import static org.opentripplanner.transit.model.timetable.OccupancyStatus.NO_DAT
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.opentripplanner.framework.geometry.HashGridSpatialIndex;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
 import org.opentripplanner.service.realtimevehicles.RealtimeVehicleRepository;
 import org.opentripplanner.service.realtimevehicles.RealtimeVehicleService;
 import org.opentripplanner.service.realtimevehicles.model.RealtimeVehicle;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
+import org.opentripplanner.transit.model.network.Route;
 import org.opentripplanner.transit.model.network.TripPattern;
 import org.opentripplanner.transit.model.timetable.OccupancyStatus;
 import org.opentripplanner.transit.model.timetable.Trip;
 import org.opentripplanner.transit.service.TransitService;
 
+/**
+ * The vehicles are stored per trip pattern. The vehicles by route and the spatial index used for
+ * envelope and distance queries are kept in an immutable {@link VehicleIndex}. It is built from
+ * the vehicles by pattern when it is first queried after an update, so the index is built at most
+ * once for each update, no matter how many queries there are.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
 @Singleton
 public class DefaultRealtimeVehicleService
   implements RealtimeVehicleService, RealtimeVehicleRepository {
 
   private final Map<TripPattern, List<RealtimeVehicle>> vehicles = new ConcurrentHashMap<>();
 
+  /**
+   * Incremented after each update of the vehicles, used to find out if the index is up-to-date.
+   */
+  private final AtomicLong version = new AtomicLong();
+
+  private volatile VehicleIndex index = VehicleIndex.of(0, Map.of());
+
   private final TransitService transitService;
 
   @Inject
@@ -36,11 +59,14 @@ public class DefaultRealtimeVehicleService
   @Override
   public void setRealtimeVehicles(TripPattern pattern, List<RealtimeVehicle> updates) {
     vehicles.put(pattern, List.copyOf(updates));
+    version.incrementAndGet();
   }
 
   @Override
   public void clearRealtimeVehicles(TripPattern pattern) {
-    vehicles.remove(pattern);
+    if (vehicles.remove(pattern) != null) {
+      version.incrementAndGet();
+    }
   }
 
   @Override
@@ -49,6 +75,52 @@ public class DefaultRealtimeVehicleService
     return vehicles.getOrDefault(pattern, List.of());
   }
 
+  @Override
+  public List<RealtimeVehicle> getRealtimeVehicles(@Nonnull Route route) {
+    return index().vehiclesByRoute().getOrDefault(route, List.of());
+  }
+
+  @Override
+  public List<RealtimeVehicle> getRealtimeVehicles(@Nonnull Envelope envelope) {
+    // The grid index returns all vehicles in the grid cells intersecting the envelope
+    return index()
+      .spatialIndex()
+      .query(envelope)
+      .stream()
+      .filter(vehicle -> envelope.contains(coordinate(vehicle)))
+      .toList();
+  }
+
+  @Override
+  public List<RealtimeVehicle> findClosestRealtimeVehicles(
+    @Nonnull WgsCoordinate coordinate,
+    double radiusMeters
+  ) {
+    Coordinate center = coordinate.asJtsCoordinate();
+    Envelope envelope = new Envelope(center);
+    envelope.expandBy(
+      SphericalDistanceLibrary.metersToLonDegrees(radiusMeters, center.y),
+      SphericalDistanceLibrary.metersToDegrees(radiusMeters)
+    );
+
+    record VehicleAtDistance(RealtimeVehicle vehicle, double distance) {}
+
+    return index()
+      .spatialIndex()
+      .query(envelope)
+      .stream()
+      .map(vehicle ->
+        new VehicleAtDistance(
+          vehicle,
+          SphericalDistanceLibrary.distance(center, coordinate(vehicle))
+        )
+      )
+      .filter(it -> it.distance() <= radiusMeters)
+      .sorted(Comparator.comparingDouble(VehicleAtDistance::distance))
+      .map(VehicleAtDistance::vehicle)
+      .toList();
+  }
+
   @Nonnull
   @Override
   public OccupancyStatus getVehicleOccupancyStatus(@Nonnull Trip trip) {
@@ -70,4 +142,53 @@ public class DefaultRealtimeVehicleService
       .flatMap(RealtimeVehicle::occupancyStatus)
       .orElse(NO_DATA_AVAILABLE);
   }
+
+  /**
+   * Return the index for the current version of the vehicles, building it if the vehicles have
+   * been updated since the index was built.
+   */
+  private VehicleIndex index() {
+    var current = index;
+    if (current.version() == version.get()) {
+      return current;
+    }
+    synchronized (this) {
+      // The version is read before the vehicles, so the index contains at least this version
+      long indexVersion = version.get();
+      if (index.version() != indexVersion) {
+        index = VehicleIndex.of(indexVersion, vehicles);
+      }
+      return index;
+    }
+  }
+
+  private static Coordinate coordinate(RealtimeVehicle vehicle) {
+    return vehicle.coordinates().orElseThrow().asJtsCoordinate();
+  }
+
+  /**
+   * An immutable index of the vehicles for one version of the vehicles by pattern.
+   */
+  private record VehicleIndex(
+    long version,
+    HashGridSpatialIndex<RealtimeVehicle> spatialIndex,
+    Map<Route, List<RealtimeVehicle>> vehiclesByRoute
+  ) {
+    static VehicleIndex of(long version, Map<TripPattern, List<RealtimeVehicle>> vehicles) {
+      var spatialIndex = new HashGridSpatialIndex<RealtimeVehicle>();
+      var vehiclesByRoute = new HashMap<Route, List<RealtimeVehicle>>();
+      vehicles.forEach((pattern, patternVehicles) -> {
+        vehiclesByRoute
+          .computeIfAbsent(pattern.getRoute(), ignore -> new ArrayList<>())
+          .addAll(patternVehicles);
+        for (RealtimeVehicle vehicle : patternVehicles) {
+          if (vehicle.coordinates().isPresent()) {
+            spatialIndex.insert(new Envelope(coordinate(vehicle)), vehicle);
+          }
+        }
+      });
+      vehiclesByRoute.replaceAll((route, routeVehicles) -> List.copyOf(routeVehicles));
+      return new VehicleIndex(version, spatialIndex, Map.copyOf(vehiclesByRoute));
+    }
+  }
 }
@@ -1,11 +1,15 @@
 package org.opentripplanner.service.vehiclerental.street;
 
+import java.util.List;
 import javax.annotation.Nonnull;
+import org.locationtech.jts.geom.LineString;
+import org.opentripplanner.framework.geometry.GeometryUtils;
 import org.opentripplanner.framework.i18n.I18NString;
 import org.opentripplanner.street.model.edge.Edge;
 import org.opentripplanner.street.model.vertex.StreetVertex;
 import org.opentripplanner.street.search.state.State;
 import org.opentripplanner.street.search.state.StateEditor;
+import org.opentripplanner.street.search.state.VehicleRentalState;
 
 /**
  * This represents the connection between a street vertex and a bike rental station vertex.
@@ -14,28 +18,60 @@ public class StreetVehicleRentalLink extends Edge {
 
   private final VehicleRentalPlaceVertex vehicleRentalPlaceVertex;
 
-  private StreetVehicleRentalLink(StreetVertex fromv, VehicleRentalPlaceVertex tov) {
+  /**
+   * The distance to walk between the street vertex and the rental place. This is zero when the
+   * rental place is linked by splitting the street, so it is more-or-less on-street.
+   */
+  private final double distanceMeters;
+
+  private StreetVehicleRentalLink(
+    StreetVertex fromv,
+    VehicleRentalPlaceVertex tov,
+    double distanceMeters
+  ) {
     super(fromv, tov);
     vehicleRentalPlaceVertex = tov;
+    this.distanceMeters = distanceMeters;
   }
 
-  private StreetVehicleRentalLink(VehicleRentalPlaceVertex fromv, StreetVertex tov) {
+  private StreetVehicleRentalLink(
+    VehicleRentalPlaceVertex fromv,
+    StreetVertex tov,
+    double distanceMeters
+  ) {
     super(fromv, tov);
     vehicleRentalPlaceVertex = fromv;
+    this.distanceMeters = distanceMeters;
   }
 
   public static StreetVehicleRentalLink createStreetVehicleRentalLink(
     StreetVertex fromv,
     VehicleRentalPlaceVertex tov
   ) {
-    return connectToGraph(new StreetVehicleRentalLink(fromv, tov));
+    return createStreetVehicleRentalLink(fromv, tov, 0);
   }
 
   public static StreetVehicleRentalLink createStreetVehicleRentalLink(
     VehicleRentalPlaceVertex fromv,
     StreetVertex tov
   ) {
-    return connectToGraph(new StreetVehicleRentalLink(fromv, tov));
+    return createStreetVehicleRentalLink(fromv, tov, 0);
+  }
+
+  public static StreetVehicleRentalLink createStreetVehicleRentalLink(
+    StreetVertex fromv,
+    VehicleRentalPlaceVertex tov,
+    double distanceMeters
+  ) {
+    return connectToGraph(new StreetVehicleRentalLink(fromv, tov, distanceMeters));
+  }
+
+  public static StreetVehicleRentalLink createStreetVehicleRentalLink(
+    VehicleRentalPlaceVertex fromv,
+    StreetVertex tov,
+    double distanceMeters
+  ) {
+    return connectToGraph(new StreetVehicleRentalLink(fromv, tov, distanceMeters));
   }
 
   public String toString() {
@@ -63,10 +99,32 @@ public class StreetVehicleRentalLink extends Edge {
     StateEditor s1 = s0.edit(this);
     //assume bike rental stations are more-or-less on-street
     s1.incrementWeight(1);
+    if (distanceMeters > 0 && s0.getVehicleRentalState() == VehicleRentalState.BEFORE_RENTING) {
+      // The rental place is away from the street, so walk the distance between them. Once the
+      // vehicle is picked up, the distance is ridden, and is part of the rental leg.
+      var walk = s0.getPreferences().walk();
+      int seconds = (int) Math.round(distanceMeters / walk.speed());
+      s1.incrementTimeInSeconds(seconds);
+      s1.incrementWeight(seconds * walk.reluctance());
+      s1.incrementWalkDistance(distanceMeters);
+    }
     s1.setBackMode(null);
     return s1.makeStateArray();
   }
 
+  @Override
+  public LineString getGeometry() {
+    if (distanceMeters == 0) {
+      return null;
+    }
+    return GeometryUtils.makeLineString(List.of(fromv.getCoordinate(), tov.getCoordinate()));
+  }
+
+  @Override
+  public double getDistanceMeters() {
+    return distanceMeters;
+  }
+
   @Override
   public I18NString getName() {
     return vehicleRentalPlaceVertex.getName();
@@ -4,6 +4,7 @@ import static org.opentripplanner.model.projectinfo.OtpProjectInfo.projectInfo;
 
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.ParameterException;
+import java.io.IOException;
 import org.geotools.referencing.factory.DeferredAuthorityFactory;
 import org.geotools.util.WeakCollectionCleaner;
 import org.opentripplanner.framework.application.ApplicationShutdownSupport;
@@ -11,6 +12,7 @@ import org.opentripplanner.framework.application.OtpAppException;
 import org.opentripplanner.graph_builder.GraphBuilder;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueSummary;
 import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.routing.graph.SerializedGraphObject;
 import org.opentripplanner.standalone.config.CommandLineParameters;
 import org.opentripplanner.standalone.config.ConfigModel;
@@ -126,6 +128,7 @@ public class OTPMain {
     if (cli.doLoadGraph() || cli.doLoadStreetGraph()) {
       SerializedGraphObject obj = SerializedGraphObject.load(loadApp.getInputGraphDataStore());
       app = loadApp.appConstruction(obj);
+      app.loadGeocoderIndex(loadApp.getInputGraphDataStore());
       config.updateConfigFromSerializedGraph(obj.buildConfig, obj.routerConfig);
       graphAvailable = true;
     } else {
@@ -160,6 +163,10 @@ public class OTPMain {
         app.streetLimitationParameters()
       )
         .save(app.graphOutputDataSource());
+      // The geocoder index is built from the transit data, it is not saved with a street graph
+      if (cli.doBuildTransit()) {
+        app.saveGeocoderIndex();
+      }
       // Log size info for the deduplicator
       LOG.info("Memory optimized {}", app.graph().deduplicator.toString());
     }
@@ -205,7 +212,11 @@ public class OTPMain {
     if (params.doServe()) {
       GrizzlyServer grizzlyServer = app.createGrizzlyServer();
 
-      registerShutdownHookToGracefullyShutDownServer(app.transitModel(), app.raptorConfig());
+      registerShutdownHookToGracefullyShutDownServer(
+        app.graph(),
+        app.transitModel(),
+        app.raptorConfig()
+      );
 
       // Loop to restart server on uncaught fatal exceptions.
       while (true) {
@@ -227,11 +238,13 @@ public class OTPMain {
    * Shut down this server when evicted or (auto-)reloaded.
    * <ol>
    *   <li>Stop any real-time updater threads.</li>
+   *   <li>Close the geocoder index.</li>
    *   <li>Cleanup various stuff of some used libraries (org.geotools), which depend on the
    *   external client to call them for cleaning-up.</li>
    * </ol>
    */
   private static void registerShutdownHookToGracefullyShutDownServer(
+    Graph graph,
     TransitModel transitModel,
     RaptorConfig<?> raptorConfig
   ) {
@@ -241,6 +254,7 @@ public class OTPMain {
         LOG.info("OTP shutdown started...");
         UpdaterConfigurator.shutdownGraph(transitModel);
         raptorConfig.shutdown();
+        closeGeocoderIndex(graph);
         WeakCollectionCleaner.DEFAULT.exit();
         DeferredAuthorityFactory.exit();
         LOG.info("OTP shutdown: resources released...");
@@ -248,6 +262,18 @@ public class OTPMain {
     );
   }
 
+  private static void closeGeocoderIndex(Graph graph) {
+    var luceneIndex = graph.getLuceneIndex();
+    if (luceneIndex == null) {
+      return;
+    }
+    try {
+      luceneIndex.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to close the geocoder index: {}", e.getMessage(), e);
+    }
+  }
+
   private static void setOtpConfigVersionsOnServerInfo(ConstructApplication app) {
     projectInfo().otpConfigVersion = app.otpConfig().configVersion;
     projectInfo().buildConfigVersion = app.buildConfig().configVersion;
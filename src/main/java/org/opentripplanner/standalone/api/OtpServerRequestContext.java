@@ -20,6 +20,7 @@ import org.opentripplanner.routing.api.RoutingService;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.routing.graphfinder.GraphFinder;
+import org.opentripplanner.routing.service.RoutingResponseCache;
 import org.opentripplanner.service.realtimevehicles.RealtimeVehicleService;
 import org.opentripplanner.service.vehiclerental.VehicleRentalService;
 import org.opentripplanner.service.worldenvelope.WorldEnvelopeService;
@@ -85,6 +86,12 @@ public interface OtpServerRequestContext {
   @HttpRequestScoped
   RoutingService routingService();
 
+  /**
+   * A cache of routing responses shared between requests, {@code null} if disabled.
+   */
+  @Nullable
+  RoutingResponseCache routingResponseCache();
+
   /**
    * Get information on geographical bounding box and center coordinates.
    */
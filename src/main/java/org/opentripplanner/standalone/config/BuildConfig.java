@@ -448,15 +448,16 @@ Use an empty string to make it unbounded.
 When set to true, the elevation module will create a file cache for calculated elevation data.
 Subsequent graph builds can reuse the data in this file.
   
-After building the graph, a file called `cached_elevations.obj` will be written to the cache
+After building the graph, a file called `cached_elevations.bin` will be written to the cache
 directory. By default, this file is not written during graph builds. There is also a graph build
 parameter called `readCachedElevations` which is set to `true` by default.
 
-In graph builds, the elevation module will attempt to read the `cached_elevations.obj` file from
+In graph builds, the elevation module will attempt to read the `cached_elevations.bin` file from
 the cache directory. The cache directory defaults to `/var/otp/cache`, but this can be overridden
 via the CLI argument `--cache <directory>`. For the same graph build for multiple Northeast US
 states, the time it took with using this pre-downloaded and precalculated data became roughly 9
-minutes.
+minutes. A `cached_elevations.obj` file written by an earlier version of OTP is not read, a
+warning is logged if it is found.
 
 The cached data is a lookup table where the coordinate sequences of respective street edges are
 used as keys for calculated data. It is assumed that all of the other input data except for the
@@ -466,6 +467,10 @@ data is changed, or different configuration values for `elevationUnitMultiplier`
 should be recalculated. Over time, various edits to OpenStreetMap will cause this cached data to
 become stale and not include new OSM ways. Therefore, periodic update of this cached data is
 recommended.
+
+The cache is not read or written when transit is built on top of a street graph which already has
+elevation data (`--loadStreet`). The elevation data is then part of the street graph, so only edges
+without elevation are processed.
 """
         )
         .asBoolean(false);
@@ -1,6 +1,7 @@
 package org.opentripplanner.standalone.config.routerconfig;
 
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_4;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_6;
 
 import java.time.Duration;
 import java.util.List;
@@ -13,6 +14,8 @@ public class ServerConfig implements OTPWebApplicationParameters {
 
   private final Duration apiProcessingTimeout;
   private final List<RequestTraceParameter> traceParameters;
+  private final int routingResponseCacheMaxSize;
+  private final Duration routingResponseCacheTimeToLive;
 
   public ServerConfig(String parameterName, NodeAdapter root) {
     NodeAdapter c = root
@@ -42,6 +45,30 @@ The timeout is not enforced when the parallel routing OTP feature is in use.
         )
         .asDuration(Duration.ofSeconds(-1));
 
+    this.routingResponseCacheMaxSize =
+      c
+        .of("routingResponseCacheMaxSize")
+        .since(V2_6)
+        .summary("Maximum number of routing responses to cache, `0` disables the cache.")
+        .description(
+          """
+Identical routing requests, for example from departure-planner widgets refreshing or from client
+retries, can be answered from a short-lived cache instead of routing them again. Concurrent
+identical requests are coalesced, so only one of them is routed. The cache is dropped each time
+new real-time transit updates are published. Vehicle rental and parking availability is updated
+separately, so requests using rental or parking are never cached. Neither are requests with
+transit filters, banned trips, pass-through points or debugging enabled.
+"""
+        )
+        .asInt(0);
+
+    this.routingResponseCacheTimeToLive =
+      c
+        .of("routingResponseCacheTimeToLive")
+        .since(V2_6)
+        .summary("How long a routing response is kept in the cache.")
+        .asDuration(Duration.ofSeconds(30));
+
     this.traceParameters =
       c
         .of("traceParameters")
@@ -105,6 +132,14 @@ Only log4j and logback support this.
     return apiProcessingTimeout;
   }
 
+  public int routingResponseCacheMaxSize() {
+    return routingResponseCacheMaxSize;
+  }
+
+  public Duration routingResponseCacheTimeToLive() {
+    return routingResponseCacheTimeToLive;
+  }
+
   public void validate(Duration streetRoutingTimeout) {
     if (
       !apiProcessingTimeout.isNegative() &&
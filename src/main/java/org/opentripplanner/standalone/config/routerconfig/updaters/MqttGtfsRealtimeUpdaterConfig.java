@@ -2,7 +2,9 @@ package org.opentripplanner.standalone.config.routerconfig.updaters;
 
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_0;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_2;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_6;
 
+import java.time.Duration;
 import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
 import org.opentripplanner.updater.trip.BackwardsDelayPropagationType;
 import org.opentripplanner.updater.trip.MqttGtfsRealtimeUpdaterParameters;
@@ -41,7 +43,21 @@ public class MqttGtfsRealtimeUpdaterConfig {
   The updated times are exposed through APIs.
 """
         )
-        .asEnum(BackwardsDelayPropagationType.REQUIRED_NO_DATA)
+        .asEnum(BackwardsDelayPropagationType.REQUIRED_NO_DATA),
+      c
+        .of("batchWindow")
+        .since(V2_6)
+        .summary("How long to collect updates into one batch.")
+        .description(
+          """
+          The trip updates received during the batch window are applied together, in one graph
+          writer task. If a trip is updated more than once in the window, only the last update is
+          applied. A new batch is not applied until the previous batch is done, so with the
+          default value the updates received while a batch is applied are collected into the next
+          batch.
+          """
+        )
+        .asDuration(Duration.ZERO)
     );
   }
 }
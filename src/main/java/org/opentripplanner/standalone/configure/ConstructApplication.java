@@ -33,6 +33,7 @@ import org.opentripplanner.standalone.server.GrizzlyServer;
 import org.opentripplanner.standalone.server.OTPWebApplication;
 import org.opentripplanner.street.model.StreetLimitationParameters;
 import org.opentripplanner.street.model.elevation.ElevationUtils;
+import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.transit.service.TransitModel;
 import org.opentripplanner.updater.configure.UpdaterConfigurator;
 import org.opentripplanner.visualizer.GraphVisualizer;
@@ -146,6 +147,32 @@ public class ConstructApplication {
     return graphBuilderDataSources.getOutputGraph();
   }
 
+  /**
+   * Save the geocoder index next to the saved graph, so it does not need to be built when the
+   * graph is loaded. Call this after the graph is saved.
+   */
+  public void saveGeocoderIndex() {
+    var graphDataSource = graphOutputDataSource();
+    if (OTPFeature.SandboxAPIGeocoder.isOn() && graphDataSource != null) {
+      LuceneIndex.saveNextToGraph(new DefaultTransitService(transitModel()), graphDataSource);
+    }
+  }
+
+  /**
+   * Open the geocoder index saved next to the loaded graph, if there is one.
+   */
+  public void loadGeocoderIndex(DataSource graphDataSource) {
+    if (OTPFeature.SandboxAPIGeocoder.isOn()) {
+      var index = LuceneIndex.loadNextToGraph(
+        new DefaultTransitService(transitModel()),
+        graphDataSource
+      );
+      if (index != null) {
+        graph().setLuceneIndex(index);
+      }
+    }
+  }
+
   private Application createApplication() {
     LOG.info("Wiring up and configuring server.");
     setupTransitRoutingServer();
@@ -180,7 +207,7 @@ public class ConstructApplication {
     }
 
     if (OTPFeature.SandboxAPIGeocoder.isOn()) {
-      LOG.info("Creating debug client geocoder lucene index");
+      // The index is only created if it is not loaded together with the graph
       LuceneIndex.forServer(createServerContext());
     }
   }
@@ -3,6 +3,7 @@ package org.opentripplanner.standalone.configure;
 import dagger.Module;
 import dagger.Provides;
 import io.micrometer.core.instrument.Metrics;
+import jakarta.inject.Singleton;
 import java.util.List;
 import javax.annotation.Nullable;
 import org.opentripplanner.astar.spi.TraverseVisitor;
@@ -13,6 +14,7 @@ import org.opentripplanner.ext.stopconsolidation.StopConsolidationService;
 import org.opentripplanner.raptor.configure.RaptorConfig;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.service.RoutingResponseCache;
 import org.opentripplanner.service.realtimevehicles.RealtimeVehicleService;
 import org.opentripplanner.service.vehiclerental.VehicleRentalService;
 import org.opentripplanner.service.worldenvelope.WorldEnvelopeService;
@@ -40,7 +42,8 @@ public class ConstructApplicationModule {
     StreetLimitationParametersService streetLimitationParametersService,
     @Nullable TraverseVisitor<?, ?> traverseVisitor,
     EmissionsService emissionsService,
-    LauncherRequestDecorator launcherRequestDecorator
+    LauncherRequestDecorator launcherRequestDecorator,
+    @Nullable RoutingResponseCache routingResponseCache
   ) {
     var defaultRequest = launcherRequestDecorator.intercept(routerConfig.routingRequestDefaults());
 
@@ -60,7 +63,22 @@ public class ConstructApplicationModule {
       rideHailingServices,
       stopConsolidationService,
       streetLimitationParametersService,
-      traverseVisitor
+      traverseVisitor,
+      routingResponseCache
+    );
+  }
+
+  @Provides
+  @Singleton
+  @Nullable
+  RoutingResponseCache routingResponseCache(RouterConfig routerConfig) {
+    var config = routerConfig.server();
+    if (config.routingResponseCacheMaxSize() <= 0) {
+      return null;
+    }
+    return new RoutingResponseCache(
+      config.routingResponseCacheMaxSize(),
+      config.routingResponseCacheTimeToLive()
     );
   }
 
@@ -18,6 +18,7 @@ import org.opentripplanner.routing.api.RoutingService;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.routing.service.DefaultRoutingService;
+import org.opentripplanner.routing.service.RoutingResponseCache;
 import org.opentripplanner.service.realtimevehicles.RealtimeVehicleService;
 import org.opentripplanner.service.vehiclerental.VehicleRentalService;
 import org.opentripplanner.service.worldenvelope.WorldEnvelopeService;
@@ -49,6 +50,7 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
   private final EmissionsService emissionsService;
   private final StopConsolidationService stopConsolidationService;
   private final StreetLimitationParametersService streetLimitationParametersService;
+  private final RoutingResponseCache routingResponseCache;
 
   /**
    * Make sure all mutable components are copied/cloned before calling this constructor.
@@ -70,7 +72,8 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     StopConsolidationService stopConsolidationService,
     StreetLimitationParametersService streetLimitationParametersService,
     FlexParameters flexParameters,
-    TraverseVisitor traverseVisitor
+    TraverseVisitor traverseVisitor,
+    RoutingResponseCache routingResponseCache
   ) {
     this.graph = graph;
     this.transitService = transitService;
@@ -89,6 +92,7 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     this.emissionsService = emissionsService;
     this.stopConsolidationService = stopConsolidationService;
     this.streetLimitationParametersService = streetLimitationParametersService;
+    this.routingResponseCache = routingResponseCache;
   }
 
   /**
@@ -110,7 +114,8 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     List<RideHailingService> rideHailingServices,
     @Nullable StopConsolidationService stopConsolidationService,
     StreetLimitationParametersService streetLimitationParametersService,
-    @Nullable TraverseVisitor traverseVisitor
+    @Nullable TraverseVisitor traverseVisitor,
+    @Nullable RoutingResponseCache routingResponseCache
   ) {
     return new DefaultServerRequestContext(
       graph,
@@ -129,7 +134,8 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
       stopConsolidationService,
       streetLimitationParametersService,
       flexParameters,
-      traverseVisitor
+      traverseVisitor,
+      routingResponseCache
     );
   }
 
@@ -170,6 +176,12 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     return new DefaultRoutingService(this);
   }
 
+  @Nullable
+  @Override
+  public RoutingResponseCache routingResponseCache() {
+    return routingResponseCache;
+  }
+
   @Override
   public WorldEnvelopeService worldEnvelopeService() {
     return worldEnvelopeService;
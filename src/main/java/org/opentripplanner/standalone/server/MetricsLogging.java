@@ -1,5 +1,6 @@
 package org.opentripplanner.standalone.server;
 
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
@@ -17,12 +18,16 @@ import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
 import io.micrometer.core.instrument.binder.system.UptimeMetrics;
 import jakarta.inject.Inject;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nullable;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueSummary;
 import org.opentripplanner.raptor.configure.RaptorConfig;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
+import org.opentripplanner.routing.service.RoutingResponseCache;
 import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.updater.GraphWriterPartition;
 
 /**
  * This class is responsible for wiring up various metrics to micrometer, which we use for
@@ -34,7 +39,8 @@ public class MetricsLogging {
   public MetricsLogging(
     TransitModel transitModel,
     RaptorConfig<TripSchedule> raptorConfig,
-    DataImportIssueSummary issueSummary
+    DataImportIssueSummary issueSummary,
+    @Nullable RoutingResponseCache routingResponseCache
   ) {
     new ClassLoaderMetrics().bindTo(Metrics.globalRegistry);
     new FileDescriptorMetrics().bindTo(Metrics.globalRegistry);
@@ -56,6 +62,14 @@ public class MetricsLogging {
       )
         .bindTo(Metrics.globalRegistry);
     }
+    if (routingResponseCache != null) {
+      new GuavaCacheMetrics(
+        routingResponseCache.getCache(),
+        "routingResponseCache",
+        List.of(Tag.of("cache", "routingResponse"))
+      )
+        .bindTo(Metrics.globalRegistry);
+    }
     new ExecutorServiceMetrics(
       ForkJoinPool.commonPool(),
       "commonPool",
@@ -84,6 +98,14 @@ public class MetricsLogging {
         List.of(Tag.of("pool", "graphUpdateScheduler"))
       )
         .bindTo(Metrics.globalRegistry);
+
+      var updaterManager = transitModel.getUpdaterManager();
+      for (GraphWriterPartition partition : GraphWriterPartition.values()) {
+        Gauge
+          .builder("graph_writer_queue_size", updaterManager, m -> m.writerQueueSize(partition))
+          .tag("partition", partition.name().toLowerCase(Locale.ROOT))
+          .register(Metrics.globalRegistry);
+      }
     }
 
     if (raptorConfig.isMultiThreaded()) {
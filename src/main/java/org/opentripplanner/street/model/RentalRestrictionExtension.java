@@ -41,7 +41,7 @@ public interface RentalRestrictionExtension {
    * Remove the extension from this one
    */
   default RentalRestrictionExtension remove(RentalRestrictionExtension toRemove) {
-    return NO_RESTRICTION;
+    return equals(toRemove) ? NO_RESTRICTION : this;
   }
 
   /**
@@ -2,6 +2,7 @@ package org.opentripplanner.transit.model.framework;
 
 import jakarta.inject.Inject;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collections;
@@ -214,6 +215,23 @@ public class Deduplicator implements DeduplicatorService, Serializable {
     return builder.toString();
   }
 
+  /**
+   * Return the number of distinct instances kept and the number of values deduplicated for each
+   * type. Types not deduplicated are skipped.
+   */
+  public List<DeduplicationStats> stats() {
+    var stats = new ArrayList<DeduplicationStats>();
+    stats.add(stats("BitSet", canonicalBitSets.size(), BitSet.class.getName()));
+    stats.add(stats("int[]", canonicalIntArrays.size(), IntArray.class.getName()));
+    stats.add(stats("String", canonicalStrings.size(), String.class.getName()));
+    stats.add(stats("String[]", canonicalStringArrays.size(), StringArray.class.getName()));
+    stats.add(stats("String[][]", canonicalString2DArrays.size(), String2DArray.class.getName()));
+    addToStats(stats, canonicalObjects, Deduplicator::objCounterName);
+    addToStats(stats, canonicalObjArrays, Deduplicator::arrayCounterName);
+    addToStats(stats, canonicalLists, Deduplicator::listCounterName);
+    return stats.stream().filter(it -> it.distinct() > 0 || it.total() > 0).toList();
+  }
+
   /* private members */
 
   private static <T> String objCounterName(Class<T> type) {
@@ -244,6 +262,23 @@ public class Deduplicator implements DeduplicatorService, Serializable {
       .forEach(it -> builder.addObj(it.name(), sizeAndCount(it.size(), it.name()), ZERO_COUNT));
   }
 
+  private <K, V extends Map<?, ?>> void addToStats(
+    List<DeduplicationStats> stats,
+    Map<K, V> map,
+    Function<K, String> toName
+  ) {
+    map
+      .entrySet()
+      .stream()
+      .map(e -> stats(toName.apply(e.getKey()), e.getValue().size(), toName.apply(e.getKey())))
+      .sorted(Comparator.comparing(DeduplicationStats::name))
+      .forEach(stats::add);
+  }
+
+  private DeduplicationStats stats(String name, int size, String key) {
+    return new DeduplicationStats(name, size, effectCounter.getOrDefault(key, 0));
+  }
+
   private void incrementEffectCounter(Class<?> clazz) {
     incrementEffectCounter(clazz.getName());
   }
@@ -266,6 +301,17 @@ public class Deduplicator implements DeduplicatorService, Serializable {
     return size + "(" + count + ")";
   }
 
+  /**
+   * @param distinct the number of distinct instances kept by the deduplicator
+   * @param total    the number of values deduplicated
+   */
+  public record DeduplicationStats(String name, int distinct, int total) {
+    /** The share of the deduplicated values replaced by an instance seen before. */
+    public double hitRate() {
+      return total == 0 ? 0.0 : 1.0 - (double) distinct / total;
+    }
+  }
+
   /* private classes */
 
   /** A wrapper for a primitive int array. This is insane but necessary in Java. */
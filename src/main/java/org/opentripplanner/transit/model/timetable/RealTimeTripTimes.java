@@ -19,15 +19,33 @@ import org.opentripplanner.transit.model.timetable.booking.BookingInfo;
  * carried along by States when routing to ensure that they have a consistent, fast view of the trip
  * when realtime updates have been applied. All times are expressed as seconds since midnight (as in
  * GTFS).
+ * <p>
+ * Many copies of updated trips are kept in memory at the same time, one for each version of the
+ * timetable snapshot. To keep the footprint of each copy small, the realtime data is stored
+ * compactly: the arrival and departure times share one array as long as they are equal at every
+ * stop, the per-stop realtime states are stored as one byte per stop, and the per-stop arrays are
+ * only allocated when a stop state or occupancy is actually set.
  */
 public final class RealTimeTripTimes implements TripTimes {
 
+  private static final StopRealTimeState[] STOP_REAL_TIME_STATES = StopRealTimeState.values();
+
   private ScheduledTripTimes scheduledTripTimes;
 
+  /**
+   * The arrival and departure times are the same array instance until they differ at any stop. The
+   * array is copied before it is changed, see {@link #setArrivalTime(int, int)} and
+   * {@link #setDepartureTime(int, int)}.
+   */
   private int[] arrivalTimes;
   private int[] departureTimes;
   private RealTimeState realTimeState;
-  private StopRealTimeState[] stopRealTimeStates;
+
+  /**
+   * The ordinal of the {@link StopRealTimeState} for each stop, {@code null} if all stops are in
+   * the {@link StopRealTimeState#DEFAULT} state.
+   */
+  private byte[] stopRealTimeStates;
   private I18NString[] headsigns;
   private OccupancyStatus[] occupancyStatus;
   private Accessibility wheelchairAccessibility;
@@ -57,7 +75,7 @@ public final class RealTimeTripTimes implements TripTimes {
   private RealTimeTripTimes(
     ScheduledTripTimes scheduledTripTimes,
     RealTimeState realTimeState,
-    StopRealTimeState[] stopRealTimeStates,
+    byte[] stopRealTimeStates,
     I18NString[] headsigns,
     OccupancyStatus[] occupancyStatus,
     Accessibility wheelchairAccessibility
@@ -200,6 +218,10 @@ public final class RealTimeTripTimes implements TripTimes {
 
   public void setOccupancyStatus(int stop, OccupancyStatus occupancyStatus) {
     prepareForRealTimeUpdates();
+    if (this.occupancyStatus == null) {
+      this.occupancyStatus = new OccupancyStatus[getNumStops()];
+      Arrays.fill(this.occupancyStatus, OccupancyStatus.NO_DATA_AVAILABLE);
+    }
     this.occupancyStatus[stop] = occupancyStatus;
   }
 
@@ -301,22 +323,22 @@ public final class RealTimeTripTimes implements TripTimes {
 
   public void updateDepartureTime(final int stop, final int time) {
     prepareForRealTimeUpdates();
-    departureTimes[stop] = time;
+    setDepartureTime(stop, time);
   }
 
   public void updateDepartureDelay(final int stop, final int delay) {
     prepareForRealTimeUpdates();
-    departureTimes[stop] = scheduledTripTimes.getScheduledDepartureTime(stop) + delay;
+    setDepartureTime(stop, scheduledTripTimes.getScheduledDepartureTime(stop) + delay);
   }
 
   public void updateArrivalTime(final int stop, final int time) {
     prepareForRealTimeUpdates();
-    arrivalTimes[stop] = time;
+    setArrivalTime(stop, time);
   }
 
   public void updateArrivalDelay(final int stop, final int delay) {
     prepareForRealTimeUpdates();
-    arrivalTimes[stop] = scheduledTripTimes.getScheduledArrivalTime(stop) + delay;
+    setArrivalTime(stop, scheduledTripTimes.getScheduledArrivalTime(stop) + delay);
   }
 
   @Nullable
@@ -536,7 +558,14 @@ public final class RealTimeTripTimes implements TripTimes {
 
   private void setStopRealTimeStates(int stop, StopRealTimeState state) {
     prepareForRealTimeUpdates();
-    this.stopRealTimeStates[stop] = state;
+    if (stopRealTimeStates == null) {
+      if (state == StopRealTimeState.DEFAULT) {
+        return;
+      }
+      // The ordinal of DEFAULT is 0, so a new array has all stops in the DEFAULT state
+      this.stopRealTimeStates = new byte[getNumStops()];
+    }
+    this.stopRealTimeStates[stop] = (byte) state.ordinal();
   }
 
   /**
@@ -546,7 +575,13 @@ public final class RealTimeTripTimes implements TripTimes {
    * This is only for API-purposes (does not affect routing).
    */
   private boolean isStopRealTimeStates(int stop, StopRealTimeState state) {
-    return stopRealTimeStates != null && stopRealTimeStates[stop] == state;
+    return stopRealTimeState(stop) == state;
+  }
+
+  private StopRealTimeState stopRealTimeState(int stop) {
+    return stopRealTimeStates == null
+      ? StopRealTimeState.DEFAULT
+      : STOP_REAL_TIME_STATES[stopRealTimeStates[stop]];
   }
 
   public void setHeadsign(int index, I18NString headsign) {
@@ -563,27 +598,60 @@ public final class RealTimeTripTimes implements TripTimes {
     headsigns[index] = headsign;
   }
 
+  /**
+   * Set the arrival time, the shared arrival and departure time array is copied first if the
+   * arrival time would differ from the departure time.
+   */
+  private void setArrivalTime(int stop, int time) {
+    if (arrivalTimes == departureTimes) {
+      if (arrivalTimes[stop] == time) {
+        return;
+      }
+      this.arrivalTimes = arrivalTimes.clone();
+    }
+    arrivalTimes[stop] = time;
+  }
+
+  /**
+   * Set the departure time, the shared arrival and departure time array is copied first if the
+   * departure time would differ from the arrival time.
+   */
+  private void setDepartureTime(int stop, int time) {
+    if (arrivalTimes == departureTimes) {
+      if (departureTimes[stop] == time) {
+        return;
+      }
+      this.departureTimes = departureTimes.clone();
+    }
+    departureTimes[stop] = time;
+  }
+
   private static int getOrElse(int index, int[] array, IntUnaryOperator defaultValue) {
     return array != null ? array[index] : defaultValue.applyAsInt(index);
   }
 
   /**
    * If they don't already exist, create arrays for updated arrival and departure times that are
-   * just time-shifted copies of the zero-based scheduled departure times.
+   * just time-shifted copies of the zero-based scheduled departure times. If the scheduled arrival
+   * and departure times are equal at all stops, only one array is created.
    * <p>
    * Also sets the realtime state to UPDATED.
    */
   private void prepareForRealTimeUpdates() {
     if (arrivalTimes == null) {
       this.arrivalTimes = scheduledTripTimes.copyArrivalTimes();
-      this.departureTimes = scheduledTripTimes.copyDepartureTimes();
+      var scheduledDepartureTimes = scheduledTripTimes.copyDepartureTimes();
+      this.departureTimes =
+        Arrays.equals(arrivalTimes, scheduledDepartureTimes)
+          ? arrivalTimes
+          : scheduledDepartureTimes;
       // Update the real-time state
       this.realTimeState = RealTimeState.UPDATED;
-      this.stopRealTimeStates = new StopRealTimeState[arrivalTimes.length];
-      Arrays.fill(stopRealTimeStates, StopRealTimeState.DEFAULT);
+      // The stop states and occupancy may be shared with the TripTimes this is copied from. They
+      // are reset to the default values here, and allocated when the first value is set.
+      this.stopRealTimeStates = null;
       this.headsigns = scheduledTripTimes.copyHeadsigns(() -> null);
-      this.occupancyStatus = new OccupancyStatus[arrivalTimes.length];
-      Arrays.fill(occupancyStatus, OccupancyStatus.NO_DATA_AVAILABLE);
+      this.occupancyStatus = null;
       // skip immutable types: scheduledTripTimes & wheelchairAccessibility
     }
   }
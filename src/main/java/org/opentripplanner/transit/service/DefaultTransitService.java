@@ -47,9 +47,11 @@ import org.opentripplanner.transit.model.site.RegularStop;
 import org.opentripplanner.transit.model.site.Station;
 import org.opentripplanner.transit.model.site.StopLocation;
 import org.opentripplanner.transit.model.site.StopLocationsGroup;
+import org.opentripplanner.transit.model.timetable.Direction;
 import org.opentripplanner.transit.model.timetable.Trip;
 import org.opentripplanner.transit.model.timetable.TripIdAndServiceDate;
 import org.opentripplanner.transit.model.timetable.TripOnServiceDate;
+import org.opentripplanner.transit.model.timetable.TripTimes;
 import org.opentripplanner.updater.GraphUpdaterStatus;
 
 /**
@@ -291,6 +293,15 @@ public class DefaultTransitService implements TransitEditorService {
     return this.transitModelIndex.getPatternsForRoute().get(route);
   }
 
+  @Override
+  public List<TripTimes> getScheduledTripTimesStartingAt(
+    Route route,
+    Direction direction,
+    int startTime
+  ) {
+    return this.transitModelIndex.getScheduledTripTimesStartingAt(route, direction, startTime);
+  }
+
   @Override
   public MultiModalStation getMultiModalStationForStation(Station station) {
     return this.transitModel.getStopModel().getMultiModalStationForStation(station);
@@ -6,9 +6,11 @@ import com.google.common.collect.Multimap;
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -24,9 +26,11 @@ import org.opentripplanner.transit.model.network.TripPattern;
 import org.opentripplanner.transit.model.organization.Agency;
 import org.opentripplanner.transit.model.organization.Operator;
 import org.opentripplanner.transit.model.site.StopLocation;
+import org.opentripplanner.transit.model.timetable.Direction;
 import org.opentripplanner.transit.model.timetable.Trip;
 import org.opentripplanner.transit.model.timetable.TripIdAndServiceDate;
 import org.opentripplanner.transit.model.timetable.TripOnServiceDate;
+import org.opentripplanner.transit.model.timetable.TripTimes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,6 +63,13 @@ public class TransitModelIndex {
   private final Map<FeedScopedId, GroupOfRoutes> groupOfRoutesForId = new HashMap<>();
   private FlexIndex flexIndex = null;
 
+  /**
+   * Scheduled trip times by route, direction and departure time from the first stop. This is only
+   * used for fuzzy trip matching of realtime updates without trip ids, so it is built on first use
+   * rather than with the rest of the index. It is immutable once built.
+   */
+  private volatile Map<TripStart, List<TripTimes>> scheduledTripTimesByTripStart = null;
+
   TransitModelIndex(TransitModel transitModel) {
     LOG.info("Transit model index init...");
 
@@ -215,6 +226,47 @@ public class TransitModelIndex {
     return flexIndex;
   }
 
+  /**
+   * Return the scheduled trip times of the given route and direction departing from the first
+   * stop at the given time, in the order of the patterns of the route. The trip times are not
+   * filtered on service date.
+   */
+  public List<TripTimes> getScheduledTripTimesStartingAt(
+    Route route,
+    Direction direction,
+    int startTime
+  ) {
+    var index = scheduledTripTimesByTripStart;
+    if (index == null) {
+      index = initializeScheduledTripTimesByTripStart();
+    }
+    return index.getOrDefault(new TripStart(route, direction, startTime), List.of());
+  }
+
+  private synchronized Map<TripStart, List<TripTimes>> initializeScheduledTripTimesByTripStart() {
+    if (scheduledTripTimesByTripStart != null) {
+      return scheduledTripTimesByTripStart;
+    }
+    var index = new HashMap<TripStart, List<TripTimes>>();
+    for (TripPattern pattern : patternsForRoute.values()) {
+      for (TripTimes tripTimes : pattern.getScheduledTimetable().getTripTimes()) {
+        var key = new TripStart(
+          pattern.getRoute(),
+          pattern.getDirection(),
+          tripTimes.getScheduledDepartureTime(0)
+        );
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(tripTimes);
+      }
+    }
+    var result = index
+      .entrySet()
+      .stream()
+      .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> List.copyOf(e.getValue())));
+    LOG.info("Built scheduled trip start index [{}].", result.size());
+    scheduledTripTimesByTripStart = result;
+    return result;
+  }
+
   private void initalizeServiceCodesForDate(TransitModel transitModel) {
     CalendarService calendarService = transitModel.getCalendarService();
 
@@ -259,4 +311,6 @@ public class TransitModelIndex {
   public Map<FeedScopedId, GroupOfRoutes> getGroupOfRoutesForId() {
     return groupOfRoutesForId;
   }
+
+  private record TripStart(Route route, Direction direction, int startTime) {}
 }
@@ -38,9 +38,11 @@ import org.opentripplanner.transit.model.site.RegularStop;
 import org.opentripplanner.transit.model.site.Station;
 import org.opentripplanner.transit.model.site.StopLocation;
 import org.opentripplanner.transit.model.site.StopLocationsGroup;
+import org.opentripplanner.transit.model.timetable.Direction;
 import org.opentripplanner.transit.model.timetable.Trip;
 import org.opentripplanner.transit.model.timetable.TripIdAndServiceDate;
 import org.opentripplanner.transit.model.timetable.TripOnServiceDate;
+import org.opentripplanner.transit.model.timetable.TripTimes;
 import org.opentripplanner.updater.GraphUpdaterStatus;
 
 /**
@@ -133,6 +135,13 @@ public interface TransitService {
 
   Collection<TripPattern> getPatternsForRoute(Route route);
 
+  /**
+   * Return the scheduled trip times of the given route and direction with the given departure
+   * time from the first stop, regardless of service date. This is backed by an immutable index
+   * and is used for fuzzy trip matching.
+   */
+  List<TripTimes> getScheduledTripTimesStartingAt(Route route, Direction direction, int startTime);
+
   MultiModalStation getMultiModalStationForStation(Station station);
 
   List<StopTimesInPattern> stopTimesForStop(
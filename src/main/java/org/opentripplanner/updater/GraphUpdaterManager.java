@@ -1,8 +1,12 @@
 package org.opentripplanner.updater;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.ExecutorService;
@@ -10,6 +14,8 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.opentripplanner.routing.graph.Graph;
@@ -30,6 +36,12 @@ import org.slf4j.LoggerFactory;
  * Each updater will run in its own thread. When changes to the graph have to be made by these
  * updaters, this should be done via the execute method of this manager to prevent race conditions
  * between graph write operations.
+ * <p>
+ * Graph writers are executed on one writer thread for each {@link GraphWriterPartition}, so that a
+ * slow writer, for example a large vehicle rental update, does not delay the writers of other
+ * partitions. Writers of the {@link GraphWriterPartition#ALL} partition run exclusively. The queue
+ * size and the time the writers wait before they start are exported as metrics, tagged with the
+ * partition.
  */
 public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterStatus {
 
@@ -41,15 +53,41 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
 
   /**
    * OTP's multi-version concurrency control model for graph updating allows simultaneous reads, but
-   * never simultaneous writes. We ensure this policy is respected by having a single writer thread,
-   * which sequentially executes all graph updater tasks. Each task is a runnable that is scheduled
-   * with the ExecutorService to run at regular intervals.
+   * never simultaneous writes to the same state. We ensure this policy is respected by having a
+   * single writer thread for each partition, which sequentially executes the graph updater tasks
+   * of that partition. This is the writer thread of the {@link GraphWriterPartition#ALL}
+   * partition. Each task is a runnable that is scheduled with the ExecutorService to run at
+   * regular intervals.
    * FIXME: In reality we're not using scheduleAtFixedInterval.
    *        We're scheduling for immediate execution from separate threads that sleep in a loop.
    *        We should perhaps switch to having polling GraphUpdaters call scheduleAtFixedInterval.
    */
   private final ScheduledExecutorService scheduler;
 
+  /**
+   * The writer thread of each partition, including the {@link #scheduler} for
+   * {@link GraphWriterPartition#ALL}.
+   */
+  private final Map<GraphWriterPartition, ExecutorService> graphWriters = new EnumMap<>(
+    GraphWriterPartition.class
+  );
+
+  /**
+   * Writers of a partition hold the read lock while running, so that they can run concurrently
+   * with writers of other partitions. Writers of the {@link GraphWriterPartition#ALL} partition
+   * hold the write lock. The lock is fair, so a waiting exclusive writer is not starved by a
+   * steady stream of partitioned writers.
+   */
+  private final ReentrantReadWriteLock partitionLock = new ReentrantReadWriteLock(true);
+
+  private final Map<GraphWriterPartition, AtomicInteger> writerQueueSizes = new EnumMap<>(
+    GraphWriterPartition.class
+  );
+
+  private final Map<GraphWriterPartition, Timer> writerWaitTimers = new EnumMap<>(
+    GraphWriterPartition.class
+  );
+
   private final ScheduledExecutorService pollingUpdaterPool;
 
   /**
@@ -80,6 +118,22 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
     // Thread factories used to create new threads, giving them more human-readable names.
     var graphWriterThreadFactory = new ThreadFactoryBuilder().setNameFormat("graph-writer").build();
     this.scheduler = Executors.newSingleThreadScheduledExecutor(graphWriterThreadFactory);
+    for (GraphWriterPartition partition : GraphWriterPartition.values()) {
+      var partitionName = partition.name().toLowerCase(Locale.ROOT);
+      graphWriters.put(
+        partition,
+        partition == GraphWriterPartition.ALL
+          ? scheduler
+          : Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("graph-writer-" + partitionName).build()
+          )
+      );
+      writerQueueSizes.put(partition, new AtomicInteger());
+      writerWaitTimers.put(
+        partition,
+        Metrics.timer("graph_writer_wait_time", "partition", partitionName)
+      );
+    }
     var updaterThreadFactory = new ThreadFactoryBuilder().setNameFormat("updater-%d").build();
     this.pollingUpdaterPool =
       Executors.newScheduledThreadPool(
@@ -171,10 +225,13 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
     }
     updaterList.clear();
 
-    // Shutdown scheduler
-    scheduler.shutdownNow();
+    // Shutdown graph writers
+    graphWriters.values().forEach(ExecutorService::shutdownNow);
     try {
-      boolean ok = scheduler.awaitTermination(30, TimeUnit.SECONDS);
+      boolean ok = true;
+      for (ExecutorService graphWriter : graphWriters.values()) {
+        ok &= graphWriter.awaitTermination(30, TimeUnit.SECONDS);
+      }
       if (!ok) {
         LOG.warn("Timeout waiting for scheduled task to finish.");
       }
@@ -187,13 +244,36 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
 
   @Override
   public Future<?> execute(GraphWriterRunnable runnable) {
-    return scheduler.submit(() -> {
-      try {
-        runnable.run(graph, transitModel);
-      } catch (Exception e) {
-        LOG.error("Error while running graph writer {}:", runnable.getClass().getName(), e);
-      }
-    });
+    var partition = runnable.partition();
+    var queueSize = writerQueueSizes.get(partition);
+    var waitTimer = writerWaitTimers.get(partition);
+    var lock = partition == GraphWriterPartition.ALL
+      ? partitionLock.writeLock()
+      : partitionLock.readLock();
+    long submitted = System.nanoTime();
+
+    queueSize.incrementAndGet();
+    return graphWriters
+      .get(partition)
+      .submit(() -> {
+        queueSize.decrementAndGet();
+        lock.lock();
+        try {
+          waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+          runnable.run(graph, transitModel);
+        } catch (Exception e) {
+          LOG.error("Error while running graph writer {}:", runnable.getClass().getName(), e);
+        } finally {
+          lock.unlock();
+        }
+      });
+  }
+
+  /**
+   * The number of graph writers of the given partition waiting to be executed.
+   */
+  public int writerQueueSize(GraphWriterPartition partition) {
+    return writerQueueSizes.get(partition).get();
   }
 
   @Override
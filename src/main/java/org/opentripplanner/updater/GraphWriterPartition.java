@@ -0,0 +1,36 @@
+package org.opentripplanner.updater;
+
+/**
+ * The part of the realtime state a {@link GraphWriterRunnable} modifies. Writers in different
+ * partitions touch disjoint state and may run concurrently, while writers in the same partition
+ * are executed one at a time in the order they were submitted.
+ * <p>
+ * Writers that do not declare a partition belong to {@link #ALL} and run exclusively: all other
+ * writers have finished before they start, and no other writer starts before they are done.
+ *
+ * @see GraphUpdaterManager
+ */
+public enum GraphWriterPartition {
+  /**
+   * Trip updates (GTFS-RT and SIRI-ET) applied to the timetable snapshot.
+   */
+  TIMETABLE_SNAPSHOT,
+  /**
+   * Alerts (GTFS-RT and SIRI-SX) stored in the transit alert service.
+   */
+  TRANSIT_ALERTS,
+  /**
+   * Vehicle positions stored in the realtime vehicle repository.
+   */
+  REALTIME_VEHICLES,
+  /**
+   * Vehicle rental and vehicle parking updates. They share a partition because both link their
+   * vertices into the street graph and modify the street edges and the spatial index.
+   */
+  STREET_GRAPH,
+  /**
+   * Writers that may modify any part of the graph or the transit model. They never run
+   * concurrently with any other writer.
+   */
+  ALL,
+}
@@ -1,5 +1,6 @@
 package org.opentripplanner.updater;
 
+import java.util.Objects;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.transit.service.TransitModel;
 
@@ -7,14 +8,44 @@ import org.opentripplanner.transit.service.TransitModel;
  * The graph should only be modified by a runnable implementing this interface, executed by the
  * GraphUpdaterManager. A few notes: - Don't spend more time in this runnable than necessary, it
  * might block other graph writer runnables. - Be aware that while only one graph writer runnable is
- * running to write to the graph, several request-threads might be reading the graph. - Be sure that
- * the request-threads always see a consistent view of the graph while planning.
+ * running to write to the same partition, several request-threads might be reading the graph. - Be
+ * sure that the request-threads always see a consistent view of the graph while planning.
  *
  * @see GraphUpdaterManager
  */
 public interface GraphWriterRunnable {
+  /**
+   * Create a graph writer runnable belonging to the given partition. This is used to declare the
+   * partition of writers implemented as lambdas.
+   */
+  static GraphWriterRunnable of(GraphWriterPartition partition, GraphWriterRunnable runnable) {
+    Objects.requireNonNull(partition);
+    Objects.requireNonNull(runnable);
+    return new GraphWriterRunnable() {
+      @Override
+      public void run(Graph graph, TransitModel transitModel) {
+        runnable.run(graph, transitModel);
+      }
+
+      @Override
+      public GraphWriterPartition partition() {
+        return partition;
+      }
+    };
+  }
+
   /**
    * This function is executed to modify the graph.
    */
   void run(Graph graph, TransitModel transitModel);
+
+  /**
+   * The part of the realtime state this runnable modifies. Runnables in different partitions may
+   * run concurrently. The default is {@link GraphWriterPartition#ALL}, which runs the runnable
+   * exclusively; only override this if the runnable does not touch state owned by other
+   * partitions.
+   */
+  default GraphWriterPartition partition() {
+    return GraphWriterPartition.ALL;
+  }
 }
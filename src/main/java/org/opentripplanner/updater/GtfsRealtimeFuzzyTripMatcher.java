@@ -10,7 +10,6 @@ import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.gtfs.mapping.DirectionMapper;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
 import org.opentripplanner.transit.model.network.Route;
-import org.opentripplanner.transit.model.network.TripPattern;
 import org.opentripplanner.transit.model.timetable.Direction;
 import org.opentripplanner.transit.model.timetable.Trip;
 import org.opentripplanner.transit.model.timetable.TripTimes;
@@ -22,6 +21,8 @@ import org.opentripplanner.transit.service.TransitService;
  * <p>
  * The class should only be used if we know that the feed producer is unable to produce trip_ids in
  * the GTFS-RT feed.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
  */
 public class GtfsRealtimeFuzzyTripMatcher {
 
@@ -78,22 +79,17 @@ public class GtfsRealtimeFuzzyTripMatcher {
     return trip.toBuilder().setTripId(matchedTrip.getId().getId()).build();
   }
 
-  public synchronized Trip getTrip(
-    Route route,
-    Direction direction,
-    int startTime,
-    LocalDate date
-  ) {
+  /**
+   * Find the scheduled trip of the route and direction departing from its first stop at the given
+   * time on the given service date. The lookup uses the immutable start time index of the transit
+   * model, so it does not scan the timetables and does not lock.
+   */
+  public Trip getTrip(Route route, Direction direction, int startTime, LocalDate date) {
     TIntSet servicesRunningForDate = transitService.getServiceCodesRunningForDate(date);
-    for (TripPattern pattern : transitService.getPatternsForRoute(route)) {
-      if (pattern.getDirection() != direction) continue;
-      for (TripTimes times : pattern.getScheduledTimetable().getTripTimes()) {
-        if (
-          times.getScheduledDepartureTime(0) == startTime &&
-          servicesRunningForDate.contains(times.getServiceCode())
-        ) {
-          return times.getTrip();
-        }
+    var candidates = transitService.getScheduledTripTimesStartingAt(route, direction, startTime);
+    for (TripTimes times : candidates) {
+      if (servicesRunningForDate.contains(times.getServiceCode())) {
+        return times.getTrip();
       }
     }
     return null;
@@ -0,0 +1,226 @@
+package org.opentripplanner.updater;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects updates that are streamed to an updater, for example over MQTT, and applies them in
+ * batches instead of submitting one graph writer task for each message.
+ * <p>
+ * The first message after a batch is applied opens a new batch, which is applied when the batch
+ * window has elapsed. Updates with the same key are coalesced, only the last received update is
+ * kept. A message containing a full dataset replaces all pending updates.
+ * <p>
+ * Only one batch is applied at a time. While it is applied, new updates are collected in the next
+ * batch. If the number of pending updates reaches the limit, {@link #add} blocks until the
+ * current batch is applied. This pushes back on the client receiving the messages, instead of
+ * letting the graph writer queue grow without bounds.
+ * <p>
+ * The lag, the time from the timestamp of the oldest message in a batch until the batch is
+ * applied, is reported for each batch.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
+public class StreamingUpdateBatcher<T> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StreamingUpdateBatcher.class);
+
+  private final Duration batchWindow;
+  private final int maxPendingUpdates;
+  private final Function<T, ?> keyFunction;
+  private final BatchHandler<T> batchHandler;
+  private final Consumer<Duration> recordLag;
+  private final Clock clock;
+  private final ScheduledExecutorService scheduler;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notFull = lock.newCondition();
+
+  // The fields below are guarded by the lock
+  private LinkedHashMap<Object, T> pendingUpdates = new LinkedHashMap<>();
+  private boolean fullDataset = false;
+  private Instant oldestMessageTime = null;
+  private boolean flushScheduled = false;
+  private boolean closed = false;
+
+  /**
+   * @param name used to name the thread applying the batches
+   * @param batchWindow how long to collect updates before applying them
+   * @param maxPendingUpdates the number of pending updates at which {@link #add} blocks
+   * @param keyFunction the key identifying updates which replace each other
+   * @param batchHandler submits a batch to the graph writer
+   * @param recordLag records the lag of each applied batch
+   */
+  public StreamingUpdateBatcher(
+    String name,
+    Duration batchWindow,
+    int maxPendingUpdates,
+    Function<T, ?> keyFunction,
+    BatchHandler<T> batchHandler,
+    Consumer<Duration> recordLag
+  ) {
+    this(
+      name,
+      batchWindow,
+      maxPendingUpdates,
+      keyFunction,
+      batchHandler,
+      recordLag,
+      Clock.systemUTC()
+    );
+  }
+
+  /**
+   * @param clock the clock used to compute the lag
+   */
+  StreamingUpdateBatcher(
+    String name,
+    Duration batchWindow,
+    int maxPendingUpdates,
+    Function<T, ?> keyFunction,
+    BatchHandler<T> batchHandler,
+    Consumer<Duration> recordLag,
+    Clock clock
+  ) {
+    this.batchWindow = batchWindow;
+    this.maxPendingUpdates = maxPendingUpdates;
+    this.keyFunction = keyFunction;
+    this.batchHandler = batchHandler;
+    this.recordLag = recordLag;
+    this.clock = clock;
+    this.scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("update-batcher-" + name).build()
+      );
+  }
+
+  /**
+   * Add the updates of one message to the pending batch. Blocks while the number of pending
+   * updates is at the limit.
+   *
+   * @param fullDataset true if the message contains the full dataset
+   * @param messageTime the time the message was created by the producer
+   */
+  public void add(Collection<T> updates, boolean fullDataset, Instant messageTime)
+    throws InterruptedException {
+    lock.lock();
+    try {
+      while (!closed && pendingUpdates.size() >= maxPendingUpdates) {
+        notFull.await();
+      }
+      if (closed) {
+        return;
+      }
+      if (fullDataset) {
+        pendingUpdates.clear();
+        this.fullDataset = true;
+        this.oldestMessageTime = messageTime;
+      } else if (oldestMessageTime == null || messageTime.isBefore(oldestMessageTime)) {
+        this.oldestMessageTime = messageTime;
+      }
+      for (T update : updates) {
+        Object key = keyFunction.apply(update);
+        // Remove first, so that the update is applied in the order it was last received
+        pendingUpdates.remove(key);
+        pendingUpdates.put(key, update);
+      }
+      if (!flushScheduled) {
+        flushScheduled = true;
+        scheduler.schedule(this::flush, batchWindow.toMillis(), TimeUnit.MILLISECONDS);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The number of updates waiting to be applied.
+   */
+  public int pendingUpdates() {
+    lock.lock();
+    try {
+      return pendingUpdates.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Stop applying batches. Pending updates are discarded, and threads blocked in {@link #add}
+   * return.
+   */
+  public void close() {
+    lock.lock();
+    try {
+      closed = true;
+      pendingUpdates.clear();
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    scheduler.shutdownNow();
+  }
+
+  private void flush() {
+    List<T> updates;
+    boolean isFullDataset;
+    Instant messageTime;
+    lock.lock();
+    try {
+      updates = List.copyOf(pendingUpdates.values());
+      isFullDataset = fullDataset;
+      messageTime = oldestMessageTime;
+      pendingUpdates = new LinkedHashMap<>();
+      fullDataset = false;
+      oldestMessageTime = null;
+      flushScheduled = false;
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+
+    if (updates.isEmpty() && !isFullDataset) {
+      return;
+    }
+    try {
+      // Wait for the batch to be applied, so that at most one batch is queued in the graph writer
+      batchHandler.apply(updates, isFullDataset).get();
+      recordLag.accept(Duration.between(messageTime, Instant.now(clock)));
+    } catch (ExecutionException e) {
+      LOG.error("Error applying batch of {} updates", updates.size(), e.getCause());
+    } catch (RuntimeException e) {
+      // Thrown if the batch can not be submitted, an exception escaping the scheduled task would
+      // be swallowed by its future
+      LOG.error("Error submitting batch of {} updates", updates.size(), e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @FunctionalInterface
+  public interface BatchHandler<T> {
+    /**
+     * Submit the batch of updates to the graph writer.
+     *
+     * @param fullDataset true if the batch contains the full dataset
+     * @return a future completing when the updates are applied
+     */
+    Future<?> apply(List<T> updates, boolean fullDataset);
+  }
+}
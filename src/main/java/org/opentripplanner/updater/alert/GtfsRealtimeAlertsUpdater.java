@@ -2,6 +2,7 @@ package org.opentripplanner.updater.alert;
 
 import com.google.transit.realtime.GtfsRealtime.FeedMessage;
 import java.net.URI;
+import org.opentripplanner.framework.io.HttpResourceVersion;
 import org.opentripplanner.framework.io.OtpHttpClient;
 import org.opentripplanner.framework.io.OtpHttpClientFactory;
 import org.opentripplanner.framework.tostring.ToStringBuilder;
@@ -9,6 +10,8 @@ import org.opentripplanner.routing.impl.TransitAlertServiceImpl;
 import org.opentripplanner.routing.services.TransitAlertService;
 import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.updater.GraphWriterPartition;
+import org.opentripplanner.updater.GraphWriterRunnable;
 import org.opentripplanner.updater.GtfsRealtimeFuzzyTripMatcher;
 import org.opentripplanner.updater.spi.HttpHeaders;
 import org.opentripplanner.updater.spi.PollingGraphUpdater;
@@ -28,6 +31,7 @@ public class GtfsRealtimeAlertsUpdater extends PollingGraphUpdater implements Tr
   private final TransitAlertService transitAlertService;
   private final HttpHeaders headers;
   private final OtpHttpClient otpHttpClient;
+  private final HttpResourceVersion version;
   private WriteToGraphCallback saveResultOnGraph;
   private Long lastTimestamp = Long.MIN_VALUE;
 
@@ -52,6 +56,7 @@ public class GtfsRealtimeAlertsUpdater extends PollingGraphUpdater implements Tr
     this.updateHandler.setTransitAlertService(transitAlertService);
     this.updateHandler.setFuzzyTripMatcher(fuzzyTripMatcher);
     this.otpHttpClient = new OtpHttpClientFactory().create(LOG);
+    this.version = new HttpResourceVersion(URI.create(url));
     LOG.info("Creating real-time alert updater running every {}: {}", pollingPeriod(), url);
   }
 
@@ -72,11 +77,17 @@ public class GtfsRealtimeAlertsUpdater extends PollingGraphUpdater implements Tr
   @Override
   protected void runPolling() {
     try {
-      final FeedMessage feed = otpHttpClient.getAndMap(
+      var message = otpHttpClient.getAndMapIfChanged(
         URI.create(url),
         this.headers.asMap(),
+        version,
         FeedMessage.PARSER::parseFrom
       );
+      if (message.isEmpty()) {
+        LOG.debug("Ignoring unchanged feed from {}", url);
+        return;
+      }
+      final FeedMessage feed = message.get();
 
       long feedTimestamp = feed.getHeader().getTimestamp();
       if (feedTimestamp == lastTimestamp) {
@@ -89,7 +100,12 @@ public class GtfsRealtimeAlertsUpdater extends PollingGraphUpdater implements Tr
       }
 
       // Handle update in graph writer runnable
-      saveResultOnGraph.execute((graph, transitModel) -> updateHandler.update(feed));
+      saveResultOnGraph.execute(
+        GraphWriterRunnable.of(
+          GraphWriterPartition.TRANSIT_ALERTS,
+          (graph, transitModel) -> updateHandler.update(feed)
+        )
+      );
 
       lastTimestamp = feedTimestamp;
     } catch (Exception e) {
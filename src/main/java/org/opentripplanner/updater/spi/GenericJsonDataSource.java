@@ -38,14 +38,14 @@ public abstract class GenericJsonDataSource<T> implements DataSource<T> {
 
   @Override
   public boolean update() {
-    List<T> updates = jsonDataListDownloader.download();
-    if (updates != null) {
+    var updates = jsonDataListDownloader.downloadIfChanged();
+    if (updates.isPresent()) {
       synchronized (this) {
-        this.updates = updates;
+        this.updates = updates.get();
       }
       return true;
     }
-    LOG.info("Can't update entities from: {}, keeping current list.", url);
+    LOG.debug("No new entities from: {}, keeping current list.", url);
     return false;
   }
 
@@ -3,6 +3,7 @@ package org.opentripplanner.updater.spi;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
+import java.time.Duration;
 import java.util.List;
 import org.opentripplanner.transit.model.framework.Result;
 
@@ -10,18 +11,31 @@ import org.opentripplanner.transit.model.framework.Result;
  * An aggregation of results of the application of realtime updates which makes it easy to get
  * an overview of what the success rate of the update was and which specific problems were
  * encountered.
+ * <p>
+ * Updaters that apply a message in two phases also report the time spent in each of them: the
+ * preparation of the updates, which may run in parallel, and the application to the timetable
+ * snapshot buffer. The durations are zero if they are not measured.
  */
 public record UpdateResult(
   int successful,
   int failed,
   Multimap<UpdateError.UpdateErrorType, UpdateError> failures,
-  List<UpdateSuccess.WarningType> warnings
+  List<UpdateSuccess.WarningType> warnings,
+  Duration prepareDuration,
+  Duration applyDuration
 ) {
   /**
    * Create an empty result.
    */
   public static UpdateResult empty() {
-    return new UpdateResult(0, 0, ArrayListMultimap.create(), List.of());
+    return new UpdateResult(
+      0,
+      0,
+      ArrayListMultimap.create(),
+      List.of(),
+      Duration.ZERO,
+      Duration.ZERO
+    );
   }
 
   /**
@@ -32,6 +46,20 @@ public record UpdateResult(
     var successes = results.stream().filter(Result::isSuccess).map(Result::successValue).toList();
     var warnings = successes.stream().flatMap(s -> s.warnings().stream()).toList();
     var errorIndex = Multimaps.index(errors, UpdateError::errorType);
-    return new UpdateResult(successes.size(), errors.size(), errorIndex, warnings);
+    return new UpdateResult(
+      successes.size(),
+      errors.size(),
+      errorIndex,
+      warnings,
+      Duration.ZERO,
+      Duration.ZERO
+    );
+  }
+
+  /**
+   * Return a copy of this result with the time spent in the two phases of applying the updates.
+   */
+  public UpdateResult withDurations(Duration prepareDuration, Duration applyDuration) {
+    return new UpdateResult(successful, failed, failures, warnings, prepareDuration, applyDuration);
   }
 }
@@ -5,10 +5,12 @@ import org.opentripplanner.updater.GraphWriterRunnable;
 
 public interface WriteToGraphCallback {
   /**
-   * This is the method to use to modify the graph from the updaters. The runnables will be
-   * scheduled after each other, guaranteeing that only one of these runnables will be active at any
-   * time. If a particular GraphUpdater calls this method on more than one GraphWriterRunnable, they
-   * should be executed in the same order that GraphUpdater made the calls.
+   * This is the method to use to modify the graph from the updaters. The runnables of the same
+   * {@link org.opentripplanner.updater.GraphWriterPartition} will be scheduled after each other,
+   * guaranteeing that only one of these runnables will be active at any time. Runnables of
+   * different partitions may run concurrently. If a particular GraphUpdater calls this method on
+   * more than one GraphWriterRunnable of the same partition, they should be executed in the same
+   * order that GraphUpdater made the calls.
    *
    * @param runnable is a graph writer runnable
    */
@@ -12,6 +12,7 @@ import de.mfdz.MfdzRealtimeExtensions;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import org.opentripplanner.framework.io.HttpResourceVersion;
 import org.opentripplanner.framework.io.OtpHttpClient;
 import org.opentripplanner.framework.io.OtpHttpClientFactory;
 import org.opentripplanner.framework.tostring.ToStringBuilder;
@@ -31,6 +32,7 @@ public class GtfsRealtimeTripUpdateSource {
   private UpdateIncrementality updateIncrementality = FULL_DATASET;
   private final ExtensionRegistry registry = ExtensionRegistry.newInstance();
   private final OtpHttpClient otpHttpClient;
+  private final HttpResourceVersion version;
 
   public GtfsRealtimeTripUpdateSource(PollingTripUpdaterParameters config) {
     this.feedId = config.feedId();
@@ -38,8 +40,13 @@ public class GtfsRealtimeTripUpdateSource {
     this.headers = HttpHeaders.of().acceptProtobuf().add(config.headers()).build();
     MfdzRealtimeExtensions.registerAllExtensions(registry);
     otpHttpClient = new OtpHttpClientFactory().create(LOG);
+    version = new HttpResourceVersion(URI.create(url));
   }
 
+  /**
+   * Fetch the trip updates. Returns null if the feed is unchanged since the previous call, or if
+   * it could not be fetched.
+   */
   public List<TripUpdate> getUpdates() {
     FeedMessage feedMessage;
     List<FeedEntity> feedEntityList;
@@ -47,12 +54,17 @@ public class GtfsRealtimeTripUpdateSource {
     updateIncrementality = FULL_DATASET;
     try {
       // Decode message
-      feedMessage =
-        otpHttpClient.getAndMap(
-          URI.create(url),
-          this.headers.asMap(),
-          is -> FeedMessage.parseFrom(is, registry)
-        );
+      var message = otpHttpClient.getAndMapIfChanged(
+        URI.create(url),
+        this.headers.asMap(),
+        version,
+        is -> FeedMessage.parseFrom(is, registry)
+      );
+      if (message.isEmpty()) {
+        LOG.debug("Feed from {} is unchanged, skipping it", url);
+        return null;
+      }
+      feedMessage = message.get();
       feedEntityList = feedMessage.getEntityList();
 
       // Change fullDataset value if this is an incremental update
@@ -6,8 +6,10 @@ import static org.opentripplanner.updater.trip.UpdateIncrementality.FULL_DATASET
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.transit.realtime.GtfsRealtime;
 import java.net.URI;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
 import org.eclipse.paho.client.mqttv3.MqttCallbackExtended;
@@ -20,6 +22,7 @@ import org.opentripplanner.framework.tostring.ToStringBuilder;
 import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.transit.service.TransitModel;
 import org.opentripplanner.updater.GtfsRealtimeFuzzyTripMatcher;
+import org.opentripplanner.updater.StreamingUpdateBatcher;
 import org.opentripplanner.updater.spi.GraphUpdater;
 import org.opentripplanner.updater.spi.UpdateResult;
 import org.opentripplanner.updater.spi.WriteToGraphCallback;
@@ -29,8 +32,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This class starts an Paho MQTT client which opens a connection to a GTFS-RT data source. A
- * callback is registered which handles incoming GTFS-RT messages as they stream in by placing a
- * GTFS-RT decoder Runnable task in the single-threaded executor for handling.
+ * callback is registered which decodes incoming GTFS-RT messages as they stream in, and adds the
+ * trip updates to a {@link StreamingUpdateBatcher}. The batcher applies the trip updates in
+ * batches, keeping only the last update of each trip in a batch.
  * <p>
  * Usage example in the file 'router-config.json', inside the 'updaters' array:
  *
@@ -48,6 +52,13 @@ import org.slf4j.LoggerFactory;
 public class MqttGtfsRealtimeUpdater implements GraphUpdater {
 
   private static final Logger LOG = LoggerFactory.getLogger(MqttGtfsRealtimeUpdater.class);
+
+  /**
+   * The number of pending trip updates at which the MQTT client stops receiving messages until the
+   * current batch is applied.
+   */
+  private static final int MAX_PENDING_UPDATES = 100_000;
+
   private final String url;
   private final String topic;
   private final String feedId;
@@ -58,6 +69,7 @@ public class MqttGtfsRealtimeUpdater implements GraphUpdater {
   private final MemoryPersistence persistence = new MemoryPersistence();
   private final TimetableSnapshotSource snapshotSource;
   private final Consumer<UpdateResult> recordMetrics;
+  private final StreamingUpdateBatcher<GtfsRealtime.TripUpdate> batcher;
   private WriteToGraphCallback saveResultOnGraph;
 
   private GtfsRealtimeFuzzyTripMatcher fuzzyTripMatcher = null;
@@ -82,6 +94,15 @@ public class MqttGtfsRealtimeUpdater implements GraphUpdater {
         new GtfsRealtimeFuzzyTripMatcher(new DefaultTransitService(transitModel));
     }
     this.recordMetrics = TripUpdateMetrics.streaming(parameters);
+    this.batcher =
+      new StreamingUpdateBatcher<>(
+        configRef,
+        parameters.getBatchWindow(),
+        MAX_PENDING_UPDATES,
+        GtfsRealtime.TripUpdate::getTrip,
+        this::applyBatch,
+        TripUpdateMetrics.streamingLag(parameters)
+      );
     LOG.info("Creating streaming GTFS-RT TripUpdate updater subscribing to MQTT broker at {}", url);
   }
 
@@ -110,6 +131,7 @@ public class MqttGtfsRealtimeUpdater implements GraphUpdater {
 
   @Override
   public void teardown() {
+    batcher.close();
     try {
       client.disconnect();
     } catch (MqttException e) {
@@ -122,6 +144,20 @@ public class MqttGtfsRealtimeUpdater implements GraphUpdater {
     return configRef;
   }
 
+  private Future<?> applyBatch(List<GtfsRealtime.TripUpdate> updates, boolean fullDataset) {
+    return saveResultOnGraph.execute(
+      new TripUpdateGraphWriterRunnable(
+        snapshotSource,
+        fuzzyTripMatcher,
+        backwardsDelayPropagationType,
+        fullDataset ? FULL_DATASET : DIFFERENTIAL,
+        updates,
+        feedId,
+        recordMetrics
+      )
+    );
+  }
+
   private class Callback implements MqttCallbackExtended {
 
     @Override
@@ -143,6 +179,7 @@ public class MqttGtfsRealtimeUpdater implements GraphUpdater {
     public void messageArrived(String topic, MqttMessage message) {
       List<GtfsRealtime.TripUpdate> updates = null;
       UpdateIncrementality updateIncrementality = FULL_DATASET;
+      Instant messageTime = Instant.now();
       try {
         // Decode message
         GtfsRealtime.FeedMessage feedMessage = GtfsRealtime.FeedMessage.PARSER.parseFrom(
@@ -161,6 +198,9 @@ public class MqttGtfsRealtimeUpdater implements GraphUpdater {
         ) {
           updateIncrementality = DIFFERENTIAL;
         }
+        if (feedMessage.hasHeader() && feedMessage.getHeader().hasTimestamp()) {
+          messageTime = Instant.ofEpochSecond(feedMessage.getHeader().getTimestamp());
+        }
 
         // Create List of TripUpdates
         updates = new ArrayList<>(feedEntityList.size());
@@ -174,18 +214,11 @@ public class MqttGtfsRealtimeUpdater implements GraphUpdater {
       }
 
       if (updates != null) {
-        // Handle trip updates via graph writer runnable
-        saveResultOnGraph.execute(
-          new TripUpdateGraphWriterRunnable(
-            snapshotSource,
-            fuzzyTripMatcher,
-            backwardsDelayPropagationType,
-            updateIncrementality,
-            updates,
-            feedId,
-            recordMetrics
-          )
-        );
+        try {
+          batcher.add(updates, updateIncrementality == FULL_DATASET, messageTime);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
       }
     }
 
@@ -23,6 +23,7 @@ import com.google.transit.realtime.GtfsRealtime.TripUpdate;
 import com.google.transit.realtime.GtfsRealtime.TripUpdate.StopTimeUpdate;
 import de.mfdz.MfdzRealtimeExtensions;
 import java.text.ParseException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
@@ -33,6 +34,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.opentripplanner.framework.i18n.I18NString;
 import org.opentripplanner.framework.i18n.NonLocalizedString;
 import org.opentripplanner.framework.lang.StringUtils;
@@ -42,6 +44,7 @@ import org.opentripplanner.model.StopTime;
 import org.opentripplanner.model.Timetable;
 import org.opentripplanner.model.TimetableSnapshot;
 import org.opentripplanner.model.TimetableSnapshotProvider;
+import org.opentripplanner.model.TripTimesPatch;
 import org.opentripplanner.transit.model.basic.TransitMode;
 import org.opentripplanner.transit.model.framework.DataValidationException;
 import org.opentripplanner.transit.model.framework.Deduplicator;
@@ -153,6 +156,20 @@ public class TimetableSnapshotSource implements TimetableSnapshotProvider {
     Map<TripDescriptor.ScheduleRelationship, Integer> failuresByRelationship = new HashMap<>();
     List<Result<UpdateSuccess, UpdateError>> results = new ArrayList<>();
 
+    // Phase one: match and validate the updates and compute the new trip times of scheduled
+    // trips. This only reads the scheduled data, so it runs in parallel before locking the buffer.
+    long prepareStart = System.nanoTime();
+    List<PreparedTripUpdate> preparedUpdates = updates
+      .parallelStream()
+      .map(tripUpdate ->
+        prepareTripUpdate(fuzzyTripMatcher, backwardsDelayPropagationType, tripUpdate, feedId)
+      )
+      .filter(Objects::nonNull)
+      .toList();
+    var prepareDuration = Duration.ofNanos(System.nanoTime() - prepareStart);
+
+    // Phase two: apply the prepared updates to the buffer, in the order of the message
+    long applyStart = System.nanoTime();
     snapshotManager.withLock(() -> {
       if (updateIncrementality == FULL_DATASET) {
         // Remove all updates from the buffer
@@ -161,47 +178,12 @@ public class TimetableSnapshotSource implements TimetableSnapshotProvider {
 
       LOG.debug("message contains {} trip updates", updates.size());
       int uIndex = 0;
-      for (TripUpdate tripUpdate : updates) {
-        if (!tripUpdate.hasTrip()) {
-          debug(feedId, "", "Missing TripDescriptor in gtfs-rt trip update: \n{}", tripUpdate);
-          continue;
-        }
-
-        if (fuzzyTripMatcher != null) {
-          final TripDescriptor trip = fuzzyTripMatcher.match(feedId, tripUpdate.getTrip());
-          tripUpdate = tripUpdate.toBuilder().setTrip(trip).build();
-        }
-
-        final TripDescriptor tripDescriptor = tripUpdate.getTrip();
-
-        if (!tripDescriptor.hasTripId() || tripDescriptor.getTripId().isBlank()) {
-          debug(feedId, "", "No trip id found for gtfs-rt trip update: \n{}", tripUpdate);
-          continue;
-        }
+      for (PreparedTripUpdate preparedUpdate : preparedUpdates) {
+        var tripUpdate = preparedUpdate.tripUpdate();
+        var tripId = preparedUpdate.tripId();
+        var serviceDate = preparedUpdate.serviceDate();
+        var tripScheduleRelationship = preparedUpdate.scheduleRelationship();
 
-        FeedScopedId tripId = new FeedScopedId(feedId, tripUpdate.getTrip().getTripId());
-
-        LocalDate serviceDate;
-        if (tripDescriptor.hasStartDate()) {
-          try {
-            serviceDate = ServiceDateUtils.parseString(tripDescriptor.getStartDate());
-          } catch (final ParseException e) {
-            debug(
-              tripId,
-              "Failed to parse start date in gtfs-rt trip update: {}",
-              tripDescriptor.getStartDate()
-            );
-            continue;
-          }
-        } else {
-          // TODO: figure out the correct service date. For the special case that a trip
-          // starts for example at 40:00, yesterday would probably be a better guess.
-          serviceDate = localDateNow.get();
-        }
-        // Determine what kind of trip update this is
-        final TripDescriptor.ScheduleRelationship tripScheduleRelationship = determineTripScheduleRelationship(
-          tripDescriptor
-        );
         if (updateIncrementality == DIFFERENTIAL) {
           purgePatternModifications(tripScheduleRelationship, tripId, serviceDate);
         }
@@ -215,14 +197,13 @@ public class TimetableSnapshotSource implements TimetableSnapshotProvider {
           result =
             switch (tripScheduleRelationship) {
               case SCHEDULED -> handleScheduledTrip(
-                tripUpdate,
+                preparedUpdate.scheduledTripTimes(),
                 tripId,
-                serviceDate,
-                backwardsDelayPropagationType
+                serviceDate
               );
               case ADDED -> validateAndHandleAddedTrip(
                 tripUpdate,
-                tripDescriptor,
+                tripUpdate.getTrip(),
                 tripId,
                 serviceDate
               );
@@ -240,7 +221,7 @@ public class TimetableSnapshotSource implements TimetableSnapshotProvider {
               );
               case REPLACEMENT -> validateAndHandleModifiedTrip(
                 tripUpdate,
-                tripDescriptor,
+                tripUpdate.getTrip(),
                 tripId,
                 serviceDate
               );
@@ -266,8 +247,11 @@ public class TimetableSnapshotSource implements TimetableSnapshotProvider {
 
       snapshotManager.purgeAndCommit();
     });
+    var applyDuration = Duration.ofNanos(System.nanoTime() - applyStart);
 
-    var updateResult = UpdateResult.ofResults(results);
+    var updateResult = UpdateResult
+      .ofResults(results)
+      .withDurations(prepareDuration, applyDuration);
 
     if (updateIncrementality == FULL_DATASET) {
       logUpdateResult(feedId, failuresByRelationship, updateResult);
@@ -275,6 +259,80 @@ public class TimetableSnapshotSource implements TimetableSnapshotProvider {
     return updateResult;
   }
 
+  /**
+   * Match and validate a trip update, and compute the new trip times if the trip is scheduled.
+   * This method is called in parallel for the updates of a message, so it must not modify any
+   * shared state or read the snapshot buffer.
+   *
+   * @return the prepared update, or null if the update should be skipped
+   */
+  @Nullable
+  private PreparedTripUpdate prepareTripUpdate(
+    @Nullable GtfsRealtimeFuzzyTripMatcher fuzzyTripMatcher,
+    BackwardsDelayPropagationType backwardsDelayPropagationType,
+    TripUpdate tripUpdate,
+    String feedId
+  ) {
+    if (!tripUpdate.hasTrip()) {
+      debug(feedId, "", "Missing TripDescriptor in gtfs-rt trip update: \n{}", tripUpdate);
+      return null;
+    }
+
+    if (fuzzyTripMatcher != null) {
+      final TripDescriptor trip = fuzzyTripMatcher.match(feedId, tripUpdate.getTrip());
+      tripUpdate = tripUpdate.toBuilder().setTrip(trip).build();
+    }
+
+    final TripDescriptor tripDescriptor = tripUpdate.getTrip();
+
+    if (!tripDescriptor.hasTripId() || tripDescriptor.getTripId().isBlank()) {
+      debug(feedId, "", "No trip id found for gtfs-rt trip update: \n{}", tripUpdate);
+      return null;
+    }
+
+    FeedScopedId tripId = new FeedScopedId(feedId, tripUpdate.getTrip().getTripId());
+
+    LocalDate serviceDate;
+    if (tripDescriptor.hasStartDate()) {
+      try {
+        serviceDate = ServiceDateUtils.parseString(tripDescriptor.getStartDate());
+      } catch (final ParseException e) {
+        debug(
+          tripId,
+          "Failed to parse start date in gtfs-rt trip update: {}",
+          tripDescriptor.getStartDate()
+        );
+        return null;
+      }
+    } else {
+      // TODO: figure out the correct service date. For the special case that a trip
+      // starts for example at 40:00, yesterday would probably be a better guess.
+      serviceDate = localDateNow.get();
+    }
+    // Determine what kind of trip update this is
+    final TripDescriptor.ScheduleRelationship tripScheduleRelationship = determineTripScheduleRelationship(
+      tripDescriptor
+    );
+
+    Result<ScheduledTripTimes, UpdateError> scheduledTripTimes = null;
+    if (tripScheduleRelationship == TripDescriptor.ScheduleRelationship.SCHEDULED) {
+      try {
+        scheduledTripTimes =
+          prepareScheduledTrip(tripUpdate, tripId, serviceDate, backwardsDelayPropagationType);
+      } catch (DataValidationException e) {
+        scheduledTripTimes = DataValidationExceptionMapper.toResult(e);
+      }
+    }
+
+    return new PreparedTripUpdate(
+      tripUpdate,
+      tripId,
+      serviceDate,
+      tripScheduleRelationship,
+      scheduledTripTimes
+    );
+  }
+
   /**
    * Remove previous realtime updates for this trip. This is necessary to avoid previous stop
    * pattern modifications from persisting. If a trip was previously added with the
@@ -366,7 +424,11 @@ public class TimetableSnapshotSource implements TimetableSnapshotProvider {
     return tripScheduleRelationship;
   }
 
-  private Result<UpdateSuccess, UpdateError> handleScheduledTrip(
+  /**
+   * Compute the new trip times of a SCHEDULED trip from its scheduled trip times. This only reads
+   * the scheduled data and may run in parallel.
+   */
+  private Result<ScheduledTripTimes, UpdateError> prepareScheduledTrip(
     TripUpdate tripUpdate,
     FeedScopedId tripId,
     LocalDate serviceDate,
@@ -414,13 +476,31 @@ public class TimetableSnapshotSource implements TimetableSnapshotProvider {
 
     var tripTimesPatch = result.successValue();
 
+    // Make sure that updated trip times have the correct real time state
+    tripTimesPatch.getTripTimes().setRealTimeState(RealTimeState.UPDATED);
+
+    return Result.success(new ScheduledTripTimes(pattern, tripTimesPatch));
+  }
+
+  /**
+   * Apply the trip times computed by {@link #prepareScheduledTrip} to the buffer.
+   */
+  private Result<UpdateSuccess, UpdateError> handleScheduledTrip(
+    Result<ScheduledTripTimes, UpdateError> scheduledTripTimes,
+    FeedScopedId tripId,
+    LocalDate serviceDate
+  ) {
+    if (scheduledTripTimes.isFailure()) {
+      return scheduledTripTimes.toFailureResult();
+    }
+
+    var pattern = scheduledTripTimes.successValue().pattern();
+    var tripTimesPatch = scheduledTripTimes.successValue().tripTimesPatch();
+
     List<Integer> skippedStopIndices = tripTimesPatch.getSkippedStopIndices();
 
     var updatedTripTimes = tripTimesPatch.getTripTimes();
 
-    // Make sure that updated trip times have the correct real time state
-    updatedTripTimes.setRealTimeState(RealTimeState.UPDATED);
-
     // If there are skipped stops, we need to change the pattern from the scheduled one
     if (skippedStopIndices.size() > 0) {
       StopPattern newStopPattern = pattern
@@ -1114,4 +1194,18 @@ public class TimetableSnapshotSource implements TimetableSnapshotProvider {
     CANCEL,
     DELETE,
   }
+
+  /**
+   * A trip update that has been matched and validated in the first, parallel phase of
+   * {@link #applyTripUpdates}. For SCHEDULED trips, the new trip times have been computed as well.
+   */
+  private record PreparedTripUpdate(
+    TripUpdate tripUpdate,
+    FeedScopedId tripId,
+    LocalDate serviceDate,
+    TripDescriptor.ScheduleRelationship scheduleRelationship,
+    @Nullable Result<ScheduledTripTimes, UpdateError> scheduledTripTimes
+  ) {}
+
+  private record ScheduledTripTimes(TripPattern pattern, TripTimesPatch tripTimesPatch) {}
 }
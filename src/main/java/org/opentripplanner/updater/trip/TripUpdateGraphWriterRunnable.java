@@ -6,6 +6,7 @@ import java.util.Objects;
 import java.util.function.Consumer;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.updater.GraphWriterPartition;
 import org.opentripplanner.updater.GraphWriterRunnable;
 import org.opentripplanner.updater.GtfsRealtimeFuzzyTripMatcher;
 import org.opentripplanner.updater.spi.UpdateResult;
@@ -56,4 +57,9 @@ class TripUpdateGraphWriterRunnable implements GraphWriterRunnable {
     );
     sendMetrics.accept(result);
   }
+
+  @Override
+  public GraphWriterPartition partition() {
+    return GraphWriterPartition.TIMETABLE_SNAPSHOT;
+  }
 }
@@ -4,6 +4,7 @@ import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -28,6 +29,8 @@ public class BatchTripUpdateMetrics extends TripUpdateMetrics {
   private final AtomicInteger successfulGauge;
   private final AtomicInteger failureGauge;
   private final AtomicInteger warningsGauge;
+  private final Timer prepareTimer;
+  private final Timer applyTimer;
   private final Map<UpdateError.UpdateErrorType, AtomicInteger> failuresByType = new HashMap<>();
   private final Map<UpdateSuccess.WarningType, AtomicInteger> warningsByType = new HashMap<>();
 
@@ -43,12 +46,27 @@ public class BatchTripUpdateMetrics extends TripUpdateMetrics {
 
     this.warningsGauge =
       getGauge("warnings", "Number of warnings when successfully applying trip updates");
+
+    this.prepareTimer =
+      getPhaseTimer(
+        METRICS_PREFIX,
+        "prepare",
+        "Time spent matching and validating trip updates and computing their trip times"
+      );
+    this.applyTimer =
+      getPhaseTimer(
+        METRICS_PREFIX,
+        "apply",
+        "Time spent applying trip updates to the timetable snapshot buffer"
+      );
   }
 
   public void setGauges(UpdateResult result) {
     this.successfulGauge.set(result.successful());
     this.failureGauge.set(result.failed());
     this.warningsGauge.set(result.warnings().size());
+    recordPhase(prepareTimer, result.prepareDuration());
+    recordPhase(applyTimer, result.applyDuration());
 
     setFailureTypes(result);
 
@@ -1,6 +1,9 @@
 package org.opentripplanner.updater.trip.metrics;
 
+import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -36,6 +39,42 @@ public class TripUpdateMetrics {
     });
   }
 
+  /**
+   * Record the lag of streamed trip updates, the time from the message timestamp until the trip
+   * updates are applied.
+   */
+  public static Consumer<Duration> streamingLag(UrlUpdaterParameters parameters) {
+    if (OTPFeature.ActuatorAPI.isOn()) {
+      var timer = new TripUpdateMetrics(parameters)
+        .getPhaseTimer(
+          StreamingTripUpdateMetrics.METRICS_PREFIX,
+          "lag",
+          "Time from the message timestamp until the trip updates are applied"
+        );
+      return timer::record;
+    } else {
+      return ignored -> {};
+    }
+  }
+
+  /**
+   * Create a timer for one of the phases of applying a message, see
+   * {@link UpdateResult#prepareDuration()} and {@link UpdateResult#applyDuration()}.
+   */
+  protected Timer getPhaseTimer(String metricsPrefix, String phase, String description) {
+    return Timer
+      .builder(metricsPrefix + "." + phase + "_time")
+      .description(description)
+      .tags(baseTags)
+      .register(Metrics.globalRegistry);
+  }
+
+  protected static void recordPhase(Timer timer, Duration duration) {
+    if (!duration.isZero()) {
+      timer.record(duration);
+    }
+  }
+
   private static Consumer<UpdateResult> getConsumer(Supplier<Consumer<UpdateResult>> maker) {
     if (OTPFeature.ActuatorAPI.isOn()) {
       return maker.get();
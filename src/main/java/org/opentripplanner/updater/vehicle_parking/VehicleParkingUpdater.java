@@ -24,6 +24,7 @@ import org.opentripplanner.street.search.TraverseMode;
 import org.opentripplanner.street.search.TraverseModeSet;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
 import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.updater.GraphWriterPartition;
 import org.opentripplanner.updater.GraphWriterRunnable;
 import org.opentripplanner.updater.spi.DataSource;
 import org.opentripplanner.updater.spi.PollingGraphUpdater;
@@ -97,6 +98,11 @@ public class VehicleParkingUpdater extends PollingGraphUpdater {
       this.updatedVehicleParkings = new HashSet<>(updatedVehicleParkings);
     }
 
+    @Override
+    public GraphWriterPartition partition() {
+      return GraphWriterPartition.STREET_GRAPH;
+    }
+
     @Override
     public void run(Graph graph, TransitModel transitModel) {
       // Apply stations to graph
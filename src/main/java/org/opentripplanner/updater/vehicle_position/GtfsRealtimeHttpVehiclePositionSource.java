@@ -7,6 +7,7 @@ import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import org.opentripplanner.framework.io.HttpResourceVersion;
 import org.opentripplanner.framework.io.OtpHttpClient;
 import org.opentripplanner.framework.io.OtpHttpClientException;
 import org.opentripplanner.framework.io.OtpHttpClientFactory;
@@ -30,19 +31,32 @@ public class GtfsRealtimeHttpVehiclePositionSource {
   private final URI url;
   private final HttpHeaders headers;
   private final OtpHttpClient otpHttpClient;
+  private final HttpResourceVersion version;
 
   public GtfsRealtimeHttpVehiclePositionSource(URI url, HttpHeaders headers) {
     this.url = url;
     this.headers = HttpHeaders.of().acceptProtobuf().add(headers).build();
     this.otpHttpClient = new OtpHttpClientFactory().create(LOG);
+    this.version = new HttpResourceVersion(url);
   }
 
   /**
-   * Parses raw GTFS-RT data into vehicle positions
+   * Parses raw GTFS-RT data into vehicle positions. Returns null if the feed is unchanged since
+   * the previous call.
    */
   public List<VehiclePosition> getPositions() {
     try {
-      return otpHttpClient.getAndMap(url, headers.asMap(), this::getPositions);
+      var positions = otpHttpClient.getAndMapIfChanged(
+        url,
+        headers.asMap(),
+        version,
+        this::getPositions
+      );
+      if (positions.isEmpty()) {
+        LOG.debug("Vehicle positions from {} are unchanged, skipping them", url);
+        return null;
+      }
+      return positions.get();
     } catch (OtpHttpClientException e) {
       LOG.warn("Error reading vehicle positions from {}", url, e);
     }
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Objects;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.updater.GraphWriterPartition;
 import org.opentripplanner.updater.GraphWriterRunnable;
 
 public record VehiclePositionUpdaterRunnable(
@@ -22,4 +23,9 @@ public record VehiclePositionUpdaterRunnable(
     // Apply new vehicle positions
     matcher.applyRealtimeVehicleUpdates(updates);
   }
+
+  @Override
+  public GraphWriterPartition partition() {
+    return GraphWriterPartition.REALTIME_VEHICLES;
+  }
 }
@@ -1,5 +1,6 @@
 package org.opentripplanner.updater.vehicle_rental;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -12,6 +13,7 @@ import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.LineString;
 import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
 import org.opentripplanner.framework.geometry.GeometryUtils;
 import org.opentripplanner.service.vehiclerental.model.GeofencingZone;
 import org.opentripplanner.service.vehiclerental.street.BusinessAreaBorder;
@@ -35,79 +37,141 @@ class GeofencingVertexUpdater {
 
   private final Function<Envelope, Collection<Edge>> getEdgesForEnvelope;
 
+  /**
+   * The zones applied to the street graph by the latest update. Only {@link #apply} changes it, so
+   * an update which is computed but not yet applied does not affect the next computation.
+   */
+  private volatile AppliedZones appliedZones = AppliedZones.EMPTY;
+
   public GeofencingVertexUpdater(Function<Envelope, Collection<Edge>> getEdgesForEnvelope) {
     this.getEdgesForEnvelope = getEdgesForEnvelope;
   }
 
   /**
    * Applies the restrictions described in the geofencing zones to eges by adding
-   * {@link RentalRestrictionExtension} to them.
+   * {@link RentalRestrictionExtension} to them. Restrictions of zones which are no longer present
+   * are removed.
    */
   Map<StreetEdge, RentalRestrictionExtension> applyGeofencingZones(
     Collection<GeofencingZone> geofencingZones
   ) {
-    var restrictedZones = geofencingZones.stream().filter(GeofencingZone::hasRestriction).toList();
+    var update = computeUpdate(geofencingZones);
+    apply(update);
+    return update.modifiedEdges();
+  }
+
+  /**
+   * Compute the difference between the applied and the given geofencing zones, without modifying
+   * the street graph or this updater. Only zones which have changed are intersected with the
+   * street edges, and this is done in parallel. The returned update must be applied with
+   * {@link #apply} on the graph writer thread before the next update is computed.
+   */
+  GeofencingUpdate computeUpdate(Collection<GeofencingZone> geofencingZones) {
+    var applied = appliedZones;
+    var restrictedZones = geofencingZones
+      .stream()
+      .filter(GeofencingZone::hasRestriction)
+      .collect(Collectors.toSet());
+
+    var removed = new ArrayList<Map<StreetEdge, RentalRestrictionExtension>>();
+    var added = new ArrayList<Map<StreetEdge, RentalRestrictionExtension>>();
 
     // these are the edges inside business area where exceptions like "no pass through"
     // or "no drop-off" are added
-    var restrictedEdges = addExtensionToIntersectingStreetEdges(
-      restrictedZones,
-      GeofencingZoneExtension::new
-    );
-
-    var updates = new HashMap<>(restrictedEdges);
+    Map<GeofencingZone, Map<StreetEdge, RentalRestrictionExtension>> newEdgesByRestrictedZone = new HashMap<>();
+    applied.edgesByRestrictedZone().forEach((zone, edges) -> {
+      if (restrictedZones.contains(zone)) {
+        newEdgesByRestrictedZone.put(zone, edges);
+      } else {
+        removed.add(edges);
+      }
+    });
+    var newZones = restrictedZones
+      .stream()
+      .filter(zone -> !newEdgesByRestrictedZone.containsKey(zone))
+      .toList();
+    var newZoneEdges = newZones
+      .parallelStream()
+      .map(zone -> findIntersectingEdges(zone.geometry(), new GeofencingZoneExtension(zone)))
+      .toList();
+    for (int i = 0; i < newZones.size(); i++) {
+      newEdgesByRestrictedZone.put(newZones.get(i), newZoneEdges.get(i));
+      added.add(newZoneEdges.get(i));
+    }
 
     var generalBusinessAreas = geofencingZones
       .stream()
       .filter(GeofencingZone::isBusinessArea)
-      .toList();
+      .collect(Collectors.toSet());
+    var newBusinessAreaBorderEdges = applied.businessAreaBorderEdges();
 
-    if (!generalBusinessAreas.isEmpty()) {
-      // if the geofencing zones don't have any restrictions then they describe a general business
-      // area which you can traverse freely but are not allowed to leave
-      // here we just take the boundary of the geometry since we want to add a "no pass through"
-      // restriction to any edge intersecting it
-
-      var network = generalBusinessAreas.get(0).id().getFeedId();
-      var polygons = generalBusinessAreas
-        .stream()
-        .map(GeofencingZone::geometry)
-        .toArray(Geometry[]::new);
-
-      var unionOfBusinessAreas = GeometryUtils
-        .getGeometryFactory()
-        .createGeometryCollection(polygons)
-        .union();
-
-      var updated = applyExtension(
-        unionOfBusinessAreas.getBoundary(),
-        new BusinessAreaBorder(network)
-      );
-
-      updates.putAll(updated);
+    if (!generalBusinessAreas.equals(applied.businessAreas())) {
+      removed.add(applied.businessAreaBorderEdges());
+      newBusinessAreaBorderEdges = findBusinessAreaBorderEdges(generalBusinessAreas);
+      added.add(newBusinessAreaBorderEdges);
     }
 
-    return Map.copyOf(updates);
+    var newAppliedZones = new AppliedZones(
+      Map.copyOf(newEdgesByRestrictedZone),
+      generalBusinessAreas,
+      newBusinessAreaBorderEdges
+    );
+
+    var modifiedEdges = new HashMap<StreetEdge, RentalRestrictionExtension>();
+    newAppliedZones.edgesByRestrictedZone().values().forEach(modifiedEdges::putAll);
+    modifiedEdges.putAll(newAppliedZones.businessAreaBorderEdges());
+
+    return new GeofencingUpdate(
+      List.copyOf(removed),
+      List.copyOf(added),
+      Map.copyOf(modifiedEdges),
+      newAppliedZones
+    );
+  }
+
+  /**
+   * Apply the update to the street edges and make its zones the applied zones. This must be
+   * called on the graph writer thread.
+   */
+  void apply(GeofencingUpdate update) {
+    update.removed().forEach(edges -> edges.forEach(StreetEdge::removeRentalExtension));
+    update.added().forEach(edges -> edges.forEach(StreetEdge::addRentalRestriction));
+    appliedZones = update.appliedZones();
   }
 
-  private Map<StreetEdge, RentalRestrictionExtension> addExtensionToIntersectingStreetEdges(
-    List<GeofencingZone> zones,
-    Function<GeofencingZone, RentalRestrictionExtension> createExtension
+  private Map<StreetEdge, RentalRestrictionExtension> findBusinessAreaBorderEdges(
+    Set<GeofencingZone> generalBusinessAreas
   ) {
-    var edgesUpdated = new HashMap<StreetEdge, RentalRestrictionExtension>();
-    for (GeofencingZone zone : zones) {
-      var geom = zone.geometry();
-      var ext = createExtension.apply(zone);
-      edgesUpdated.putAll(applyExtension(geom, ext));
+    if (generalBusinessAreas.isEmpty()) {
+      return Map.of();
     }
-    return edgesUpdated;
+    // if the geofencing zones don't have any restrictions then they describe a general business
+    // area which you can traverse freely but are not allowed to leave
+    // here we just take the boundary of the geometry since we want to add a "no pass through"
+    // restriction to any edge intersecting it
+
+    var network = generalBusinessAreas.iterator().next().id().getFeedId();
+    var polygons = generalBusinessAreas
+      .stream()
+      .map(GeofencingZone::geometry)
+      .toArray(Geometry[]::new);
+
+    var unionOfBusinessAreas = GeometryUtils
+      .getGeometryFactory()
+      .createGeometryCollection(polygons)
+      .union();
+
+    return findIntersectingEdges(
+      unionOfBusinessAreas.getBoundary(),
+      new BusinessAreaBorder(network)
+    );
   }
 
-  private Map<StreetEdge, RentalRestrictionExtension> applyExtension(
+  private Map<StreetEdge, RentalRestrictionExtension> findIntersectingEdges(
     Geometry geom,
     RentalRestrictionExtension ext
   ) {
-    var edgesUpdated = new HashMap<StreetEdge, RentalRestrictionExtension>();
+    var edgesFound = new HashMap<StreetEdge, RentalRestrictionExtension>();
     Set<Edge> candidates;
     // for business areas we only care about the borders so we compute the boundary of the
     // (multi) polygon. this can either be a MultiLineString or a LineString
@@ -119,13 +183,14 @@ class GeofencingVertexUpdater {
     } else {
       candidates = Set.copyOf(getEdgesForEnvelope.apply(geom.getEnvelopeInternal()));
     }
+    // the geometry is tested against many edges, so it pays off to prepare it
+    var preparedGeom = PreparedGeometryFactory.prepare(geom);
     for (var e : candidates) {
-      if (e instanceof StreetEdge streetEdge && streetEdge.getGeometry().intersects(geom)) {
-        streetEdge.addRentalRestriction(ext);
-        edgesUpdated.put(streetEdge, ext);
+      if (e instanceof StreetEdge streetEdge && preparedGeom.intersects(streetEdge.getGeometry())) {
+        edgesFound.put(streetEdge, ext);
       }
     }
-    return edgesUpdated;
+    return Map.copyOf(edgesFound);
   }
 
   /**
@@ -151,4 +216,27 @@ class GeofencingVertexUpdater {
       .flatMap(Collection::stream)
       .collect(Collectors.toSet());
   }
+
+  /**
+   * The rental restrictions to remove from and add to the street edges, and the zones which are
+   * applied after the update. The removals are applied first.
+   */
+  record GeofencingUpdate(
+    List<Map<StreetEdge, RentalRestrictionExtension>> removed,
+    List<Map<StreetEdge, RentalRestrictionExtension>> added,
+    Map<StreetEdge, RentalRestrictionExtension> modifiedEdges,
+    AppliedZones appliedZones
+  ) {}
+
+  /**
+   * The edges and extensions of each restricted zone, and the business areas with their border
+   * edges. The edges of a zone are reused as long as the zone is unchanged.
+   */
+  record AppliedZones(
+    Map<GeofencingZone, Map<StreetEdge, RentalRestrictionExtension>> edgesByRestrictedZone,
+    Set<GeofencingZone> businessAreas,
+    Map<StreetEdge, RentalRestrictionExtension> businessAreaBorderEdges
+  ) {
+    private static final AppliedZones EMPTY = new AppliedZones(Map.of(), Set.of(), Map.of());
+  }
 }
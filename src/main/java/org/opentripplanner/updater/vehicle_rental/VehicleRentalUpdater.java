@@ -8,8 +8,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
 import org.opentripplanner.framework.lang.ObjectUtils;
 import org.opentripplanner.framework.logging.Throttle;
 import org.opentripplanner.framework.time.DurationUtils;
@@ -26,13 +29,15 @@ import org.opentripplanner.service.vehiclerental.street.StreetVehicleRentalLink;
 import org.opentripplanner.service.vehiclerental.street.VehicleRentalEdge;
 import org.opentripplanner.service.vehiclerental.street.VehicleRentalPlaceVertex;
 import org.opentripplanner.street.model.RentalFormFactor;
-import org.opentripplanner.street.model.RentalRestrictionExtension;
-import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.street.model.vertex.VertexFactory;
 import org.opentripplanner.street.search.TraverseMode;
 import org.opentripplanner.street.search.TraverseModeSet;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
 import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.updater.GraphWriterPartition;
 import org.opentripplanner.updater.GraphWriterRunnable;
 import org.opentripplanner.updater.spi.PollingGraphUpdater;
 import org.opentripplanner.updater.spi.UpdaterConstructionException;
@@ -49,6 +54,23 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
 
   private static final Logger LOG = LoggerFactory.getLogger(VehicleRentalUpdater.class);
 
+  /**
+   * The geofencing zones are intersected with the street edges in this pool, so the geometry work
+   * does not compete with the request threads in the common pool. The parallel stream used to
+   * intersect new zones runs in this pool too, since it is started from one of its threads. The
+   * threads are stopped when the pool is idle.
+   */
+  private static final ForkJoinPool GEOFENCING_POOL = new ForkJoinPool(
+    Runtime.getRuntime().availableProcessors(),
+    pool -> {
+      var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName("geofencing-zones-" + thread.getPoolIndex());
+      return thread;
+    },
+    null,
+    false
+  );
+
   private final Throttle unlinkedPlaceThrottle;
 
   private final VehicleRentalDatasource source;
@@ -56,8 +78,9 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
 
   private WriteToGraphCallback saveResultOnGraph;
 
-  private Map<StreetEdge, RentalRestrictionExtension> latestModifiedEdges = Map.of();
   private Set<GeofencingZone> latestAppliedGeofencingZones = Set.of();
+  private GeofencingVertexUpdater geofencingUpdater;
+  private CompletableFuture<Void> geofencingTask;
   private final Map<FeedScopedId, VehicleRentalPlaceVertex> verticesByStation = new HashMap<>();
   private final Map<FeedScopedId, DisposableEdgeCollection> tempEdgesByStation = new HashMap<>();
   private final VertexLinker linker;
@@ -155,6 +178,11 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
       this.geofencingZones = Set.copyOf(geofencingZones);
     }
 
+    @Override
+    public GraphWriterPartition partition() {
+      return GraphWriterPartition.STREET_GRAPH;
+    }
+
     @Override
     public void run(Graph graph, TransitModel transitModel) {
       // Apply stations to graph
@@ -169,22 +197,7 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
 
         if (vehicleRentalVertex == null) {
           vehicleRentalVertex = vertexFactory.vehicleRentalPlace(station);
-          DisposableEdgeCollection tempEdges = linker.linkVertexForRealTime(
-            vehicleRentalVertex,
-            new TraverseModeSet(TraverseMode.WALK),
-            LinkingDirection.BOTH_WAYS,
-            (vertex, streetVertex) ->
-              List.of(
-                StreetVehicleRentalLink.createStreetVehicleRentalLink(
-                  (VehicleRentalPlaceVertex) vertex,
-                  streetVertex
-                ),
-                StreetVehicleRentalLink.createStreetVehicleRentalLink(
-                  streetVertex,
-                  (VehicleRentalPlaceVertex) vertex
-                )
-              )
-          );
+          DisposableEdgeCollection tempEdges = linkRentalPlace(vehicleRentalVertex, station);
           if (vehicleRentalVertex.getOutgoing().isEmpty()) {
             // Copy reference to pass into lambda
             var vrv = vehicleRentalVertex;
@@ -233,25 +246,131 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
 
       // this check relies on the generated equals for the record which also recursively checks that
       // the JTS geometries are equal
-      if (!geofencingZones.isEmpty() && !geofencingZones.equals(latestAppliedGeofencingZones)) {
-        LOG.info("Computing geofencing zones for {}", nameForLogging);
-        var start = System.currentTimeMillis();
-
-        latestModifiedEdges.forEach(StreetEdge::removeRentalExtension);
-
-        var updater = new GeofencingVertexUpdater(graph.getStreetIndex()::getEdgesForEnvelope);
-        latestModifiedEdges = updater.applyGeofencingZones(geofencingZones);
-        latestAppliedGeofencingZones = geofencingZones;
-
-        var end = System.currentTimeMillis();
-        var millis = Duration.ofMillis(end - start);
-        LOG.info(
-          "Geofencing zones computation took {}. Added extension to {} edges. For {}",
-          TimeUtils.durationToStrCompact(millis),
-          latestModifiedEdges.size(),
-          nameForLogging
+      if (
+        !geofencingZones.isEmpty() &&
+        !geofencingZones.equals(latestAppliedGeofencingZones) &&
+        (geofencingTask == null || geofencingTask.isDone())
+      ) {
+        if (geofencingUpdater == null) {
+          geofencingUpdater =
+            new GeofencingVertexUpdater(graph.getStreetIndex()::getEdgesForEnvelope);
+        }
+        geofencingTask = updateGeofencingZones(geofencingUpdater, geofencingZones);
+      }
+    }
+
+    /**
+     * Computing which street edges are affected by the geofencing zones can take a long time, so
+     * it is done in the background to avoid blocking other updaters. Only applying the result is
+     * done on the graph writer thread. The returned task is done when the update is applied, or
+     * has failed, so the next update is computed from the zones applied to the graph. While a task
+     * is running, changed zones are picked up again by the next polling round.
+     */
+    private CompletableFuture<Void> updateGeofencingZones(
+      GeofencingVertexUpdater updater,
+      Set<GeofencingZone> zones
+    ) {
+      LOG.info("Computing geofencing zones for {}", nameForLogging);
+      var start = System.currentTimeMillis();
+      var task = new CompletableFuture<Void>();
+
+      CompletableFuture
+        .supplyAsync(() -> updater.computeUpdate(zones), GEOFENCING_POOL)
+        .thenAccept(update ->
+          saveResultOnGraph.execute(
+            GraphWriterRunnable.of(
+              GraphWriterPartition.STREET_GRAPH,
+              (graph, transitModel) -> {
+                try {
+                  updater.apply(update);
+                  latestAppliedGeofencingZones = zones;
+                } finally {
+                  task.complete(null);
+                }
+
+                var end = System.currentTimeMillis();
+                var millis = Duration.ofMillis(end - start);
+                LOG.info(
+                  "Geofencing zones computation took {}. Extension applied to {} edges. For {}",
+                  TimeUtils.durationToStrCompact(millis),
+                  update.modifiedEdges().size(),
+                  nameForLogging
+                );
+              }
+            )
+          )
+        )
+        .exceptionally(e -> {
+          LOG.error("Unable to compute geofencing zones for {}", nameForLogging, e);
+          task.complete(null);
+          return null;
+        });
+      return task;
+    }
+
+    /**
+     * Link the vertex to the street graph. Stations are linked by splitting the closest street
+     * edges. Free-floating vehicles are linked to the closest existing street vertices instead:
+     * there can be tens of thousands of them, they come and go on every poll and their reported
+     * position is approximate anyway, so splitting the street edges - and updating the edge
+     * spatial index - for each of them is too expensive to do on the graph writer thread.
+     */
+    private DisposableEdgeCollection linkRentalPlace(
+      VehicleRentalPlaceVertex vehicleRentalVertex,
+      VehicleRentalPlace station
+    ) {
+      var modes = new TraverseModeSet(TraverseMode.WALK);
+      if (station.isFloatingVehicle()) {
+        return linker.linkVertexToExistingVerticesForRealTime(
+          vehicleRentalVertex,
+          modes,
+          LinkingDirection.BOTH_WAYS,
+          VehicleRentalGraphWriterRunnable::createFloatingVehicleLinks
         );
       }
+      return linker.linkVertexForRealTime(
+        vehicleRentalVertex,
+        modes,
+        LinkingDirection.BOTH_WAYS,
+        VehicleRentalGraphWriterRunnable::createRentalLinks
+      );
+    }
+
+    /**
+     * The vehicle is linked to a street vertex which may be up to
+     * {@link VertexLinker#MAX_SNAP_DISTANCE_METERS} away, so the links get the walking distance
+     * between the vehicle and the street vertex.
+     */
+    private static List<Edge> createFloatingVehicleLinks(Vertex vertex, StreetVertex streetVertex) {
+      var distance = SphericalDistanceLibrary.distance(
+        vertex.getCoordinate(),
+        streetVertex.getCoordinate()
+      );
+      return List.of(
+        StreetVehicleRentalLink.createStreetVehicleRentalLink(
+          (VehicleRentalPlaceVertex) vertex,
+          streetVertex,
+          distance
+        ),
+        StreetVehicleRentalLink.createStreetVehicleRentalLink(
+          streetVertex,
+          (VehicleRentalPlaceVertex) vertex,
+          distance
+        )
+      );
+    }
+
+    private static List<Edge> createRentalLinks(Vertex vertex, StreetVertex streetVertex) {
+      return List.of(
+        StreetVehicleRentalLink.createStreetVehicleRentalLink(
+          (VehicleRentalPlaceVertex) vertex,
+          streetVertex
+        ),
+        StreetVehicleRentalLink.createStreetVehicleRentalLink(
+          streetVertex,
+          (VehicleRentalPlaceVertex) vertex
+        )
+      );
     }
   }
 }
@@ -7,10 +7,12 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import org.mobilitydata.gbfs.v2_3.gbfs.GBFS;
 import org.mobilitydata.gbfs.v2_3.gbfs.GBFSFeed;
 import org.mobilitydata.gbfs.v2_3.gbfs.GBFSFeedName;
 import org.mobilitydata.gbfs.v2_3.gbfs.GBFSFeeds;
+import org.opentripplanner.framework.io.HttpResourceVersion;
 import org.opentripplanner.framework.io.OtpHttpClient;
 import org.opentripplanner.framework.io.OtpHttpClientException;
 import org.opentripplanner.framework.io.OtpHttpClientFactory;
@@ -104,18 +106,21 @@ public class GbfsFeedLoader {
 
   /**
    * Checks if any of the feeds should be updated base on the TTL and fetches. Returns true, if any
-   * feeds were updated.
+   * feeds were updated. Feeds which are unchanged since they were last fetched do not count as
+   * updated.
    */
   public boolean update() {
     boolean didUpdate = false;
 
     for (GBFSFeedUpdater<?> updater : feedUpdaters.values()) {
       if (updater.shouldUpdate()) {
-        boolean success = updater.fetchData();
-        if (!success) {
+        FetchResult result = updater.fetchData();
+        if (result == FetchResult.FAILED) {
           return false;
         }
-        didUpdate = true;
+        if (result == FetchResult.UPDATED) {
+          didUpdate = true;
+        }
       }
     }
 
@@ -146,6 +151,12 @@ public class GbfsFeedLoader {
 
   /* private static classes */
 
+  private enum FetchResult {
+    UPDATED,
+    UNCHANGED,
+    FAILED,
+  }
+
   private class GBFSFeedUpdater<T> {
 
     /** URL for the individual GBFS file */
@@ -154,25 +165,42 @@ public class GbfsFeedLoader {
     /** To which class should the file be deserialized to */
     private final Class<T> implementingClass;
 
+    /** Used to skip parsing the file if it is unchanged */
+    private final HttpResourceVersion version;
+
     private int nextUpdate;
     private T data;
 
     private GBFSFeedUpdater(GBFSFeed feed) {
       url = feed.getUrl();
       implementingClass = (Class<T>) feed.getName().implementingClass();
+      version = new HttpResourceVersion(url);
     }
 
     private T getData() {
       return data;
     }
 
-    private boolean fetchData() {
-      T newData = fetchFeed(url, httpHeaders, implementingClass);
-      if (newData == null) {
-        LOG.warn("Could not fetch GBFS data for {}. Retrying.", url);
+    private FetchResult fetchData() {
+      Optional<T> fetched;
+      try {
+        fetched =
+          otpHttpClient.getAndMapIfChanged(
+            url,
+            httpHeaders.asMap(),
+            version,
+            is -> objectMapper.readValue(is, implementingClass)
+          );
+      } catch (OtpHttpClientException e) {
+        LOG.warn("Could not fetch GBFS data for {}. Retrying. Details: {}.", url, e.getMessage(), e);
         nextUpdate = getCurrentTimeSeconds();
-        return false;
+        return FetchResult.FAILED;
+      }
+      if (fetched.isEmpty()) {
+        // The ttl of the previous data has expired, so this is checked again on the next update
+        return FetchResult.UNCHANGED;
       }
+      T newData = fetched.get();
       data = newData;
 
       try {
@@ -196,7 +224,7 @@ public class GbfsFeedLoader {
         LOG.error("Invalid lastUpdated or ttl for {}", url);
         nextUpdate = getCurrentTimeSeconds();
       }
-      return true;
+      return FetchResult.UPDATED;
     }
 
     private boolean shouldUpdate() {
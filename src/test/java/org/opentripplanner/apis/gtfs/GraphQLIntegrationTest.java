@@ -16,8 +16,13 @@ import static org.opentripplanner.transit.model.basic.TransitMode.BUS;
 import static org.opentripplanner.transit.model.basic.TransitMode.FERRY;
 import static org.opentripplanner.transit.model.timetable.OccupancyStatus.FEW_SEATS_AVAILABLE;
 
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -345,7 +350,8 @@ class GraphQLIntegrationTest {
       2000,
       2000,
       Locale.ENGLISH,
-      context
+      context,
+      MediaType.APPLICATION_JSON_TYPE
     );
     var actualJson = responseBody(response);
     assertEquals(200, response.getStatus());
@@ -424,7 +430,13 @@ class GraphQLIntegrationTest {
 
   private static String responseBody(Response response) {
     if (response instanceof OutboundJaxrsResponse outbound) {
-      return (String) outbound.getContext().getEntity();
+      var output = new ByteArrayOutputStream();
+      try {
+        ((StreamingOutput) outbound.getContext().getEntity()).write(output);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return output.toString(StandardCharsets.UTF_8);
     }
     fail("expected an outbound response but got %s".formatted(response.getClass().getSimpleName()));
     return null;
@@ -3,9 +3,17 @@ package org.opentripplanner.apis.transmodel.support;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.opentripplanner.framework.lang.StringUtils.quoteReplace;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import graphql.ExecutionResult;
 import graphql.GraphQLError;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.graphql.GraphQLResponseSerializer;
 
 class ExecutionResultMapperTest {
 
@@ -49,6 +57,20 @@ class ExecutionResultMapperTest {
     "}"
   );
 
+  public static final String BAD_REQUEST_MESSAGE = "A bad request!";
+
+  public static final String BAD_REQUEST_RESPONSE = quoteReplace(
+    "{" +
+    "'errors':[{" +
+    "'message':'" +
+    BAD_REQUEST_MESSAGE +
+    "'," +
+    "'locations':[]," +
+    "'extensions':{'classification':'BadRequestError'}" +
+    "}]" +
+    "}"
+  );
+
   public static final String SYSTEM_ERROR_MESSAGE = "A system error!";
 
   public static final String SYSTEM_ERROR_RESPONSE = quoteReplace(
@@ -64,16 +86,41 @@ class ExecutionResultMapperTest {
   );
 
   @Test
-  void okResponse() {
-    var response = ExecutionResultMapper.okResponse(OK_RESULT_WITH_DATA_AND_ERROR);
+  void okResponse() throws IOException {
+    var response = ExecutionResultMapper.okResponse(
+      OK_RESULT_WITH_DATA_AND_ERROR,
+      MediaType.APPLICATION_JSON_TYPE
+    );
     assertEquals(200, response.getStatus());
-    assertEquals(RESULT_SERIALIZED, response.getEntity().toString());
+    assertEquals(MediaType.APPLICATION_JSON_TYPE, response.getMediaType());
+
+    var output = new ByteArrayOutputStream();
+    ((StreamingOutput) response.getEntity()).write(output);
+    assertEquals(RESULT_SERIALIZED, output.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void okResponseAsCbor() throws IOException {
+    var response = ExecutionResultMapper.okResponse(
+      OK_RESULT_WITH_DATA_AND_ERROR,
+      GraphQLResponseSerializer.APPLICATION_CBOR_TYPE
+    );
+    assertEquals(200, response.getStatus());
+    assertEquals(GraphQLResponseSerializer.APPLICATION_CBOR_TYPE, response.getMediaType());
+
+    var output = new ByteArrayOutputStream();
+    ((StreamingOutput) response.getEntity()).write(output);
+    assertEquals(
+      new ObjectMapper().readTree(RESULT_SERIALIZED),
+      new CBORMapper().readTree(output.toByteArray())
+    );
   }
 
   @Test
   void timeoutResponse() {
     var response = ExecutionResultMapper.timeoutResponse();
     assertEquals(422, response.getStatus());
+    assertEquals(MediaType.APPLICATION_JSON_TYPE, response.getMediaType());
     assertEquals(TIMEOUT_RESPONSE, response.getEntity().toString());
   }
 
@@ -81,6 +128,7 @@ class ExecutionResultMapperTest {
   void tooLargeResponse() {
     var response = ExecutionResultMapper.tooLargeResponse(TOO_LARGE_MESSAGE);
     assertEquals(422, response.getStatus());
+    assertEquals(MediaType.APPLICATION_JSON_TYPE, response.getMediaType());
     assertEquals(TOO_LARGE_RESPONSE, response.getEntity().toString());
   }
 
@@ -88,6 +136,15 @@ class ExecutionResultMapperTest {
   void systemErrorResponse() {
     var response = ExecutionResultMapper.systemErrorResponse(SYSTEM_ERROR_MESSAGE);
     assertEquals(500, response.getStatus());
+    assertEquals(MediaType.APPLICATION_JSON_TYPE, response.getMediaType());
     assertEquals(SYSTEM_ERROR_RESPONSE, response.getEntity().toString());
   }
+
+  @Test
+  void badRequestResponse() {
+    var response = ExecutionResultMapper.badRequestResponse(BAD_REQUEST_MESSAGE);
+    assertEquals(400, response.getStatus());
+    assertEquals(MediaType.APPLICATION_JSON_TYPE, response.getMediaType());
+    assertEquals(BAD_REQUEST_RESPONSE, response.getEntity().toString());
+  }
 }
@@ -0,0 +1,55 @@
+package org.opentripplanner.framework.graphql;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import graphql.ExecutionResult;
+import jakarta.ws.rs.core.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class GraphQLResponseSerializerTest {
+
+  private static final ExecutionResult RESULT = ExecutionResult
+    .newExecutionResult()
+    .data("Test")
+    .build();
+
+  static Stream<MediaType> mediaTypes() {
+    return Stream.of(
+      MediaType.APPLICATION_JSON_TYPE,
+      GraphQLResponseSerializer.APPLICATION_CBOR_TYPE
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource("mediaTypes")
+  void streamingOutputFlushesWithoutClosingTheStream(MediaType mediaType) throws IOException {
+    var output = new TrackingOutputStream();
+
+    GraphQLResponseSerializer.streamingOutput(RESULT, mediaType).write(output);
+
+    assertTrue(output.size() > 0);
+    assertTrue(output.flushed);
+    assertFalse(output.closed);
+  }
+
+  private static class TrackingOutputStream extends ByteArrayOutputStream {
+
+    private boolean flushed = false;
+    private boolean closed = false;
+
+    @Override
+    public void flush() {
+      flushed = true;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package org.opentripplanner.framework.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+
+class OtpHttpClientTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void getAndMapIfChanged() throws IOException {
+    var file = tempDir.resolve("feed.txt");
+    var uri = file.toUri();
+    var version = new HttpResourceVersion(uri);
+
+    try (var factory = new OtpHttpClientFactory()) {
+      var client = factory.create(LoggerFactory.getLogger(OtpHttpClientTest.class));
+
+      Files.writeString(file, "A");
+      assertEquals(Optional.of("A"), client.getAndMapIfChanged(uri, Map.of(), version, this::read));
+
+      assertTrue(client.getAndMapIfChanged(uri, Map.of(), version, this::read).isEmpty());
+      assertEquals(1, version.skippedPolls());
+
+      Files.writeString(file, "B");
+      assertEquals(Optional.of("B"), client.getAndMapIfChanged(uri, Map.of(), version, this::read));
+      assertEquals(1, version.skippedPolls());
+    }
+  }
+
+  @Test
+  void failedMappingIsRetried() throws IOException {
+    var file = tempDir.resolve("feed.txt");
+    var uri = file.toUri();
+    var version = new HttpResourceVersion(uri);
+    Files.writeString(file, "A");
+
+    try (var factory = new OtpHttpClientFactory()) {
+      var client = factory.create(LoggerFactory.getLogger(OtpHttpClientTest.class));
+
+      assertThrows(
+        OtpHttpClientException.class,
+        () ->
+          client.getAndMapIfChanged(
+            uri,
+            Map.of(),
+            version,
+            is -> {
+              throw new IOException("Parsing failed");
+            }
+          )
+      );
+      assertEquals(Optional.of("A"), client.getAndMapIfChanged(uri, Map.of(), version, this::read));
+      assertEquals(0, version.skippedPolls());
+    }
+  }
+
+  private String read(InputStream is) throws IOException {
+    return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,44 @@
+package org.opentripplanner.graph_builder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.graph_builder.model.GraphBuilderModule;
+
+class GraphBuilderModuleReportTest {
+
+  private final GraphBuilderModuleReport subject = new GraphBuilderModuleReport();
+
+  @Test
+  void runAndReportModules() {
+    var moduleA = new TestModule();
+    var moduleB = new TestModule();
+
+    subject.run(moduleA);
+    subject.run(moduleB);
+
+    assertEquals(1, moduleA.nRuns);
+    assertEquals(1, moduleB.nRuns);
+
+    var runs = subject.runs();
+    assertEquals(2, runs.size());
+    assertEquals("TestModule", runs.get(0).name());
+    assertTrue(runs.get(0).wallTimeNanos() >= 0);
+
+    var rows = subject.toTable().toTextRows();
+    assertEquals(3, rows.size());
+    assertTrue(rows.get(0).startsWith("Module"), rows.get(0));
+    assertTrue(rows.get(1).startsWith("TestModule"), rows.get(1));
+  }
+
+  private static class TestModule implements GraphBuilderModule {
+
+    private int nRuns = 0;
+
+    @Override
+    public void buildGraph() {
+      nRuns++;
+    }
+  }
+}
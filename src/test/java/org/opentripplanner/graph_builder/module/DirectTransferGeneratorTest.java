@@ -250,6 +250,30 @@ class DirectTransferGeneratorTest extends GraphRoutingTest {
     );
   }
 
+  @Test
+  public void testDuplicateTransferProfilesAreSearchedOnce() {
+    var reqWalk = new RouteRequest();
+    reqWalk.journey().transfer().setMode(StreetMode.WALK);
+
+    var reqWalkCopy = reqWalk.clone();
+    reqWalkCopy.setDateTime(reqWalk.dateTime().plusSeconds(60));
+
+    var reqWheelchair = reqWalk.clone();
+    reqWheelchair.setWheelchair(true);
+
+    var reqBike = new RouteRequest();
+    reqBike.journey().transfer().setMode(StreetMode.BIKE);
+
+    // The date-time is ignored when comparing profiles, the first profile is searched with its
+    // own date-time
+    assertEquals(
+      List.of(reqWalk, reqWheelchair, reqBike),
+      DirectTransferGenerator.distinctTransferProfiles(
+        List.of(reqWalk, reqWalkCopy, reqWheelchair, reqBike)
+      )
+    );
+  }
+
   @Test
   public void testTransferOnIsolatedStations() {
     var otpModel = model(true, false, true);
@@ -0,0 +1,67 @@
+package org.opentripplanner.graph_builder.module.ned;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
+import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.edge.StreetElevationExtensionBuilder;
+
+class ElevationProfileCacheTest {
+
+  private static final Coordinate[] PROFILE = {
+    new Coordinate(0, 10),
+    new Coordinate(50, 12.5),
+    new Coordinate(100, 11),
+  };
+
+  @TempDir
+  File tempDir;
+
+  @Test
+  void writeAndRead() throws IOException {
+    var withElevation = edge(60.0, 10.0, 60.001, 10.0);
+    StreetElevationExtensionBuilder
+      .of(withElevation)
+      .withElevationProfile(new PackedCoordinateSequence.Double(PROFILE))
+      .withComputed(false)
+      .build()
+      .ifPresent(withElevation::setElevationExtension);
+    var withoutElevation = edge(60.0, 10.0, 60.0, 10.001);
+
+    var file = new File(tempDir, "cached_elevations.bin");
+    ElevationProfileCache.write(file, List.of(withElevation, withoutElevation));
+    var subject = ElevationProfileCache.read(file);
+
+    assertEquals(1, subject.size());
+    var profile = subject.get(edge(60.0, 10.0, 60.001, 10.0).getGeometry());
+    assertArrayEquals(
+      withElevation.getElevationProfile().toCoordinateArray(),
+      profile.toCoordinateArray()
+    );
+    assertNull(subject.get(withoutElevation.getGeometry()));
+  }
+
+  @Test
+  void readInvalidFile() throws IOException {
+    var file = new File(tempDir, "cached_elevations.obj");
+    Files.writeString(file.toPath(), "Not an elevation cache");
+
+    assertThrows(IOException.class, () -> ElevationProfileCache.read(file));
+  }
+
+  private static StreetEdge edge(double latA, double lonA, double latB, double lonB) {
+    return streetEdge(intersectionVertex(latA, lonA), intersectionVertex(latB, lonB));
+  }
+}
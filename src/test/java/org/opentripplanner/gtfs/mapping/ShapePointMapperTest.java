@@ -3,11 +3,10 @@ package org.opentripplanner.gtfs.mapping;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
-import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.onebusaway.gtfs.model.AgencyAndId;
 import org.onebusaway.gtfs.model.ShapePoint;
@@ -40,14 +39,14 @@ public class ShapePointMapperTest {
 
   @Test
   public void testMapCollection() throws Exception {
-    assertNull(subject.map((Collection<ShapePoint>) null));
+    assertNull(subject.map(null));
     assertTrue(subject.map(Collections.emptyList()).isEmpty());
     assertEquals(1, subject.map(Collections.singleton(SHAPE_POINT)).size());
   }
 
   @Test
   public void testMap() throws Exception {
-    org.opentripplanner.model.ShapePoint result = subject.map(SHAPE_POINT);
+    org.opentripplanner.model.ShapePoint result = map(SHAPE_POINT);
 
     assertEquals(DIST_TRAVELED, result.getDistTraveled(), 0.0001d);
     assertEquals(LAT, result.getLat(), 0.0001d);
@@ -58,7 +57,7 @@ public class ShapePointMapperTest {
 
   @Test
   public void testMapWithNulls() throws Exception {
-    org.opentripplanner.model.ShapePoint result = subject.map(new ShapePoint());
+    org.opentripplanner.model.ShapePoint result = map(new ShapePoint());
 
     assertFalse(result.isDistTraveledSet());
     assertEquals(0d, result.getLat(), 0.00001);
@@ -67,12 +66,7 @@ public class ShapePointMapperTest {
     assertNull(result.getShapeId());
   }
 
-  /** Mapping the same object twice, should return the the same instance. */
-  @Test
-  public void testMapCache() throws Exception {
-    org.opentripplanner.model.ShapePoint result1 = subject.map(SHAPE_POINT);
-    org.opentripplanner.model.ShapePoint result2 = subject.map(SHAPE_POINT);
-
-    assertSame(result1, result2);
+  private org.opentripplanner.model.ShapePoint map(ShapePoint shapePoint) {
+    return subject.map(List.of(shapePoint)).iterator().next();
   }
 }
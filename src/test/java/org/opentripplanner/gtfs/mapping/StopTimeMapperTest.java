@@ -5,11 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
-import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import org.geojson.LngLatAlt;
@@ -151,14 +149,14 @@ public class StopTimeMapperTest {
 
   @Test
   public void testMapCollection() {
-    assertNull(subject.map((Collection<StopTime>) null));
+    assertNull(subject.map(null));
     assertTrue(subject.map(Collections.emptyList()).isEmpty());
     assertEquals(1, subject.map(Collections.singleton(buildDefaultStopTime())).size());
   }
 
   @Test
   public void testMap() {
-    var result = subject.map(buildDefaultStopTime());
+    var result = map(buildDefaultStopTime());
 
     assertEquals(ARRIVAL_TIME, result.getArrivalTime());
     assertEquals(DEPARTURE_TIME, result.getDepartureTime());
@@ -178,7 +176,7 @@ public class StopTimeMapperTest {
   public void testMapWithNulls() {
     var st = new StopTime();
     st.setStop(buildStop());
-    var result = subject.map(st);
+    var result = map(st);
 
     assertFalse(result.isArrivalTimeSet());
     assertFalse(result.isDepartureTimeSet());
@@ -193,19 +191,10 @@ public class StopTimeMapperTest {
     assertFalse(result.isTimepointSet());
   }
 
-  /** Mapping the same object twice, should return the same instance. */
-  @Test
-  public void testMapCache() {
-    var st = buildDefaultStopTime();
-    var result1 = subject.map(st);
-    var result2 = subject.map(st);
-    assertSame(result1, result2);
-  }
-
   @Test
   public void testNull() {
     var st = buildStopTime();
-    Assertions.assertThrows(NullPointerException.class, () -> subject.map(st));
+    Assertions.assertThrows(NullPointerException.class, () -> map(st));
   }
 
   @Test
@@ -217,7 +206,7 @@ public class StopTimeMapperTest {
     polygon.setExteriorRing(ZONE_COORDINATES);
     flexLocation.setGeometry(polygon);
     st.setStop(flexLocation);
-    var mapped = subject.map(st);
+    var mapped = map(st);
 
     assertInstanceOf(AreaStop.class, mapped.getStop());
     var areaStop = (AreaStop) mapped.getStop();
@@ -233,10 +222,14 @@ public class StopTimeMapperTest {
     locGroup.setId(AGENCY_AND_ID);
     locGroup.addLocation(buildStop());
     st.setStop(locGroup);
-    var mapped = subject.map(st);
+    var mapped = map(st);
     assertInstanceOf(GroupStop.class, mapped.getStop());
 
     var groupStop = (GroupStop) mapped.getStop();
     assertEquals("[RegularStop{A:1 Stop}]", groupStop.getChildLocations().toString());
   }
+
+  private org.opentripplanner.model.StopTime map(StopTime stopTime) {
+    return subject.map(List.of(stopTime)).iterator().next();
+  }
 }
@@ -0,0 +1,101 @@
+package org.opentripplanner.netex.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.xml.bind.JAXBException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.datastore.api.DataSource;
+import org.opentripplanner.datastore.api.FileType;
+import org.opentripplanner.datastore.base.ByteArrayDataSource;
+
+class ParallelNetexXmlParserTest {
+
+  private static final List<DataSource> ENTRIES = IntStream
+    .range(0, 10)
+    .mapToObj(i -> document("doc-" + i))
+    .toList();
+
+  @Test
+  void parseInOrder() throws JAXBException {
+    try (var subject = new ParallelNetexXmlParser(ENTRIES, 3, 3)) {
+      for (int i = 0; i < ENTRIES.size(); i++) {
+        var doc = subject.parseXmlDoc(ENTRIES.get(i));
+        assertEquals("doc-" + i, doc.getParticipantRef());
+      }
+    }
+  }
+
+  @Test
+  void parseOutOfOrder() throws JAXBException {
+    try (var subject = new ParallelNetexXmlParser(ENTRIES, 3, 3)) {
+      subject.parseXmlDoc(ENTRIES.get(0));
+      assertThrows(IllegalStateException.class, () -> subject.parseXmlDoc(ENTRIES.get(2)));
+    }
+  }
+
+  @Test
+  void parseAtMostMaxParsedAheadFilesAhead() throws JAXBException {
+    var opened = new AtomicInteger();
+    var entries = ENTRIES.stream().map(it -> countOpened(it, opened)).toList();
+
+    try (var subject = new ParallelNetexXmlParser(entries, 3, 2)) {
+      for (int i = 0; i < entries.size(); i++) {
+        subject.parseXmlDoc(entries.get(i));
+        // Files ahead are parsed in the background, so only the upper bound is deterministic
+        int maxOpened = Math.min(i + 1 + 2, entries.size());
+        assertTrue(opened.get() <= maxOpened, "Opened " + opened.get() + " files after " + i);
+      }
+    }
+    assertEquals(entries.size(), opened.get());
+  }
+
+  @Test
+  void maxParsedAheadMustBePositive() {
+    assertThrows(IllegalArgumentException.class, () -> new ParallelNetexXmlParser(ENTRIES, 1, 0));
+  }
+
+  private static DataSource countOpened(DataSource source, AtomicInteger opened) {
+    return new ByteArrayDataSource(
+      source.path(),
+      source.name(),
+      FileType.NETEX,
+      source.size(),
+      0,
+      false
+    ) {
+      @Override
+      public InputStream asInputStream() {
+        opened.incrementAndGet();
+        return source.asInputStream();
+      }
+    };
+  }
+
+  private static DataSource document(String participantRef) {
+    var xml =
+      """
+      <?xml version="1.0" encoding="UTF-8"?>
+      <PublicationDelivery xmlns="http://www.netex.org.uk/netex" version="1.0">
+        <PublicationTimestamp>2024-01-01T00:00:00</PublicationTimestamp>
+        <ParticipantRef>%s</ParticipantRef>
+      </PublicationDelivery>
+      """.formatted(participantRef);
+    var bytes = xml.getBytes(StandardCharsets.UTF_8);
+    return new ByteArrayDataSource(
+      participantRef + ".xml",
+      participantRef + ".xml",
+      FileType.NETEX,
+      bytes.length,
+      0,
+      false
+    )
+      .withBytes(bytes);
+  }
+}
@@ -0,0 +1,317 @@
+package org.opentripplanner.openstreetmap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.MessageLite;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.openstreetmap.osmosis.osmbinary.Fileformat;
+import org.openstreetmap.osmosis.osmbinary.Osmformat;
+import org.openstreetmap.osmosis.osmbinary.file.BlockInputStream;
+import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
+import org.opentripplanner.graph_builder.module.osm.OsmDatabase;
+import org.opentripplanner.test.support.ResourceLoader;
+
+class ParallelPbfReaderTest {
+
+  private static final int N_THREADS = 3;
+  private static final int N_DATA_BLOCKS = 24;
+  private static final int ENTITIES_PER_BLOCK = 3;
+  private static final String OSM_FILE =
+    "/org/opentripplanner/graph_builder/module/osm/map.osm.pbf";
+
+  @ParameterizedTest
+  @EnumSource(OsmParserPhase.class)
+  void readMultiBlockFileInSameOrderAsSequentialReader(OsmParserPhase phase) throws IOException {
+    byte[] file = multiBlockFile();
+
+    var parallel = readParallel(file, phase);
+
+    assertEquals(readSequential(file, phase), parallel);
+    assertEquals(1 + N_DATA_BLOCKS / 3 * ENTITIES_PER_BLOCK, parallel.size());
+  }
+
+  @ParameterizedTest
+  @EnumSource(OsmParserPhase.class)
+  void readOsmFileInSameOrderAsSequentialReader(OsmParserPhase phase) throws IOException {
+    byte[] file;
+    try (var in = ResourceLoader.of(this).inputStream(OSM_FILE)) {
+      file = in.readAllBytes();
+    }
+
+    var parallel = readParallel(file, phase);
+
+    assertEquals(readSequential(file, phase), parallel);
+    assertTrue(parallel.size() > 1, "Expected entities, but got " + parallel);
+  }
+
+  @Test
+  void readWaysInFileOrder() throws IOException {
+    var expected = new ArrayList<String>();
+    expected.add("header");
+    for (int block = 1; block < N_DATA_BLOCKS; block += 3) {
+      for (int i = 0; i < ENTITIES_PER_BLOCK; i++) {
+        expected.add("way " + id(block, i));
+      }
+    }
+
+    assertEquals(expected, readParallel(multiBlockFile(), OsmParserPhase.Ways));
+  }
+
+  @Test
+  void truncatedBlob() throws IOException {
+    byte[] file = multiBlockFile();
+    byte[] truncated = Arrays.copyOf(file, file.length - 5);
+
+    var ex = assertThrows(IOException.class, () -> readParallel(truncated, OsmParserPhase.Nodes));
+    assertEquals("Unexpected end of PBF file in block of type OSMData", ex.getMessage());
+  }
+
+  @Test
+  void truncatedBlobHeaderSize() throws IOException {
+    var out = new ByteArrayOutputStream();
+    out.write(multiBlockFile());
+    out.write(new byte[] { 0, 0 });
+
+    assertThrows(IOException.class, () -> readParallel(out.toByteArray(), OsmParserPhase.Nodes));
+  }
+
+  @Test
+  void invalidBlobHeaderSize() throws IOException {
+    var out = new ByteArrayOutputStream();
+    out.write(multiBlockFile());
+    new DataOutputStream(out).writeInt(100_000);
+
+    var ex = assertThrows(
+      IOException.class,
+      () -> readParallel(out.toByteArray(), OsmParserPhase.Nodes)
+    );
+    assertEquals("Invalid PBF blob header size: 100000", ex.getMessage());
+  }
+
+  @Test
+  void corruptBlobHeader() throws IOException {
+    var out = new ByteArrayOutputStream();
+    var data = new DataOutputStream(out);
+    data.writeInt(4);
+    data.write(new byte[] { -1, -1, -1, -1 });
+
+    assertThrows(IOException.class, () -> readParallel(out.toByteArray(), OsmParserPhase.Nodes));
+  }
+
+  @Test
+  void invalidBlobSize() throws IOException {
+    var header = Fileformat.BlobHeader
+      .newBuilder()
+      .setType("OSMData")
+      .setDatasize(64 * 1024 * 1024)
+      .build()
+      .toByteArray();
+    var out = new ByteArrayOutputStream();
+    var data = new DataOutputStream(out);
+    data.writeInt(header.length);
+    data.write(header);
+
+    var ex = assertThrows(
+      IOException.class,
+      () -> readParallel(out.toByteArray(), OsmParserPhase.Nodes)
+    );
+    assertEquals("Invalid PBF blob size: 67108864", ex.getMessage());
+  }
+
+  @Test
+  void corruptCompressedBlob() throws IOException {
+    var blob = Fileformat.Blob
+      .newBuilder()
+      .setRawSize(100)
+      .setZlibData(ByteString.copyFrom(new byte[] { 1, 2, 3, 4, 5 }))
+      .build();
+    var out = new ByteArrayOutputStream();
+    writeBlock(out, "OSMData", blob);
+
+    var ex = assertThrows(
+      IOException.class,
+      () -> readParallel(out.toByteArray(), OsmParserPhase.Nodes)
+    );
+    assertTrue(ex.getMessage().startsWith("Unable to inflate PBF blob"), ex.getMessage());
+  }
+
+  private static List<String> readParallel(byte[] file, OsmParserPhase phase)
+    throws IOException {
+    var parser = new RecordingParser(phase);
+    try (var reader = new ParallelPbfReader(N_THREADS)) {
+      reader.read(new ByteArrayInputStream(file), phase, parser);
+    }
+    return parser.entities;
+  }
+
+  private static List<String> readSequential(byte[] file, OsmParserPhase phase)
+    throws IOException {
+    var parser = new RecordingParser(phase);
+    new BlockInputStream(new ByteArrayInputStream(file), parser).process();
+    return parser.entities;
+  }
+
+  /**
+   * A file with a header block followed by data blocks containing nodes, ways and relations in
+   * turn. Every other block is compressed, and the file contains a block of an unknown type.
+   */
+  private static byte[] multiBlockFile() throws IOException {
+    var out = new ByteArrayOutputStream();
+    var header = Osmformat.HeaderBlock
+      .newBuilder()
+      .addRequiredFeatures("OsmSchema-V0.6")
+      .addRequiredFeatures("DenseNodes")
+      .build();
+    writeBlock(out, "OSMHeader", header, true);
+
+    for (int block = 0; block < N_DATA_BLOCKS; block++) {
+      var group = Osmformat.PrimitiveGroup.newBuilder();
+      switch (block % 3) {
+        case 0 -> {
+          var dense = Osmformat.DenseNodes.newBuilder();
+          long lastId = 0;
+          for (int i = 0; i < ENTITIES_PER_BLOCK; i++) {
+            dense.addId(id(block, i) - lastId).addLat(i == 0 ? 600_000_000 : 1).addLon(1);
+            lastId = id(block, i);
+          }
+          group.setDense(dense);
+        }
+        case 1 -> {
+          for (int i = 0; i < ENTITIES_PER_BLOCK; i++) {
+            group.addWays(Osmformat.Way.newBuilder().setId(id(block, i)).addRefs(1).addRefs(1));
+          }
+        }
+        default -> {
+          for (int i = 0; i < ENTITIES_PER_BLOCK; i++) {
+            group.addRelations(Osmformat.Relation.newBuilder().setId(id(block, i)));
+          }
+        }
+      }
+      var data = Osmformat.PrimitiveBlock
+        .newBuilder()
+        .setStringtable(Osmformat.StringTable.newBuilder().addS(ByteString.EMPTY))
+        .addPrimitivegroup(group)
+        .build();
+      writeBlock(out, "OSMData", data, block % 2 == 0);
+
+      if (block == N_DATA_BLOCKS / 2) {
+        writeBlock(out, "OSMUnknown", data, false);
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private static long id(int block, int index) {
+    return 100L * block + index;
+  }
+
+  private static void writeBlock(
+    ByteArrayOutputStream out,
+    String type,
+    MessageLite message,
+    boolean compress
+  ) throws IOException {
+    byte[] raw = message.toByteArray();
+    var blob = Fileformat.Blob.newBuilder().setRawSize(raw.length);
+    if (compress) {
+      var deflater = new Deflater();
+      deflater.setInput(raw);
+      deflater.finish();
+      var compressed = new ByteArrayOutputStream();
+      byte[] buffer = new byte[1024];
+      while (!deflater.finished()) {
+        compressed.write(buffer, 0, deflater.deflate(buffer));
+      }
+      deflater.end();
+      blob.setZlibData(ByteString.copyFrom(compressed.toByteArray()));
+    } else {
+      blob.setRaw(ByteString.copyFrom(raw));
+    }
+    writeBlock(out, type, blob.build());
+  }
+
+  private static void writeBlock(ByteArrayOutputStream out, String type, Fileformat.Blob blob)
+    throws IOException {
+    byte[] data = blob.toByteArray();
+    byte[] header = Fileformat.BlobHeader
+      .newBuilder()
+      .setType(type)
+      .setDatasize(data.length)
+      .build()
+      .toByteArray();
+    var stream = new DataOutputStream(out);
+    stream.writeInt(header.length);
+    stream.write(header);
+    stream.write(data);
+  }
+
+  /**
+   * Record the header and the ids of the entities read in the given phase, in the order they are
+   * passed to the parser.
+   */
+  private static class RecordingParser extends OpenStreetMapParser {
+
+    private final OsmParserPhase phase;
+    private final List<String> entities = new ArrayList<>();
+
+    RecordingParser(OsmParserPhase phase) {
+      super(
+        new OsmDatabase(DataImportIssueStore.NOOP),
+        new OsmProvider(new File("test.osm.pbf"), false)
+      );
+      this.phase = phase;
+    }
+
+    @Override
+    public void parse(Osmformat.HeaderBlock block) {
+      super.parse(block);
+      entities.add("header");
+    }
+
+    @Override
+    protected void parseRelations(List<Osmformat.Relation> rels) {
+      if (phase == OsmParserPhase.Relations) {
+        rels.forEach(it -> entities.add("relation " + it.getId()));
+      }
+    }
+
+    @Override
+    protected void parseDense(Osmformat.DenseNodes nodes) {
+      if (phase == OsmParserPhase.Nodes) {
+        long id = 0;
+        for (long delta : nodes.getIdList()) {
+          id += delta;
+          entities.add("node " + id);
+        }
+      }
+    }
+
+    @Override
+    protected void parseNodes(List<Osmformat.Node> nodes) {
+      if (phase == OsmParserPhase.Nodes) {
+        nodes.forEach(it -> entities.add("node " + it.getId()));
+      }
+    }
+
+    @Override
+    protected void parseWays(List<Osmformat.Way> ways) {
+      if (phase == OsmParserPhase.Ways) {
+        ways.forEach(it -> entities.add("way " + it.getId()));
+      }
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package org.opentripplanner.routing.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
+import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.text.Table;
+import org.opentripplanner.transit.service.TransitModel;
+
+class GraphSizeReportTest {
+
+  @Test
+  void report() {
+    var graph = new Graph();
+    var a = intersectionVertex("A", 60.0, 10.0);
+    var b = intersectionVertex("B", 60.0, 10.001);
+    graph.addVertex(a);
+    graph.addVertex(b);
+    streetEdge(a, b);
+    streetEdge(b, a);
+    graph.deduplicator.deduplicateString(new String("A"));
+    graph.deduplicator.deduplicateString(new String("A"));
+
+    var sizeBySection = new LinkedHashMap<String, Long>();
+    sizeBySection.put("graph", 1000L);
+    sizeBySection.put("edges", 3000L);
+
+    var subject = new GraphSizeReport(sizeBySection, graph, new TransitModel());
+
+    assertEquals(
+      List.of("Section | Size | Share", "edges | 3 kB | 75.0%", "graph | 1 kB | 25.0%"),
+      rows(subject.sectionTable())
+    );
+    assertEquals(
+      List.of(
+        "Kind | Class | Count",
+        "Vertex | LabelledIntersectionVertex | 2",
+        "Edge | StreetEdge | 2",
+        "Transit | TripPattern | 0",
+        "Transit | TripTimes | 0"
+      ),
+      rows(subject.classTable())
+    );
+    assertEquals(
+      List.of("Type | Distinct | Total | Hit rate", "String | 1 | 2 | 50.0%"),
+      rows(subject.deduplicationTable())
+    );
+  }
+
+  /** Remove the padding, so the test does not depend on the column widths */
+  private static List<String> rows(Table table) {
+    return table.toTextRows().stream().map(it -> it.trim().replaceAll(" +", " ")).toList();
+  }
+}
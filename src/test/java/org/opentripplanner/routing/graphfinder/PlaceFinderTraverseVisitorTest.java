@@ -274,4 +274,30 @@ public class PlaceFinderTraverseVisitorTest {
 
     visitor.visitVertex(state1);
   }
+
+  @Test
+  void furthestDistanceIsLimitedByClosestResults() {
+    var visitor = new PlaceFinderTraverseVisitor(
+      transitService,
+      null,
+      List.of(PlaceType.STOP),
+      null,
+      null,
+      null,
+      null,
+      1,
+      500
+    );
+
+    assertEquals(500, visitor.furthestDistance());
+
+    var state1 = TestStateBuilder.ofWalking().streetEdge().streetEdge().stop(STOP3).build();
+    visitor.visitVertex(state1);
+    assertEquals(state1.getWalkDistance(), visitor.furthestDistance());
+
+    // A closer stop replaces the furthest one
+    var state2 = TestStateBuilder.ofWalking().streetEdge().stop(STOP4).build();
+    visitor.visitVertex(state2);
+    assertEquals(state2.getWalkDistance(), visitor.furthestDistance());
+  }
 }
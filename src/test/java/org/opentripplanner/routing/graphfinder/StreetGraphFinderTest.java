@@ -242,6 +242,26 @@ class StreetGraphFinderTest extends GraphRoutingTest {
     );
   }
 
+  @Test
+  void findClosestPlacesWithNoStopsInRange() {
+    assertEquals(
+      List.of(),
+      graphFinder.findClosestPlaces(
+        47.600,
+        19.000,
+        200.0,
+        100,
+        null,
+        List.of(PlaceType.STOP, PlaceType.STATION),
+        null,
+        null,
+        null,
+        null,
+        transitService
+      )
+    );
+  }
+
   @Test
   void findClosestPlacesWithAStopFilter() {
     var ns1 = new PlaceAtDistance(S1.getStop(), 0);
@@ -0,0 +1,66 @@
+package org.opentripplanner.routing.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.transit.model._data.TransitModelForTest.id;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.routing.alertpatch.EntitySelector;
+import org.opentripplanner.routing.alertpatch.TimePeriod;
+import org.opentripplanner.routing.alertpatch.TransitAlert;
+import org.opentripplanner.transit.service.TransitModel;
+
+class TransitAlertServiceImplTest {
+
+  private static final TransitAlert ROUTE_ALERT = TransitAlert
+    .of(id("route-alert"))
+    .addEntity(new EntitySelector.Route(id("R1")))
+    .addEntity(new EntitySelector.Route(id("R2")))
+    .addTimePeriod(new TimePeriod(100, 200))
+    .addTimePeriod(new TimePeriod(300, TimePeriod.OPEN_ENDED))
+    .build();
+
+  private static final TransitAlert STOP_ALERT = TransitAlert
+    .of(id("stop-alert"))
+    .addEntity(new EntitySelector.Stop(id("S1")))
+    .build();
+
+  private final TransitAlertServiceImpl service = new TransitAlertServiceImpl(new TransitModel());
+
+  @Test
+  void lookup() {
+    service.setAlerts(List.of(ROUTE_ALERT, STOP_ALERT));
+
+    assertEquals(Set.of(ROUTE_ALERT, STOP_ALERT), Set.copyOf(service.getAllAlerts()));
+    assertEquals(2, service.getAllAlerts().size());
+    assertEquals(ROUTE_ALERT, service.getAlertById(id("route-alert")));
+    assertNull(service.getAlertById(id("unknown")));
+    assertEquals(Set.of(ROUTE_ALERT), Set.copyOf(service.getRouteAlerts(id("R2"))));
+    assertEquals(Set.of(STOP_ALERT), Set.copyOf(service.getStopAlerts(id("S1"))));
+    assertTrue(service.getRouteAlerts(id("R3")).isEmpty());
+  }
+
+  @Test
+  void setAlertsDoesNotChangePreviousResults() {
+    service.setAlerts(List.of(ROUTE_ALERT));
+    var routeAlerts = service.getRouteAlerts(id("R1"));
+
+    service.setAlerts(List.of(STOP_ALERT));
+
+    assertEquals(Set.of(ROUTE_ALERT), Set.copyOf(routeAlerts));
+    assertTrue(service.getRouteAlerts(id("R1")).isEmpty());
+    assertNull(service.getAlertById(id("route-alert")));
+  }
+
+  @Test
+  void effectiveDates() {
+    assertEquals(Instant.ofEpochSecond(100), ROUTE_ALERT.getEffectiveStartDate());
+    assertNull(ROUTE_ALERT.getEffectiveEndDate());
+    assertNull(STOP_ALERT.getEffectiveStartDate());
+    assertNull(STOP_ALERT.getEffectiveEndDate());
+  }
+}
@@ -0,0 +1,278 @@
+package org.opentripplanner.routing.linking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
+import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
+import static org.opentripplanner.street.model._data.StreetModelForTest.transitEntranceVertex;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.service.vehiclerental.model.TestFreeFloatingRentalVehicleBuilder;
+import org.opentripplanner.service.vehiclerental.street.StreetVehicleRentalLink;
+import org.opentripplanner.service.vehiclerental.street.VehicleRentalEdge;
+import org.opentripplanner.service.vehiclerental.street.VehicleRentalPlaceVertex;
+import org.opentripplanner.street.model.RentalFormFactor;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.edge.StreetTransitEntranceLink;
+import org.opentripplanner.street.model.vertex.SplitterVertex;
+import org.opentripplanner.street.model.vertex.TemporarySplitterVertex;
+import org.opentripplanner.street.model.vertex.TransitEntranceVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.TraverseMode;
+import org.opentripplanner.street.search.TraverseModeSet;
+import org.opentripplanner.street.search.request.StreetSearchRequest;
+import org.opentripplanner.street.search.state.State;
+import org.opentripplanner.transit.service.StopModel;
+
+class VertexLinkerTest {
+
+  @Test
+  void linkToExistingVerticesForRealTime() {
+    var graph = new Graph();
+    var a = intersectionVertex("A", 60.0, 10.0);
+    var b = intersectionVertex("B", 60.0, 10.002);
+    graph.addVertex(a);
+    graph.addVertex(b);
+    streetEdge(a, b);
+    streetEdge(b, a);
+    graph.index(new StopModel());
+
+    var vehicle = TestFreeFloatingRentalVehicleBuilder
+      .of()
+      .withLatitude(60.0001)
+      .withLongitude(10.0005)
+      .build();
+    var rentalVertex = new VehicleRentalPlaceVertex(vehicle);
+
+    var tempEdges = graph
+      .getStreetIndex()
+      .getVertexLinker()
+      .linkVertexToExistingVerticesForRealTime(
+        rentalVertex,
+        new TraverseModeSet(TraverseMode.WALK),
+        LinkingDirection.BOTH_WAYS,
+        (vertex, streetVertex) ->
+          List.of(
+            StreetVehicleRentalLink.createStreetVehicleRentalLink(
+              (VehicleRentalPlaceVertex) vertex,
+              streetVertex
+            ),
+            StreetVehicleRentalLink.createStreetVehicleRentalLink(
+              streetVertex,
+              (VehicleRentalPlaceVertex) vertex
+            )
+          )
+      );
+
+    // The street edges are not split, the vehicle is linked to the closest end instead
+    assertEquals(2, graph.getVertices().size());
+    assertEquals(Set.of(a), targets(rentalVertex.getOutgoing()));
+    assertEquals(Set.of(a), sources(rentalVertex.getIncoming()));
+
+    tempEdges.disposeEdges();
+    assertTrue(rentalVertex.getOutgoing().isEmpty());
+    assertTrue(rentalVertex.getIncoming().isEmpty());
+  }
+
+  @Test
+  void walkCostOfLinkToExistingVertexForRealTime() {
+    var graph = new Graph();
+    var a = intersectionVertex("A", 60.0, 10.0);
+    var b = intersectionVertex("B", 60.0, 10.02);
+    graph.addVertex(a);
+    graph.addVertex(b);
+    streetEdge(a, b);
+    streetEdge(b, a);
+    graph.index(new StopModel());
+
+    // The vehicle is on the street, about 28 meters from A
+    var rentalVertex = floatingVehicleVertex(60.0, 10.0005);
+    linkFloatingVehicle(graph, rentalVertex);
+
+    var link = (StreetVehicleRentalLink) rentalVertex.getIncoming().iterator().next();
+    var distance = SphericalDistanceLibrary.distance(
+      a.getCoordinate(),
+      rentalVertex.getCoordinate()
+    );
+    assertEquals(a, link.getFromVertex());
+    assertEquals(distance, link.getDistanceMeters(), 0.01);
+    assertEquals(2, link.getGeometry().getNumPoints());
+
+    var request = StreetSearchRequest.of().withMode(StreetMode.WALK).build();
+    var walk = request.preferences().walk();
+    var state = link.traverse(new State(a, request))[0];
+
+    long expectedSeconds = Math.round(distance / walk.speed());
+    assertEquals(expectedSeconds, state.getElapsedTimeSeconds());
+    assertEquals(1 + expectedSeconds * walk.reluctance(), state.getWeight(), 0.001);
+    assertEquals(distance, state.getWalkDistance(), 0.01);
+  }
+
+  @Test
+  void noWalkCostOfLinkToExistingVertexAfterPickup() {
+    var graph = new Graph();
+    var a = intersectionVertex("A", 60.0, 10.0);
+    var b = intersectionVertex("B", 60.0, 10.02);
+    graph.addVertex(a);
+    graph.addVertex(b);
+    streetEdge(a, b);
+    streetEdge(b, a);
+    graph.index(new StopModel());
+
+    var rentalVertex = floatingVehicleVertex(60.0, 10.0005);
+    var rentalEdge = VehicleRentalEdge.createVehicleRentalEdge(
+      rentalVertex,
+      RentalFormFactor.SCOOTER
+    );
+    linkFloatingVehicle(graph, rentalVertex);
+
+    var request = StreetSearchRequest.of().withMode(StreetMode.SCOOTER_RENTAL).build();
+    var rented = rentalEdge.traverse(new State(rentalVertex, request))[0];
+    assertTrue(rented.isRentingVehicle());
+
+    var link = rentalVertex
+      .getOutgoing()
+      .stream()
+      .filter(StreetVehicleRentalLink.class::isInstance)
+      .findFirst()
+      .orElseThrow();
+    var state = link.traverse(rented)[0];
+
+    assertEquals(a, state.getVertex());
+    assertEquals(rented.getElapsedTimeSeconds(), state.getElapsedTimeSeconds());
+    assertEquals(rented.getWeight() + 1, state.getWeight(), 0.001);
+    assertEquals(rented.getWalkDistance(), state.getWalkDistance(), 0.01);
+  }
+
+  @Test
+  void splitStreetIfExistingVerticesAreTooFarAway() {
+    var graph = new Graph();
+    var a = intersectionVertex("A", 60.0, 10.0);
+    var b = intersectionVertex("B", 60.0, 10.02);
+    graph.addVertex(a);
+    graph.addVertex(b);
+    streetEdge(a, b);
+    streetEdge(b, a);
+    graph.index(new StopModel());
+
+    // The vehicle is in the middle of a long edge, about 550 meters from both ends
+    var rentalVertex = floatingVehicleVertex(60.0, 10.0099);
+    var tempEdges = linkFloatingVehicle(graph, rentalVertex);
+
+    var link = (StreetVehicleRentalLink) rentalVertex.getIncoming().iterator().next();
+    assertInstanceOf(TemporarySplitterVertex.class, link.getFromVertex());
+    assertEquals(0, link.getDistanceMeters(), 0.01);
+
+    tempEdges.disposeEdges();
+    assertTrue(rentalVertex.getIncoming().isEmpty());
+  }
+
+  private static VehicleRentalPlaceVertex floatingVehicleVertex(double lat, double lon) {
+    var vehicle = TestFreeFloatingRentalVehicleBuilder
+      .of()
+      .withLatitude(lat)
+      .withLongitude(lon)
+      .withVehicleScooter()
+      .build();
+    return new VehicleRentalPlaceVertex(vehicle);
+  }
+
+  /** Link the vehicle in the same way as the vehicle rental updater. */
+  private static DisposableEdgeCollection linkFloatingVehicle(
+    Graph graph,
+    VehicleRentalPlaceVertex rentalVertex
+  ) {
+    return graph
+      .getStreetIndex()
+      .getVertexLinker()
+      .linkVertexToExistingVerticesForRealTime(
+        rentalVertex,
+        new TraverseModeSet(TraverseMode.WALK),
+        LinkingDirection.BOTH_WAYS,
+        (vertex, streetVertex) -> {
+          var distance = SphericalDistanceLibrary.distance(
+            vertex.getCoordinate(),
+            streetVertex.getCoordinate()
+          );
+          return List.of(
+            StreetVehicleRentalLink.createStreetVehicleRentalLink(
+              (VehicleRentalPlaceVertex) vertex,
+              streetVertex,
+              distance
+            ),
+            StreetVehicleRentalLink.createStreetVehicleRentalLink(
+              streetVertex,
+              (VehicleRentalPlaceVertex) vertex,
+              distance
+            )
+          );
+        }
+      );
+  }
+
+  @Test
+  void linkVerticesPermanently() {
+    var graph = new Graph();
+    var a = intersectionVertex("A", 60.0, 10.0);
+    var b = intersectionVertex("B", 60.0, 10.002);
+    graph.addVertex(a);
+    graph.addVertex(b);
+    streetEdge(a, b);
+    graph.index(new StopModel());
+
+    // Both entrances are closest to the same edge, which is split when the first one is linked
+    var first = transitEntranceVertex("E1", 60.0001, 10.0005);
+    var second = transitEntranceVertex("E2", 60.0001, 10.0015);
+
+    graph
+      .getLinker()
+      .linkVerticesPermanently(
+        List.of(first, second),
+        new TraverseModeSet(TraverseMode.WALK),
+        LinkingDirection.BOTH_WAYS,
+        (vertex, streetVertex) ->
+          List.of(
+            StreetTransitEntranceLink.createStreetTransitEntranceLink(
+              (TransitEntranceVertex) vertex,
+              streetVertex
+            ),
+            StreetTransitEntranceLink.createStreetTransitEntranceLink(
+              streetVertex,
+              (TransitEntranceVertex) vertex
+            )
+          )
+      );
+
+    var firstSplit = targets(first.getOutgoing());
+    var secondSplit = targets(second.getOutgoing());
+    assertEquals(1, firstSplit.size());
+    assertEquals(1, secondSplit.size());
+    assertInstanceOf(SplitterVertex.class, firstSplit.iterator().next());
+    assertInstanceOf(SplitterVertex.class, secondSplit.iterator().next());
+
+    // The second entrance is linked to the part of the split edge which is still in the graph
+    var streetEdges = graph.getStreetEdges();
+    assertEquals(3, streetEdges.size());
+    assertEquals(
+      Set.of(a, firstSplit.iterator().next(), secondSplit.iterator().next()),
+      streetEdges.stream().map(StreetEdge::getFromVertex).collect(Collectors.toSet())
+    );
+  }
+
+  private static Set<Vertex> targets(Collection<Edge> edges) {
+    return edges.stream().map(Edge::getToVertex).collect(Collectors.toSet());
+  }
+
+  private static Set<Vertex> sources(Collection<Edge> edges) {
+    return edges.stream().map(Edge::getFromVertex).collect(Collectors.toSet());
+  }
+}
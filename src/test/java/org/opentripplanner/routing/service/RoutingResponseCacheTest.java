@@ -0,0 +1,171 @@
+package org.opentripplanner.routing.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.opentripplanner.model.plan.TestItineraryBuilder.newItinerary;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.model.plan.Itinerary;
+import org.opentripplanner.model.plan.PlanTestConstants;
+import org.opentripplanner.model.plan.TripPlan;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
+import org.opentripplanner.routing.api.request.RequestModes;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.response.RoutingResponse;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+
+class RoutingResponseCacheTest implements PlanTestConstants {
+
+  private static final Instant TIME = Instant.parse("2024-06-01T12:00:00Z");
+
+  private final AtomicReference<TransitLayer> currentTransitLayer = new AtomicReference<>(
+    transitLayer()
+  );
+  private final RoutingResponseCache subject = new RoutingResponseCache(10, Duration.ofMinutes(1));
+  private final AtomicInteger routeCount = new AtomicInteger();
+  private final Supplier<RoutingResponse> router = () -> {
+    routeCount.incrementAndGet();
+    var itinerary = newItinerary(A, T11_00).walk(D5m, B).build();
+    itinerary.setGeneralizedCost(100);
+    var tripPlan = new TripPlan(null, null, null, List.of(itinerary));
+    return new RoutingResponse(tripPlan, null, null, null, List.of(), null);
+  };
+
+  @Test
+  void identicalRequestsAreRoutedOnce() {
+    var first = subject.route(request(), currentTransitLayer::get, router);
+    var second = subject.route(request(), currentTransitLayer::get, router);
+
+    assertEquals(
+      Itinerary.toStr(first.getTripPlan().itineraries),
+      Itinerary.toStr(second.getTripPlan().itineraries)
+    );
+    assertEquals(1, routeCount.get());
+  }
+
+  @Test
+  void cachedResponsesAreCopied() {
+    var first = subject.route(request(), currentTransitLayer::get, router);
+    first.getTripPlan().itineraries.get(0).setGeneralizedCost(200);
+
+    var second = subject.route(request(), currentTransitLayer::get, router);
+    var third = subject.route(request(), currentTransitLayer::get, router);
+    second.getTripPlan().itineraries.get(0).setGeneralizedCost(300);
+
+    assertNotSame(first, second);
+    assertNotSame(second, third);
+    assertNotSame(second.getTripPlan().itineraries.get(0), third.getTripPlan().itineraries.get(0));
+    assertEquals(100, third.getTripPlan().itineraries.get(0).getGeneralizedCost());
+    assertNotSame(first.getDebugTimingAggregator(), second.getDebugTimingAggregator());
+    assertEquals(1, routeCount.get());
+  }
+
+  @Test
+  void differentRequestsAreRoutedSeparately() {
+    var other = request();
+    other.setDateTime(TIME.plusSeconds(60));
+
+    subject.route(request(), currentTransitLayer::get, router);
+    subject.route(other, currentTransitLayer::get, router);
+
+    assertEquals(2, routeCount.get());
+  }
+
+  @Test
+  void newTransitLayerInvalidatesCache() {
+    var oldTransitLayer = currentTransitLayer.get();
+    subject.route(request(), currentTransitLayer::get, router);
+
+    currentTransitLayer.set(transitLayer());
+    subject.route(request(), currentTransitLayer::get, router);
+    subject.route(request(), currentTransitLayer::get, router);
+    assertEquals(2, routeCount.get());
+
+    // The response for the old transit layer is dropped
+    subject.route(request(), () -> oldTransitLayer, router);
+    assertEquals(3, routeCount.get());
+  }
+
+  @Test
+  void staleTransitLayerDoesNotInvalidateCache() {
+    var staleTransitLayer = currentTransitLayer.get();
+    currentTransitLayer.set(transitLayer());
+    subject.route(request(), currentTransitLayer::get, router);
+
+    // A request which read the transit layer before the current one was published
+    var staleRead = new AtomicBoolean(true);
+    Supplier<TransitLayer> staleSupplier = () ->
+      staleRead.getAndSet(false) ? staleTransitLayer : currentTransitLayer.get();
+    subject.route(request(), staleSupplier, router);
+    assertEquals(2, routeCount.get());
+
+    // The response for the current transit layer is still cached
+    subject.route(request(), currentTransitLayer::get, router);
+    assertEquals(2, routeCount.get());
+  }
+
+  @Test
+  void requestsUsingRentalOrParkingAreNotCached() {
+    var rental = request();
+    rental.journey().setModes(RequestModes.of().withDirectMode(StreetMode.BIKE_RENTAL).build());
+    var parking = request();
+    parking.journey().setModes(RequestModes.of().withAccessMode(StreetMode.CAR_TO_PARK).build());
+
+    subject.route(rental, currentTransitLayer::get, router);
+    subject.route(rental, currentTransitLayer::get, router);
+    subject.route(parking, currentTransitLayer::get, router);
+    subject.route(parking, currentTransitLayer::get, router);
+
+    assertEquals(4, routeCount.get());
+  }
+
+  @Test
+  void requestsWithBannedTripsAreNotCached() {
+    var request = request();
+    request.journey().transit().setBannedTrips(List.of(new FeedScopedId("F", "T1")));
+
+    subject.route(request, currentTransitLayer::get, router);
+    subject.route(request, currentTransitLayer::get, router);
+
+    assertEquals(2, routeCount.get());
+  }
+
+  @Test
+  void exceptionsArePassedOnAndNotCached() {
+    Supplier<RoutingResponse> failingRouter = () -> {
+      routeCount.incrementAndGet();
+      throw new IllegalStateException("Routing failed");
+    };
+
+    assertThrows(
+      IllegalStateException.class,
+      () -> subject.route(request(), currentTransitLayer::get, failingRouter)
+    );
+    subject.route(request(), currentTransitLayer::get, router);
+
+    assertEquals(2, routeCount.get());
+  }
+
+  private static RouteRequest request() {
+    var request = new RouteRequest();
+    request.setFrom(new GenericLocation(59.9, 10.7));
+    request.setTo(new GenericLocation(59.95, 10.75));
+    request.setDateTime(TIME);
+    return request;
+  }
+
+  private static TransitLayer transitLayer() {
+    return new TransitLayer(Map.of(), null, null, null, null, null, null, null, null);
+  }
+}
@@ -13,6 +13,7 @@ import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.opentripplanner.transit.model.framework.Deduplicator;
+import org.opentripplanner.transit.model.framework.Deduplicator.DeduplicationStats;
 
 @SuppressWarnings("StringOperationCanBeSimplified")
 public class DeduplicatorTest {
@@ -77,6 +78,20 @@ public class DeduplicatorTest {
     assertEquals("Deduplicator{}", subject.toString());
   }
 
+  @Test
+  public void stats() {
+    subject.deduplicateString(STRING);
+    subject.deduplicateString(STRING_2);
+    subject.deduplicateObject(DATE_CL, DATE);
+
+    assertEquals(
+      List.of(new DeduplicationStats("String", 1, 2), new DeduplicationStats("LocalDate", 1, 1)),
+      subject.stats()
+    );
+    assertEquals(0.5, subject.stats().getFirst().hitRate(), 0.0001);
+    assertEquals(0.0, subject.stats().getLast().hitRate(), 0.0001);
+  }
+
   @Test
   public void deduplicateIntArray() {
     assertSame(INT_ARRAY, subject.deduplicateIntArray(INT_ARRAY));
@@ -0,0 +1,88 @@
+package org.opentripplanner.service.realtimevehicles.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.transit.model._data.TransitModelForTest.id;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Envelope;
+import org.opentripplanner.framework.geometry.WgsCoordinate;
+import org.opentripplanner.service.realtimevehicles.model.RealtimeVehicle;
+import org.opentripplanner.transit.model._data.TransitModelForTest;
+import org.opentripplanner.transit.model.network.Route;
+import org.opentripplanner.transit.model.network.TripPattern;
+
+class DefaultRealtimeVehicleServiceTest {
+
+  private static final TransitModelForTest TEST_MODEL = TransitModelForTest.of();
+  private static final Route ROUTE_1 = TransitModelForTest.route("1").build();
+  private static final Route ROUTE_2 = TransitModelForTest.route("2").build();
+  private static final TripPattern PATTERN_1A = pattern("1A", ROUTE_1);
+  private static final TripPattern PATTERN_1B = pattern("1B", ROUTE_1);
+  private static final TripPattern PATTERN_2 = pattern("2", ROUTE_2);
+
+  private static final RealtimeVehicle VEHICLE_1 = vehicle("v1", 60.0, 10.0);
+  private static final RealtimeVehicle VEHICLE_2 = vehicle("v2", 60.001, 10.0);
+  private static final RealtimeVehicle VEHICLE_3 = vehicle("v3", 60.1, 10.0);
+  private static final RealtimeVehicle VEHICLE_WITHOUT_COORDINATES = RealtimeVehicle
+    .builder()
+    .withVehicleId(id("v4"))
+    .build();
+
+  private final DefaultRealtimeVehicleService service = new DefaultRealtimeVehicleService(null);
+
+  @Test
+  void routeVehicles() {
+    service.setRealtimeVehicles(PATTERN_1A, List.of(VEHICLE_1));
+    service.setRealtimeVehicles(PATTERN_1B, List.of(VEHICLE_2));
+    service.setRealtimeVehicles(PATTERN_2, List.of(VEHICLE_3));
+
+    assertEquals(Set.of(VEHICLE_1, VEHICLE_2), Set.copyOf(service.getRealtimeVehicles(ROUTE_1)));
+    assertEquals(List.of(VEHICLE_3), service.getRealtimeVehicles(ROUTE_2));
+
+    service.clearRealtimeVehicles(PATTERN_1B);
+
+    assertEquals(List.of(VEHICLE_1), service.getRealtimeVehicles(ROUTE_1));
+  }
+
+  @Test
+  void envelopeVehicles() {
+    service.setRealtimeVehicles(PATTERN_1A, List.of(VEHICLE_1, VEHICLE_WITHOUT_COORDINATES));
+    service.setRealtimeVehicles(PATTERN_2, List.of(VEHICLE_2, VEHICLE_3));
+
+    var envelope = new Envelope(9.99, 10.01, 59.99, 60.01);
+    assertEquals(Set.of(VEHICLE_1, VEHICLE_2), Set.copyOf(service.getRealtimeVehicles(envelope)));
+
+    service.setRealtimeVehicles(PATTERN_2, List.of(VEHICLE_3));
+
+    assertEquals(List.of(VEHICLE_1), service.getRealtimeVehicles(envelope));
+  }
+
+  @Test
+  void closestVehicles() {
+    service.setRealtimeVehicles(PATTERN_1A, List.of(VEHICLE_2, VEHICLE_3));
+    service.setRealtimeVehicles(PATTERN_2, List.of(VEHICLE_1));
+
+    var closest = service.findClosestRealtimeVehicles(new WgsCoordinate(59.9999, 10.0), 500);
+
+    assertEquals(List.of(VEHICLE_1, VEHICLE_2), closest);
+    assertTrue(service.findClosestRealtimeVehicles(new WgsCoordinate(61.0, 10.0), 500).isEmpty());
+  }
+
+  private static TripPattern pattern(String id, Route route) {
+    return TransitModelForTest
+      .tripPattern(id, route)
+      .withStopPattern(TEST_MODEL.stopPattern(2))
+      .build();
+  }
+
+  private static RealtimeVehicle vehicle(String id, double lat, double lon) {
+    return RealtimeVehicle
+      .builder()
+      .withVehicleId(id(id))
+      .withCoordinates(new WgsCoordinate(lat, lon))
+      .build();
+  }
+}
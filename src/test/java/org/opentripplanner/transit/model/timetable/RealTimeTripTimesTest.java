@@ -402,6 +402,48 @@ class RealTimeTripTimesTest {
     assertFalse(updatedTripTimesA.isNoDataStop(2));
   }
 
+  @Test
+  public void testUpdateArrivalAndDepartureTimesIndependently() {
+    // The scheduled arrival and departure times are equal at all stops
+    RealTimeTripTimes updatedTripTimesA = createInitialTripTimes().copyScheduledTimes();
+    updatedTripTimesA.updateArrivalDelay(1, 0);
+    updatedTripTimesA.updateArrivalTime(2, 100);
+    updatedTripTimesA.updateDepartureTime(3, 200);
+
+    assertEquals(60, updatedTripTimesA.getArrivalTime(1));
+    assertEquals(60, updatedTripTimesA.getDepartureTime(1));
+    assertEquals(100, updatedTripTimesA.getArrivalTime(2));
+    assertEquals(120, updatedTripTimesA.getDepartureTime(2));
+    assertEquals(180, updatedTripTimesA.getArrivalTime(3));
+    assertEquals(200, updatedTripTimesA.getDepartureTime(3));
+    assertEquals(RealTimeState.UPDATED, updatedTripTimesA.getRealTimeState());
+  }
+
+  @Test
+  public void testUpdateCopyDoesNotChangeOriginal() {
+    RealTimeTripTimes updatedTripTimesA = createInitialTripTimes().copyScheduledTimes();
+    updatedTripTimesA.setCancelled(1);
+    updatedTripTimesA.setOccupancyStatus(1, OccupancyStatus.FULL);
+
+    RealTimeTripTimes updatedTripTimesB = updatedTripTimesA.copyScheduledTimes();
+    // The copy keeps the stop states of the original until it is updated
+    assertTrue(updatedTripTimesB.isCancelledStop(1));
+    assertEquals(OccupancyStatus.FULL, updatedTripTimesB.getOccupancyStatus(1));
+
+    updatedTripTimesB.setRecorded(2);
+    updatedTripTimesB.setOccupancyStatus(2, OccupancyStatus.FEW_SEATS_AVAILABLE);
+
+    assertFalse(updatedTripTimesB.isCancelledStop(1));
+    assertTrue(updatedTripTimesB.isRecordedStop(2));
+    assertEquals(OccupancyStatus.NO_DATA_AVAILABLE, updatedTripTimesB.getOccupancyStatus(1));
+    assertEquals(OccupancyStatus.FEW_SEATS_AVAILABLE, updatedTripTimesB.getOccupancyStatus(2));
+
+    assertTrue(updatedTripTimesA.isCancelledStop(1));
+    assertFalse(updatedTripTimesA.isRecordedStop(2));
+    assertEquals(OccupancyStatus.FULL, updatedTripTimesA.getOccupancyStatus(1));
+    assertEquals(OccupancyStatus.NO_DATA_AVAILABLE, updatedTripTimesA.getOccupancyStatus(2));
+  }
+
   @Nested
   class GtfsStopSequence {
 
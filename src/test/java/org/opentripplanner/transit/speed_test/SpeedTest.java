@@ -121,6 +121,7 @@ public class SpeedTest {
         List.of(),
         null,
         TestServerContext.createStreetLimitationParametersService(),
+        null,
         null
       );
     // Creating transitLayerForRaptor should be integrated into the TransitModel, but for now
@@ -0,0 +1,110 @@
+package org.opentripplanner.updater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.transit.service.TransitModel;
+
+class GraphUpdaterManagerTest {
+
+  private final GraphUpdaterManager manager = new GraphUpdaterManager(
+    new Graph(),
+    new TransitModel(),
+    List.of()
+  );
+
+  @AfterEach
+  void stop() {
+    manager.stop(false);
+  }
+
+  @Test
+  void partitionsRunConcurrently() throws Exception {
+    var streetGraphWriterStarted = new CountDownLatch(1);
+
+    var timetableWriter = manager.execute(
+      GraphWriterRunnable.of(
+        GraphWriterPartition.TIMETABLE_SNAPSHOT,
+        (graph, transitModel) -> await(streetGraphWriterStarted)
+      )
+    );
+    manager.execute(
+      GraphWriterRunnable.of(
+        GraphWriterPartition.STREET_GRAPH,
+        (graph, transitModel) -> streetGraphWriterStarted.countDown()
+      )
+    );
+
+    timetableWriter.get(5, TimeUnit.SECONDS);
+    assertEquals(0, streetGraphWriterStarted.getCount());
+  }
+
+  @Test
+  void writersOfSamePartitionRunInOrder() throws Exception {
+    var result = Collections.synchronizedList(new ArrayList<Integer>());
+
+    Future<?> last = null;
+    for (int i = 0; i < 100; i++) {
+      int value = i;
+      last =
+        manager.execute(
+          GraphWriterRunnable.of(
+            GraphWriterPartition.REALTIME_VEHICLES,
+            (graph, transitModel) -> result.add(value)
+          )
+        );
+    }
+    last.get(5, TimeUnit.SECONDS);
+
+    assertEquals(IntStream.range(0, 100).boxed().toList(), result);
+  }
+
+  @Test
+  void exclusiveWriterWaitsForPartitionedWriters() throws Exception {
+    var result = Collections.synchronizedList(new ArrayList<String>());
+    var release = new CountDownLatch(1);
+
+    manager.execute(
+      GraphWriterRunnable.of(
+        GraphWriterPartition.TRANSIT_ALERTS,
+        (graph, transitModel) -> {
+          await(release);
+          result.add("alerts");
+        }
+      )
+    );
+    manager.execute(
+      GraphWriterRunnable.of(GraphWriterPartition.TRANSIT_ALERTS, (graph, transitModel) -> {})
+    );
+    var exclusiveWriter = manager.execute((graph, transitModel) -> result.add("all"));
+
+    assertThrows(TimeoutException.class, () -> exclusiveWriter.get(100, TimeUnit.MILLISECONDS));
+    assertEquals(1, manager.writerQueueSize(GraphWriterPartition.TRANSIT_ALERTS));
+
+    release.countDown();
+    exclusiveWriter.get(5, TimeUnit.SECONDS);
+
+    assertEquals(List.of("alerts", "all"), result);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      if (!latch.await(5, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("Timeout waiting for latch");
+      }
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -2,10 +2,14 @@ package org.opentripplanner.updater;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.transit.realtime.GtfsRealtime.TripDescriptor;
 import org.junit.jupiter.api.Test;
 import org.opentripplanner.GtfsTest;
+import org.opentripplanner.framework.time.TimeUtils;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+import org.opentripplanner.transit.model.timetable.Direction;
 import org.opentripplanner.transit.service.DefaultTransitService;
 
 public class GtfsRealtimeFuzzyTripMatcherTest extends GtfsTest {
@@ -56,6 +60,27 @@ public class GtfsRealtimeFuzzyTripMatcherTest extends GtfsTest {
     assertFalse(trip1.hasTripId());
   }
 
+  @Test
+  public void testScheduledTripTimesStartingAt() {
+    String feedId = transitModel.getFeedIds().iterator().next();
+    var transitService = new DefaultTransitService(transitModel);
+    var route = transitService.getRouteForId(new FeedScopedId(feedId, "1"));
+
+    var tripIds = transitService
+      .getScheduledTripTimesStartingAt(route, Direction.OUTBOUND, TimeUtils.time("06:47:00"))
+      .stream()
+      .map(tripTimes -> tripTimes.getTrip().getId().getId())
+      .toList();
+
+    assertTrue(tripIds.contains("10W1020"), tripIds.toString());
+    assertTrue(
+      transitService
+        .getScheduledTripTimesStartingAt(route, Direction.INBOUND, TimeUtils.time("06:47:00"))
+        .stream()
+        .noneMatch(tripTimes -> tripTimes.getTrip().getId().getId().equals("10W1020"))
+    );
+  }
+
   @Override
   public String getFeedName() {
     return "portland/portland.gtfs.zip";
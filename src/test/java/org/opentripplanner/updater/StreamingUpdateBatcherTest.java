@@ -0,0 +1,127 @@
+package org.opentripplanner.updater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class StreamingUpdateBatcherTest {
+
+  private static final Instant MESSAGE_TIME = Instant.parse("2024-01-01T12:00:00Z");
+  private static final Instant NOW = MESSAGE_TIME.plusSeconds(3);
+
+  private final BlockingQueue<Batch> batches = new LinkedBlockingQueue<>();
+  private final BlockingQueue<Duration> lags = new LinkedBlockingQueue<>();
+  private CompletableFuture<?> appliedBatch = CompletableFuture.completedFuture(null);
+  private RuntimeException submitFailure = null;
+
+  private final StreamingUpdateBatcher<Update> subject = new StreamingUpdateBatcher<>(
+    "test",
+    Duration.ofMillis(100),
+    3,
+    Update::key,
+    (updates, fullDataset) -> {
+      batches.add(new Batch(updates, fullDataset));
+      if (submitFailure != null) {
+        throw submitFailure;
+      }
+      return appliedBatch;
+    },
+    lags::add,
+    Clock.fixed(NOW, ZoneOffset.UTC)
+  );
+
+  @AfterEach
+  void close() {
+    subject.close();
+  }
+
+  @Test
+  void coalesceUpdatesWithSameKey() throws InterruptedException {
+    subject.add(List.of(new Update("A", 1), new Update("B", 1)), false, MESSAGE_TIME);
+    subject.add(List.of(new Update("A", 2)), false, MESSAGE_TIME.plusSeconds(1));
+
+    var batch = batches.poll(5, TimeUnit.SECONDS);
+
+    assertEquals(List.of(new Update("B", 1), new Update("A", 2)), batch.updates());
+    assertFalse(batch.fullDataset());
+    // The lag is measured from the oldest message in the batch
+    assertEquals(Duration.ofSeconds(3), lags.poll(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void fullDatasetReplacesPendingUpdates() throws InterruptedException {
+    subject.add(List.of(new Update("A", 1), new Update("B", 1)), false, MESSAGE_TIME);
+    subject.add(List.of(new Update("C", 1)), true, MESSAGE_TIME);
+    subject.add(List.of(new Update("D", 1)), false, MESSAGE_TIME);
+
+    var batch = batches.poll(5, TimeUnit.SECONDS);
+
+    assertEquals(List.of(new Update("C", 1), new Update("D", 1)), batch.updates());
+    assertTrue(batch.fullDataset());
+  }
+
+  @Test
+  void blockWhileBatchIsApplied() throws InterruptedException {
+    appliedBatch = new CompletableFuture<>();
+    subject.add(List.of(new Update("A", 1)), false, MESSAGE_TIME);
+    batches.poll(5, TimeUnit.SECONDS);
+
+    var added = new CountDownLatch(1);
+    var producer = new Thread(() -> {
+      try {
+        subject.add(List.of(new Update("B", 1), new Update("C", 1)), false, MESSAGE_TIME);
+        subject.add(List.of(new Update("D", 1)), false, MESSAGE_TIME);
+        subject.add(List.of(new Update("E", 1)), false, MESSAGE_TIME);
+        added.countDown();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    producer.start();
+
+    // The limit of pending updates is reached while the first batch is applied
+    assertFalse(added.await(200, TimeUnit.MILLISECONDS));
+    assertEquals(3, subject.pendingUpdates());
+
+    appliedBatch.complete(null);
+
+    assertTrue(added.await(5, TimeUnit.SECONDS));
+    var batch = batches.poll(5, TimeUnit.SECONDS);
+    assertEquals(
+      List.of(new Update("B", 1), new Update("C", 1), new Update("D", 1)),
+      batch.updates()
+    );
+  }
+
+  @Test
+  void continueAfterFailedSubmit() throws InterruptedException {
+    submitFailure = new IllegalStateException("Graph writer is shut down");
+    subject.add(List.of(new Update("A", 1)), false, MESSAGE_TIME);
+    assertEquals(List.of(new Update("A", 1)), batches.poll(5, TimeUnit.SECONDS).updates());
+
+    submitFailure = null;
+    subject.add(List.of(new Update("B", 1)), false, MESSAGE_TIME);
+    assertEquals(List.of(new Update("B", 1)), batches.poll(5, TimeUnit.SECONDS).updates());
+
+    // The lag is only recorded for the applied batch
+    assertEquals(Duration.ofSeconds(3), lags.poll(5, TimeUnit.SECONDS));
+    assertTrue(lags.isEmpty());
+  }
+
+  private record Update(String key, int version) {}
+
+  private record Batch(List<Update> updates, boolean fullDataset) {}
+}
@@ -427,6 +427,54 @@ public class TimetableSnapshotSourceTest {
       assertEquals(90, originalTripTimesForToday.getDepartureDelay(2));
     }
 
+    /**
+     * The updates of a message are prepared in parallel, but they must still be applied in the
+     * order of the message.
+     */
+    @Test
+    public void repeatedUpdatesInOneMessageAreAppliedInOrder() {
+      String scheduledTripId = "1.1";
+      var updates = Stream
+        .of(60, 120, 180)
+        .map(delay ->
+          new TripUpdateBuilder(
+            scheduledTripId,
+            SERVICE_DATE,
+            SCHEDULED,
+            transitModel.getTimeZone()
+          )
+            .addDelayedStopTime(1, 0)
+            .addDelayedStopTime(2, delay)
+            .addDelayedStopTime(3, delay)
+            .build()
+        )
+        .toList();
+
+      var updater = defaultUpdater();
+
+      var result = updater.applyTripUpdates(
+        TRIP_MATCHER_NOOP,
+        REQUIRED_NO_DATA,
+        DIFFERENTIAL,
+        updates,
+        feedId
+      );
+
+      assertEquals(3, result.successful());
+      assertFalse(result.applyDuration().isNegative());
+
+      var tripId = new FeedScopedId(feedId, scheduledTripId);
+      var trip = transitModel.getTransitModelIndex().getTripForId().get(tripId);
+      var pattern = transitModel.getTransitModelIndex().getPatternForTrip().get(trip);
+      var tripTimes = updater
+        .getTimetableSnapshot()
+        .resolve(pattern, SERVICE_DATE)
+        .getTripTimes(tripId);
+
+      assertEquals(180, tripTimes.getArrivalDelay(1));
+      assertEquals(180, tripTimes.getArrivalDelay(2));
+    }
+
     @Test
     public void scheduledTripWithSkippedAndNoData() {
       // GIVEN
@@ -35,6 +35,13 @@ public class VehiclePositionParsingTest {
     assertEquals("49195157", first.getTrip().getTripId());
   }
 
+  @Test
+  public void skipUnchangedFeed() {
+    var vehiclePositionSource = getVehiclePositionSource("king-county-metro-1.pbf");
+    Assertions.assertNotNull(vehiclePositionSource.getPositions());
+    Assertions.assertNull(vehiclePositionSource.getPositions());
+  }
+
   private GtfsRealtimeHttpVehiclePositionSource getVehiclePositionSource(String filename) {
     return new GtfsRealtimeHttpVehiclePositionSource(
       ResourceLoader.of(this).uri(filename),
@@ -2,6 +2,8 @@ package org.opentripplanner.updater.vehicle_rental;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
 import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
 import static org.opentripplanner.transit.model._data.TransitModelForTest.id;
@@ -102,4 +104,46 @@ class GeofencingVertexUpdaterTest {
     var ext = (BusinessAreaBorder) businessBorder.getFromVertex().rentalRestrictions();
     assertInstanceOf(BusinessAreaBorder.class, ext);
   }
+
+  @Test
+  void removeZone() {
+    updater.applyGeofencingZones(List.of(zone, businessArea));
+    var updated = updater.applyGeofencingZones(List.of(businessArea));
+
+    assertEquals(1, updated.size());
+    assertInstanceOf(NoRestriction.class, insideFrognerPark.getFromVertex().rentalRestrictions());
+    assertInstanceOf(BusinessAreaBorder.class, businessBorder.getFromVertex().rentalRestrictions());
+  }
+
+  @Test
+  void unchangedZonesAreReused() {
+    updater.applyGeofencingZones(List.of(zone, businessArea));
+    var ext = insideFrognerPark.getFromVertex().rentalRestrictions();
+
+    var update = updater.computeUpdate(List.of(zone, businessArea));
+
+    assertTrue(update.removed().isEmpty());
+    assertTrue(update.added().isEmpty());
+    assertEquals(3, update.modifiedEdges().size());
+    assertSame(ext, insideFrognerPark.getFromVertex().rentalRestrictions());
+  }
+
+  @Test
+  void computedUpdateIsNotAppliedUntilApply() {
+    var first = updater.computeUpdate(List.of(zone, businessArea));
+    var second = updater.computeUpdate(List.of(zone, businessArea));
+
+    // The second update is computed from the zones applied to the graph, not from the first one
+    assertEquals(2, first.added().size());
+    assertEquals(2, second.added().size());
+    assertInstanceOf(NoRestriction.class, insideFrognerPark.getFromVertex().rentalRestrictions());
+
+    updater.apply(second);
+
+    assertInstanceOf(
+      GeofencingZoneExtension.class,
+      insideFrognerPark.getFromVertex().rentalRestrictions()
+    );
+    assertTrue(updater.computeUpdate(List.of(zone, businessArea)).added().isEmpty());
+  }
 }